@@ -1,4 +1,4 @@
-import { PageableResponse, PlaceGroupResponse } from "../lib/types";
+import { CursorPage, PageableResponse, PlaceGroupResponse, PlaceResponse } from "../lib/types";
 import { toQueryString } from "../lib/query";
 import { apiRequest } from "./http";
 
@@ -24,6 +24,10 @@ export const groupsApi = {
       body: JSON.stringify(payload)
     });
   },
+  listPlaces(id: string, cursor?: string, size = 20): Promise<CursorPage<PlaceResponse>> {
+    const qs = toQueryString({ cursor, size });
+    return apiRequest<CursorPage<PlaceResponse>>(`/v1/groups/${id}/places?${qs}`);
+  },
   remove(id: string): Promise<void> {
     return apiRequest<void>(`/v1/groups/${id}`, {
       method: "DELETE"
@@ -26,7 +26,7 @@ export interface PlaceGroupResponse {
   id: string;
   name: string;
   description: string | null;
-  placeIds: string[];
+  placeCount: number;
   createdAt: string;
   updatedAt: string;
 }
@@ -42,6 +42,12 @@ export interface PageableResponse<T> {
   empty: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+}
+
 export interface ApiErrorResponse {
   timestamp?: string;
   status: number;
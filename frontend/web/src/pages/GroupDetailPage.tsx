@@ -16,6 +16,8 @@ export function GroupDetailPage(): JSX.Element {
   const navigate = useNavigate();
   const [group, setGroup] = useState<PlaceGroupResponse | null>(null);
   const [places, setPlaces] = useState<PlaceResponse[]>([]);
+  const [members, setMembers] = useState<PlaceResponse[]>([]);
+  const [membersCursor, setMembersCursor] = useState<string | null>(null);
   const [placeId, setPlaceId] = useState("");
   const [error, setError] = useState("");
   const [loading, setLoading] = useState(true);
@@ -26,10 +28,16 @@ export function GroupDetailPage(): JSX.Element {
       setLoading(true);
       setError("");
       try {
-        const [groupResult, placesResult] = await Promise.all([groupsApi.getById(id), placesApi.list({ page: 0, size: 100 })]);
+        const [groupResult, placesResult, membersResult] = await Promise.all([
+          groupsApi.getById(id),
+          placesApi.list({ page: 0, size: 100 }),
+          groupsApi.listPlaces(id)
+        ]);
         if (!cancelled) {
           setGroup(groupResult);
           setPlaces(placesResult.content);
+          setMembers(membersResult.content);
+          setMembersCursor(membersResult.nextCursor);
         }
       } catch (err) {
         if (!cancelled) setError(errorMessage(err));
@@ -43,10 +51,30 @@ export function GroupDetailPage(): JSX.Element {
     };
   }, [id]);
 
+  async function reloadMembers(): Promise<void> {
+    const result = await groupsApi.listPlaces(id);
+    setMembers(result.content);
+    setMembersCursor(result.nextCursor);
+  }
+
+  async function loadMoreMembers(): Promise<void> {
+    if (!membersCursor) {
+      return;
+    }
+    try {
+      const result = await groupsApi.listPlaces(id, membersCursor);
+      setMembers((current) => [...current, ...result.content]);
+      setMembersCursor(result.nextCursor);
+    } catch (err) {
+      setError(errorMessage(err));
+    }
+  }
+
   async function refreshGroup(): Promise<void> {
     try {
       const nextGroup = await groupsApi.getById(id);
       setGroup(nextGroup);
+      await reloadMembers();
     } catch (err) {
       setError(errorMessage(err));
     }
@@ -63,6 +91,7 @@ export function GroupDetailPage(): JSX.Element {
       const nextGroup = await groupsApi.addPlace(id, placeId.trim());
       setGroup(nextGroup);
       setPlaceId("");
+      await reloadMembers();
     } catch (err) {
       setError(errorMessage(err));
     }
@@ -72,6 +101,7 @@ export function GroupDetailPage(): JSX.Element {
     try {
       const nextGroup = await groupsApi.removePlace(id, itemPlaceId);
       setGroup(nextGroup);
+      setMembers((current) => current.filter((item) => item.id !== itemPlaceId));
     } catch (err) {
       setError(errorMessage(err));
     }
@@ -152,21 +182,28 @@ export function GroupDetailPage(): JSX.Element {
             </button>
           </form>
 
-          <h4>Current Place IDs</h4>
-          {group.placeIds.length === 0 ? (
+          <h4>Current Places ({group.placeCount})</h4>
+          {members.length === 0 ? (
             <InlineNotice type="info">No places linked to this group.</InlineNotice>
           ) : (
             <ul className="id-list">
-              {group.placeIds.map((place) => (
-                <li key={place}>
-                  <span>{place}</span>
-                  <button className="button danger" type="button" onClick={() => void onRemovePlace(place)}>
+              {members.map((place) => (
+                <li key={place.id}>
+                  <span>
+                    {place.name} ({place.id})
+                  </span>
+                  <button className="button danger" type="button" onClick={() => void onRemovePlace(place.id)}>
                     Remove
                   </button>
                 </li>
               ))}
             </ul>
           )}
+          {membersCursor ? (
+            <button className="button ghost" type="button" onClick={() => void loadMoreMembers()}>
+              Load More
+            </button>
+          ) : null}
           <button className="button ghost" type="button" onClick={() => void refreshGroup()}>
             Refresh
           </button>
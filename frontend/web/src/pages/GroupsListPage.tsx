@@ -84,7 +84,7 @@ export function GroupsListPage(): JSX.Element {
                     <Link to={`/groups/${group.id}`}>{group.name}</Link>
                   </td>
                   <td>{group.description || "-"}</td>
-                  <td>{group.placeIds.length}</td>
+                  <td>{group.placeCount}</td>
                   <td>
                     <button className="button danger" type="button" onClick={() => void onDelete(group.id)}>
                       Delete
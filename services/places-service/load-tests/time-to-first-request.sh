@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Starts the service with the given command RUNS times (default 5) and reports the time until the
+# first successful API response of each start and their median. The command must use the database
+# in DB_URL and listen on PORT (default 8082).
+#
+#   load-tests/time-to-first-request.sh jvm -- java -jar build/libs/places-service-0.1.0-SNAPSHOT.jar
+#   load-tests/time-to-first-request.sh fast-start -- docker run --rm --network host \
+#     -e DB_URL -e DB_USERNAME -e DB_PASSWORD places-service
+set -euo pipefail
+
+label=${1:?usage: $0 <label> -- <command...>}
+shift
+[[ ${1:-} == "--" ]] && shift
+runs=${RUNS:-5}
+port=${PORT:-8082}
+url="http://localhost:${port}/api/v1/places?size=1"
+results_dir="$(dirname "$0")/results"
+log="/tmp/places-service-${label}.log"
+pid=
+
+stop() {
+  [[ -n $pid ]] || return 0
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  pid=
+}
+trap stop EXIT
+
+elapsed=()
+ready=()
+for (( run = 1; run <= runs; run++ )); do
+  started=$(date +%s%N)
+  "$@" > "$log" 2>&1 &
+  pid=$!
+
+  until curl -fs -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Service exited before answering in run ${run}; see ${log}" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed+=( $(( ($(date +%s%N) - started) / 1000000 )) )
+
+  # Spring Boot's own measurement, from JVM start to the ApplicationReadyEvent.
+  seconds=$(curl -fs "http://localhost:${port}/actuator/metrics/application.ready.time" \
+    | sed -n 's/.*"value":\([0-9.Ee+-]*\).*/\1/p')
+  ready+=( "${seconds:-null}" )
+
+  # The port has to be free before the next start.
+  stop
+  while curl -fs -o /dev/null "$url"; do
+    sleep 0.05
+  done
+  echo "Run ${run}/${runs}: ${elapsed[-1]} ms" >&2
+done
+
+median=$(printf '%s\n' "${elapsed[@]}" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }')
+join() { local IFS=,; echo "$*"; }
+
+mkdir -p "$results_dir"
+printf '{"label":"%s","machine":{"processors":%d,"os":"%s"},"runs":%d,"medianTimeToFirstRequestMs":%d,"timeToFirstRequestMs":[%s],"applicationReadySeconds":[%s]}\n' \
+  "$label" "$(nproc)" "$(uname -srm)" "$runs" "$median" "$(join "${elapsed[@]}")" "$(join "${ready[@]}")" \
+  | tee "$results_dir/startup-${label}.json"
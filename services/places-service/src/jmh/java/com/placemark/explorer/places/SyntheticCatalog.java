@@ -0,0 +1,95 @@
+package com.placemark.explorer.places;
+
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.index.IndexedPlace;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Deterministic benchmark data: places spread over a Europe-sized box (roughly the density of a
+ * national catalog at 1M places) and GPS tracks sampled as a 1 Hz random walk at cycling speed.
+ */
+public final class SyntheticCatalog {
+
+  public static final double MIN_LATITUDE = 36.0;
+  public static final double MAX_LATITUDE = 60.0;
+  public static final double MIN_LONGITUDE = -9.0;
+  public static final double MAX_LONGITUDE = 30.0;
+
+  private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+  private SyntheticCatalog() {}
+
+  public static List<IndexedPlace> indexedPlaces(int count, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<IndexedPlace> places = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      places.add(new IndexedPlace(
+          new UUID(random.nextLong(), random.nextLong()),
+          CATEGORIES[random.nextInt(CATEGORIES.length)],
+          random.nextDouble(MIN_LATITUDE, MAX_LATITUDE),
+          random.nextDouble(MIN_LONGITUDE, MAX_LONGITUDE),
+          random.nextInt(25, 500)));
+    }
+    return places;
+  }
+
+  public static List<Place> places(int count, long seed) {
+    List<Place> places = new ArrayList<>(count);
+    for (IndexedPlace indexed : indexedPlaces(count, seed)) {
+      Place place = new Place();
+      place.setName("Place " + indexed.id());
+      place.setDescription("Synthetic place used by the JMH benchmarks");
+      place.setCategory(indexed.category());
+      place.setLocation(point(indexed.latitude(), indexed.longitude()));
+      place.setVisitRadiusMeters(indexed.visitRadiusMeters());
+      persisted(place, indexed.id());
+      places.add(place);
+    }
+    return places;
+  }
+
+  public static List<Point> track(int points, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    double lat = random.nextDouble(MIN_LATITUDE + 5, MAX_LATITUDE - 5);
+    double lon = random.nextDouble(MIN_LONGITUDE + 5, MAX_LONGITUDE - 5);
+    double heading = random.nextDouble(0, 2 * Math.PI);
+    List<Point> track = new ArrayList<>(points);
+    for (int i = 0; i < points; i++) {
+      track.add(point(lat, lon));
+      heading += random.nextDouble(-0.2, 0.2);
+      double stepMeters = random.nextDouble(3, 8);
+      lat += stepMeters * Math.cos(heading) / 111_320.0;
+      lon += stepMeters * Math.sin(heading) / (111_320.0 * Math.cos(Math.toRadians(lat)));
+    }
+    return track;
+  }
+
+  public static Point point(double lat, double lon) {
+    return GEOMETRY_FACTORY.createPoint(new Coordinate(lon, lat));
+  }
+
+  // Entities only get an ID and timestamps from Hibernate; set them as a persisted place would have.
+  private static void persisted(Place place, UUID id) {
+    try {
+      Field idField = Place.class.getDeclaredField("id");
+      idField.setAccessible(true);
+      idField.set(place, id);
+      Method onCreate = Place.class.getDeclaredMethod("onCreate");
+      onCreate.setAccessible(true);
+      onCreate.invoke(place);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
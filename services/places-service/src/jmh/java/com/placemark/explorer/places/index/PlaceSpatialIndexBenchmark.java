@@ -0,0 +1,93 @@
+package com.placemark.explorer.places.index;
+
+import com.placemark.explorer.places.SyntheticCatalog;
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceSpatialIndexBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class IndexState {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int places;
+
+    PlaceSpatialIndex index;
+    double[][] queryPoints;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      index = new PlaceSpatialIndex(new SpatialIndexProperties(true, 0.01, 5000, Integer.MAX_VALUE, null));
+      SyntheticCatalog.indexedPlaces(places, 42).forEach(index::put);
+      index.markReady();
+
+      SplittableRandom random = new SplittableRandom(11);
+      queryPoints = new double[1024][];
+      for (int i = 0; i < queryPoints.length; i++) {
+        queryPoints[i] = new double[] {
+            random.nextDouble(SyntheticCatalog.MIN_LATITUDE, SyntheticCatalog.MAX_LATITUDE),
+            random.nextDouble(SyntheticCatalog.MIN_LONGITUDE, SyntheticCatalog.MAX_LONGITUDE)
+        };
+      }
+    }
+
+    double[] nextQueryPoint() {
+      return queryPoints[next++ & (queryPoints.length - 1)];
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class TrackState {
+
+    @Param({"10", "10000", "200000"})
+    public int trackPoints;
+
+    List<Point> track;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      track = SyntheticCatalog.track(trackPoints, 7);
+    }
+  }
+
+  @Benchmark
+  public Optional<List<UUID>> findWithin(IndexState state) {
+    double[] point = state.nextQueryPoint();
+    return state.index.findWithin(point[0], point[1], 5000, null);
+  }
+
+  @Benchmark
+  public Optional<List<UUID>> findWithinCategory(IndexState state) {
+    double[] point = state.nextQueryPoint();
+    return state.index.findWithin(point[0], point[1], 5000, PlaceCategory.MUSEUM);
+  }
+
+  @Benchmark
+  public List<NearbyPlace> findNearest(IndexState state) {
+    double[] point = state.nextQueryPoint();
+    return state.index.findNearest(point[0], point[1], 10, null);
+  }
+
+  @Benchmark
+  public Optional<List<UUID>> findIntersectingTrack(IndexState state, TrackState track) {
+    return state.index.findIntersectingTrack(track.track, null);
+  }
+}
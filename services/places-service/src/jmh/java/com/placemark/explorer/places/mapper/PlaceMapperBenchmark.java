@@ -0,0 +1,66 @@
+package com.placemark.explorer.places.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.SyntheticCatalog;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.dto.place.PlaceResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceMapperBenchmark {
+
+  @Param({"20", "100", "1000"})
+  public int pageSize;
+
+  private final PlaceMapper mapper = new PlaceMapper();
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private List<Place> places;
+  private Map<UUID, Set<UUID>> groupIdsByPlace;
+  private Page<PlaceResponse> page;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    places = SyntheticCatalog.places(pageSize, 42);
+    // Every place belongs to two groups, the typical fan-out of curated collections.
+    groupIdsByPlace = places.stream().collect(Collectors.toMap(
+        Place::getId, place -> Set.of(UUID.randomUUID(), UUID.randomUUID())));
+    page = new PageImpl<>(mapper.toResponses(places, groupIdsByPlace), PageRequest.of(0, pageSize), 1_000_000);
+  }
+
+  @Benchmark
+  public PlaceResponse toResponse() {
+    Place place = places.get(0);
+    return mapper.toResponse(place, groupIdsByPlace.get(place.getId()));
+  }
+
+  @Benchmark
+  public List<PlaceResponse> toResponses() {
+    return mapper.toResponses(places, groupIdsByPlace);
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
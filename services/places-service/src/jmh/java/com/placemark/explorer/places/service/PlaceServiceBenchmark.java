@@ -0,0 +1,47 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.SyntheticCatalog;
+import com.placemark.explorer.places.config.TrackProperties;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceServiceBenchmark {
+
+  @Param({"10", "10000", "200000"})
+  public int trackPoints;
+
+  private PlaceService placeService;
+  private List<Point> track;
+  private double lat = 52.52;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    placeService = new PlaceService(
+        null, null, null, null, null, null, null, null, null, new TrackProperties(1000, 200, null));
+    track = SyntheticCatalog.track(trackPoints, 7);
+  }
+
+  @Benchmark
+  public String toTrackWkt() {
+    return PlaceService.toTrackWkt(track);
+  }
+
+  @Benchmark
+  public Point toPoint() {
+    lat = lat > 53 ? 52 : lat + 1e-6;
+    return placeService.toPoint(lat, 13.405);
+  }
+}
@@ -0,0 +1,132 @@
+package com.placemark.explorer.places.cache;
+
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.dto.group.PlaceGroupResponse;
+import com.placemark.explorer.places.dto.place.PlaceResponse;
+import com.placemark.explorer.places.event.GroupDeletedEvent;
+import com.placemark.explorer.places.event.GroupMembershipChangedEvent;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.event.PlacesImportedEvent;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-through cache of single place and group responses. Size, TTL and statistics come from
+ * {@code spring.cache.caffeine.spec}; entries are evicted after each committed mutation that can
+ * change them, on both the place and the group side of a membership. Mutations made through other
+ * instances are read from the change feed every {@code places.changes.poll-interval}; evicting one
+ * of those holds reads on the primary, so the entry is not refilled from a lagging replica.
+ */
+@Component
+public class CatalogCache {
+
+  public static final String PLACES = "places";
+  public static final String GROUPS = "groups";
+
+  private final Cache places;
+  private final Cache groups;
+  private final ChangeFeedService changeFeed;
+  private final ReadReplicas readReplicas;
+  private volatile ChangeCursor cursor;
+
+  public CatalogCache(CacheManager cacheManager, ChangeFeedService changeFeed, ReadReplicas readReplicas) {
+    this.places = cacheManager.getCache(PLACES);
+    this.groups = cacheManager.getCache(GROUPS);
+    this.changeFeed = changeFeed;
+    this.readReplicas = readReplicas;
+  }
+
+  public PlaceResponse getPlace(UUID id, Supplier<PlaceResponse> loader) {
+    return get(places, id, loader);
+  }
+
+  public PlaceGroupResponse getGroup(UUID id, Supplier<PlaceGroupResponse> loader) {
+    return get(groups, id, loader);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceCreated(PlaceCreatedEvent event) {
+    places.evict(event.place().getId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceDeleted(PlaceDeletedEvent event) {
+    places.evict(event.place().getId());
+    event.groupIds().forEach(groups::evict);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlacesImported(PlacesImportedEvent event) {
+    event.places().forEach(place -> places.evict(place.id()));
+    event.groupIds().forEach(groups::evict);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMembershipChanged(GroupMembershipChangedEvent event) {
+    places.evict(event.placeId());
+    groups.evict(event.groupId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onGroupDeleted(GroupDeletedEvent event) {
+    groups.evict(event.groupId());
+    event.placeIds().forEach(places::evict);
+  }
+
+  /**
+   * Evicts what changed since the last poll. The first poll clears both caches instead, since their
+   * entries may predate its starting position. The feed names neither the groups of a deleted place
+   * nor the places of a deleted group, so those deletes clear the other cache.
+   */
+  @Scheduled(fixedDelayString = "${places.changes.poll-interval:5s}")
+  public void pollChanges() {
+    if (cursor == null) {
+      cursor = changeFeed.head();
+      places.clear();
+      groups.clear();
+      return;
+    }
+    cursor = changeFeed.follow(cursor, this::evict);
+  }
+
+  private void evict(PlaceChange change) {
+    readReplicas.holdPrimary();
+    switch (change.type()) {
+      case PLACE_CREATED -> places.evict(change.placeId());
+      case PLACE_DELETED -> {
+        places.evict(change.placeId());
+        groups.clear();
+      }
+      case GROUP_CREATED -> groups.evict(change.groupId());
+      case GROUP_DELETED -> {
+        groups.evict(change.groupId());
+        places.clear();
+      }
+      case GROUP_PLACE_ADDED, GROUP_PLACE_REMOVED -> {
+        places.evict(change.placeId());
+        groups.evict(change.groupId());
+      }
+    }
+  }
+
+  private static <T> T get(Cache cache, UUID id, Supplier<T> loader) {
+    try {
+      return cache.get(id, loader::get);
+    } catch (Cache.ValueRetrievalException ex) {
+      // Let NotFoundException and friends reach the exception handler unwrapped.
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.placemark.explorer.places.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.placemark.explorer.places.config.TileCacheProperties;
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.event.PlacesImportedEvent;
+import com.placemark.explorer.places.geo.GeoMath;
+import com.placemark.explorer.places.index.IndexedPlace;
+import com.placemark.explorer.places.index.PlaceSpatialIndex;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches the live places of each fixed-size lat/lon tile. A near query is answered by merging the
+ * tiles covering its circle and filtering by spherical distance; a create, delete or import only
+ * evicts the tiles that contain the changed places. Changes made through other instances are read
+ * from the change feed every {@code places.changes.poll-interval}. Every eviction holds reads on the
+ * primary, so an evicted tile is not reloaded from a replica that has not replayed the change.
+ */
+@Component
+public class NearbyTileCache {
+
+  private final PlaceRepository placeRepository;
+  private final ChangeFeedService changeFeed;
+  private final ReadReplicas readReplicas;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final double tileSize;
+  private final int rows;
+  private final int columns;
+  private final int maxTilesPerQuery;
+  private final Cache<Long, List<IndexedPlace>> tiles;
+  private volatile ChangeCursor cursor;
+
+  public NearbyTileCache(
+      TileCacheProperties properties,
+      PlaceRepository placeRepository,
+      ChangeFeedService changeFeed,
+      ReadReplicas readReplicas,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    if (properties.tileSizeDegrees() <= 0 || properties.tileSizeDegrees() > 10) {
+      throw new IllegalArgumentException("places.tile-cache.tile-size-degrees must be in (0, 10]");
+    }
+    this.placeRepository = placeRepository;
+    this.changeFeed = changeFeed;
+    this.readReplicas = readReplicas;
+    this.objectMapper = objectMapper;
+    this.enabled = properties.enabled();
+    this.tileSize = properties.tileSizeDegrees();
+    this.rows = (int) Math.ceil(180 / tileSize);
+    this.columns = (int) Math.ceil(360 / tileSize);
+    this.maxTilesPerQuery = properties.maxTilesPerQuery();
+    this.tiles = Caffeine.newBuilder()
+        .maximumSize(properties.maximumTiles())
+        .expireAfterWrite(properties.expireAfterWrite())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, tiles, "tiles");
+  }
+
+  /**
+   * IDs of the places within the radius in {@link PlaceSpatialIndex#ID_ORDER}, or empty when the
+   * cache is disabled or the circle covers more than {@code max-tiles-per-query} tiles.
+   */
+  public Optional<List<UUID>> findWithin(double latitude, double longitude, int radiusMeters, PlaceCategory category) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+
+    int row = row(latitude);
+    int column = column(longitude);
+    int rowReach = (int) Math.min(rows, Math.ceil(GeoMath.metersToLatitudeDegrees(radiusMeters) / tileSize));
+    int columnReach = (int) Math.min(columns,
+        Math.ceil(GeoMath.metersToLongitudeDegrees(radiusMeters, latitude) / tileSize));
+    boolean allColumns = 2L * columnReach + 1 >= columns;
+    int fromRow = Math.max(0, row - rowReach);
+    int toRow = Math.min(rows - 1, row + rowReach);
+    int fromColumn = allColumns ? 0 : column - columnReach;
+    int toColumn = allColumns ? columns - 1 : column + columnReach;
+    if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > maxTilesPerQuery) {
+      return Optional.empty();
+    }
+
+    List<UUID> ids = new ArrayList<>();
+    for (int r = fromRow; r <= toRow; r++) {
+      for (int c = fromColumn; c <= toColumn; c++) {
+        for (IndexedPlace place : tiles.get((long) r * columns + Math.floorMod(c, columns), this::load)) {
+          if ((category == null || place.category() == category)
+              && GeoMath.distanceMeters(latitude, longitude, place.latitude(), place.longitude()) <= radiusMeters) {
+            ids.add(place.id());
+          }
+        }
+      }
+    }
+    ids.sort(PlaceSpatialIndex.ID_ORDER);
+    return Optional.of(ids);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceCreated(PlaceCreatedEvent event) {
+    evict(event.place().getLocation().getY(), event.place().getLocation().getX());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceDeleted(PlaceDeletedEvent event) {
+    evict(event.place().getLocation().getY(), event.place().getLocation().getX());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlacesImported(PlacesImportedEvent event) {
+    event.places().forEach(place -> evict(place.latitude(), place.longitude()));
+  }
+
+  /**
+   * Evicts the tiles changed since the last poll. The first poll clears the cache instead, since its
+   * tiles may predate its starting position. Deletes in the feed carry no location, so the tiles
+   * that hold a deleted place are found by scanning the cache once per poll.
+   */
+  @Scheduled(fixedDelayString = "${places.changes.poll-interval:5s}")
+  public void pollChanges() {
+    if (!enabled) {
+      return;
+    }
+    if (cursor == null) {
+      cursor = changeFeed.head();
+      tiles.invalidateAll();
+      return;
+    }
+    Set<UUID> deleted = new HashSet<>();
+    cursor = changeFeed.follow(cursor, change -> {
+      switch (change.type()) {
+        case PLACE_CREATED -> evictCreated(change);
+        case PLACE_DELETED -> deleted.add(change.placeId());
+        default -> {
+        }
+      }
+    });
+    if (!deleted.isEmpty()) {
+      readReplicas.holdPrimary();
+      tiles.asMap().values().removeIf(places -> places.stream().anyMatch(place -> deleted.contains(place.id())));
+    }
+  }
+
+  private void evictCreated(PlaceChange change) {
+    try {
+      JsonNode place = objectMapper.readTree(change.payload());
+      evict(place.get("latitude").asDouble(), place.get("longitude").asDouble());
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot read change payload of place " + change.placeId(), ex);
+    }
+  }
+
+  private void evict(double latitude, double longitude) {
+    if (enabled) {
+      readReplicas.holdPrimary();
+      tiles.invalidate(tileOf(latitude, longitude));
+    }
+  }
+
+  long tileOf(double latitude, double longitude) {
+    return (long) row(latitude) * columns + column(longitude);
+  }
+
+  List<IndexedPlace> load(long key) {
+    int row = (int) (key / columns);
+    int column = (int) (key % columns);
+    double south = row * tileSize - 90;
+    double west = column * tileSize - 180;
+    // Envelope edges become great circles as geography, so pad the prefilter box.
+    double margin = tileSize / 2;
+    return placeRepository.findTilePlaces(
+            Math.max(-180, west - margin),
+            Math.max(-90, south - margin),
+            Math.min(180, west + tileSize + margin),
+            Math.min(90, south + tileSize + margin),
+            tileSize, rows, columns, row, column)
+        .stream()
+        .map(place -> new IndexedPlace(
+            place.getId(),
+            PlaceCategory.valueOf(place.getCategory()),
+            place.getLatitude(),
+            place.getLongitude(),
+            place.getVisitRadiusMeters()))
+        .toList();
+  }
+
+  private int row(double latitude) {
+    return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / tileSize)));
+  }
+
+  private int column(double longitude) {
+    return Math.floorMod((int) Math.floor((longitude + 180) / tileSize), columns);
+  }
+}
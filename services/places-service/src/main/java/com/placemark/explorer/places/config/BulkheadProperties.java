@@ -0,0 +1,24 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.bulkhead")
+public record BulkheadProperties(
+    @DefaultValue("false") boolean enabled,
+    Integer maxConcurrentCalls,
+    @DefaultValue("2s") Duration maxWait,
+    @DefaultValue({"/api/v1/places/near/**", "/api/v1/places/nearest", "/api/v1/places/intersections/**",
+        "/api/v1/tiles/**"}) List<String> pathPatterns) {
+
+  /**
+   * The configured limit, or four fifths of the connection pool when none is set, so CRUD and imports
+   * always find a free connection.
+   */
+  public int maxConcurrentCalls(int poolSize) {
+    int limit = maxConcurrentCalls != null ? maxConcurrentCalls : poolSize * 4 / 5;
+    return Math.max(1, limit);
+  }
+}
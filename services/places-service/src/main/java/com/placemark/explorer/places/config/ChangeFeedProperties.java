@@ -0,0 +1,10 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.changes")
+public record ChangeFeedProperties(
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("10000") int trimBatchSize) {}
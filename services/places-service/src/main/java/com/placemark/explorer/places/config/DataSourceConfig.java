@@ -0,0 +1,68 @@
+package com.placemark.explorer.places.config;
+
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the auto-configured pool so read replicas can sit next to it. The primary is still built
+ * from {@code spring.datasource.*}; replica pools copy its Hikari settings. Replicas are picked up at
+ * runtime from {@code places.replicas.urls}, so an AOT build does not need to know about them.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  // Builds the primary pool as well, so the lag checks can measure replicas against it.
+  @Bean
+  public ReadReplicas readReplicas(
+      DataSourceProperties dataSourceProperties,
+      ReplicaProperties properties,
+      Environment environment,
+      MeterRegistry meterRegistry) {
+    HikariDataSource primary = primaryPool(dataSourceProperties, environment);
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (String url : properties.urls()) {
+      HikariConfig config = new HikariConfig();
+      primary.copyStateTo(config);
+      config.setJdbcUrl(url);
+      if (properties.username() != null) {
+        config.setUsername(properties.username());
+        config.setPassword(properties.password());
+      }
+      config.setPoolName("replica-" + replicas.size());
+      config.setReadOnly(true);
+      config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+      // A replica that is down at startup is only skipped until it answers a health check.
+      config.setInitializationFailTimeout(-1);
+      config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.put(config.getPoolName(), new HikariDataSource(config));
+    }
+    ReadReplicas readReplicas = new ReadReplicas(primary, replicas, properties.maxLag(), meterRegistry);
+    readReplicas.start(properties.checkInterval());
+    return readReplicas;
+  }
+
+  @Bean
+  public DataSource dataSource(ReadReplicas readReplicas) {
+    DataSource primary = readReplicas.primary();
+    return readReplicas.isEmpty() ? primary : new ReplicaRoutingDataSource(primary, readReplicas);
+  }
+
+  private static HikariDataSource primaryPool(DataSourceProperties properties, Environment environment) {
+    HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+    return pool;
+  }
+}
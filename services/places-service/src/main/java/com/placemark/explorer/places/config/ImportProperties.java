@@ -0,0 +1,19 @@
+package com.placemark.explorer.places.config;
+
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.import")
+public record ImportProperties(
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("8") int queueCapacity,
+    @DefaultValue("10s") Duration progressLogInterval,
+    @DefaultValue("imports") Path uploadDirectory,
+    @DefaultValue("5m") Duration staleAfter,
+    String file,
+    PlaceImportFormat format,
+    UUID resumeJobId) {}
@@ -0,0 +1,12 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.purge")
+public record PurgeProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("30d") Duration retention,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("100ms") Duration pauseBetweenBatches) {}
@@ -0,0 +1,15 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.replicas")
+public record ReplicaProperties(
+    @DefaultValue List<String> urls,
+    String username,
+    String password,
+    @DefaultValue("1s") Duration maxLag,
+    @DefaultValue("2s") Duration connectionTimeout,
+    @DefaultValue("5s") Duration checkInterval) {}
@@ -0,0 +1,13 @@
+package com.placemark.explorer.places.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.snapshot")
+public record SnapshotProperties(
+    @DefaultValue("snapshots") Path directory,
+    @DefaultValue("5m") Duration maxAge,
+    @DefaultValue("10000") int fetchSize,
+    Path exportPath) {}
@@ -0,0 +1,12 @@
+package com.placemark.explorer.places.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.spatial-index")
+public record SpatialIndexProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.01") double cellSizeDegrees,
+    @DefaultValue("5000") int warmUpFetchSize,
+    @DefaultValue("10000") int maxCellsPerQuery,
+    String warmUpSnapshot) {}
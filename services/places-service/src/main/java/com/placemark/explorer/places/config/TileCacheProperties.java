@@ -0,0 +1,13 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.tile-cache")
+public record TileCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.02") double tileSizeDegrees,
+    @DefaultValue("36") int maxTilesPerQuery,
+    @DefaultValue("50000") long maximumTiles,
+    @DefaultValue("10m") Duration expireAfterWrite) {}
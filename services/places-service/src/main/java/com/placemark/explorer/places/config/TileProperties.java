@@ -0,0 +1,11 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.tiles")
+public record TileProperties(
+    @DefaultValue("12") int clusterMaxZoom,
+    @DefaultValue("64") int clusterGridSize,
+    @DefaultValue("60s") Duration maxAge) {}
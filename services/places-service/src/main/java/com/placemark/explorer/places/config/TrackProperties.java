@@ -0,0 +1,20 @@
+package com.placemark.explorer.places.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "places.track")
+public record TrackProperties(
+    @DefaultValue("1000") int streamChunkSize,
+    @DefaultValue("200") int batchQueryTracks,
+    @DefaultValue Preprocessing preprocessing) {
+
+  public record Preprocessing(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("25") double toleranceMeters,
+      @DefaultValue("0.1") double maxToleranceRadiusRatio,
+      @DefaultValue("0") double outlierJumpMeters,
+      @DefaultValue("500") int segmentMaxPoints,
+      @DefaultValue("60s") Duration minRadiusCacheTtl) {}
+}
@@ -0,0 +1,41 @@
+package com.placemark.explorer.places.config;
+
+import com.placemark.explorer.places.web.BulkheadInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(WebConfig.class);
+
+  // Hikari's own default when spring.datasource.hikari.maximum-pool-size is not set.
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  private final BulkheadProperties bulkheadProperties;
+  private final Environment environment;
+
+  public WebConfig(BulkheadProperties bulkheadProperties, Environment environment) {
+    this.bulkheadProperties = bulkheadProperties;
+    this.environment = environment;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    if (!bulkheadProperties.enabled()) {
+      return;
+    }
+    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+    int maxConcurrentCalls = bulkheadProperties.maxConcurrentCalls(poolSize);
+    if (maxConcurrentCalls >= poolSize) {
+      log.warn("places.bulkhead.max-concurrent-calls ({}) is not below the connection pool size ({}); "
+          + "geo queries can take every connection", maxConcurrentCalls, poolSize);
+    }
+    registry.addInterceptor(new BulkheadInterceptor(maxConcurrentCalls, bulkheadProperties.maxWait()))
+        .addPathPatterns(bulkheadProperties.pathPatterns());
+  }
+}
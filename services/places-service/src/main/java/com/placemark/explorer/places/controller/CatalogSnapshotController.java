@@ -0,0 +1,44 @@
+package com.placemark.explorer.places.controller;
+
+import com.placemark.explorer.places.service.snapshot.CatalogSnapshotService;
+import com.placemark.explorer.places.service.snapshot.SnapshotFile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/v1/snapshot")
+@Tag(name = "Snapshot")
+public class CatalogSnapshotController {
+
+  public static final String SNAPSHOT_VALUE = "application/vnd.placemark.catalog-snapshot";
+  public static final String CHANGE_CURSOR_HEADER = "X-Change-Cursor";
+
+  private final CatalogSnapshotService snapshotService;
+
+  public CatalogSnapshotController(CatalogSnapshotService snapshotService) {
+    this.snapshotService = snapshotService;
+  }
+
+  @GetMapping(produces = SNAPSHOT_VALUE)
+  @Operation(summary = "Download a binary snapshot of all live places and the change cursor it is consistent with")
+  public ResponseEntity<Resource> getSnapshot(WebRequest request) {
+    SnapshotFile snapshot = snapshotService.current();
+    String cursor = snapshot.changeCursor().encode();
+    String etag = "\"" + cursor + "-" + snapshot.createdAt().toEpochMilli() + "\"";
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).header(CHANGE_CURSOR_HEADER, cursor).build();
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .header(CHANGE_CURSOR_HEADER, cursor)
+        .body(new FileSystemResource(snapshot.path()));
+  }
+}
@@ -0,0 +1,49 @@
+package com.placemark.explorer.places.controller;
+
+import com.placemark.explorer.places.dto.CursorPage;
+import com.placemark.explorer.places.dto.change.PlaceChangeResponse;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@Tag(name = "Changes")
+@Validated
+public class ChangeFeedController {
+
+  private final ChangeFeedService changeFeedService;
+
+  public ChangeFeedController(ChangeFeedService changeFeedService) {
+    this.changeFeedService = changeFeedService;
+  }
+
+  @GetMapping
+  @Operation(summary = "Read place and group changes in commit order after a cursor")
+  public CursorPage<PlaceChangeResponse> readChanges(
+      @RequestParam(name = "since", required = false) String since,
+      @RequestParam(name = "size", defaultValue = "500") @Min(1) @Max(1000) int size) {
+    ChangeCursor after = ChangeCursor.decode(since);
+    List<PlaceChange> changes = changeFeedService.readChanges(after, size);
+    ChangeCursor next = changes.isEmpty()
+        ? after
+        : new ChangeCursor(changes.get(changes.size() - 1).txid(), changes.get(changes.size() - 1).seq());
+    return new CursorPage<>(
+        changes.stream()
+            .map(change -> new PlaceChangeResponse(
+                change.type(), change.placeId(), change.groupId(), change.payload(), change.createdAt()))
+            .toList(),
+        size,
+        next.encode());
+  }
+}
@@ -1,25 +1,57 @@
 package com.placemark.explorer.places.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.cache.CatalogCache;
+import com.placemark.explorer.places.domain.Place;
 import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.dto.CursorPage;
+import com.placemark.explorer.places.dto.place.BatchTrackIntersectionRequest;
+import com.placemark.explorer.places.dto.place.BatchTrackIntersectionResponse;
 import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.dto.place.KeyedTrackRequest;
+import com.placemark.explorer.places.dto.place.NearestPlaceResponse;
 import com.placemark.explorer.places.dto.place.PlaceResponse;
 import com.placemark.explorer.places.dto.place.TrackIntersectionRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.exception.ErrorResponse;
 import com.placemark.explorer.places.mapper.PlaceMapper;
+import com.placemark.explorer.places.observability.PlaceMetrics;
+import com.placemark.explorer.places.service.BatchTrackMatches;
+import com.placemark.explorer.places.service.CountMode;
+import com.placemark.explorer.places.service.NearestPlace;
+import com.placemark.explorer.places.service.PlaceCursor;
 import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.PlaceWindow;
+import com.placemark.explorer.places.service.TrackStreamService;
+import com.placemark.explorer.places.service.track.TrackPointReader;
+import com.placemark.explorer.places.service.track.TrackPointReaders;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.Valid;
 import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -39,11 +71,25 @@ import org.springframework.validation.annotation.Validated;
 public class PlaceController {
 
   private final PlaceService placeService;
+  private final TrackStreamService trackStreamService;
   private final PlaceMapper mapper;
+  private final CatalogCache catalogCache;
+  private final ObjectMapper objectMapper;
+  private final PlaceMetrics metrics;
 
-  public PlaceController(PlaceService placeService, PlaceMapper mapper) {
+  public PlaceController(
+      PlaceService placeService,
+      TrackStreamService trackStreamService,
+      PlaceMapper mapper,
+      CatalogCache catalogCache,
+      ObjectMapper objectMapper,
+      PlaceMetrics metrics) {
     this.placeService = placeService;
+    this.trackStreamService = trackStreamService;
     this.mapper = mapper;
+    this.catalogCache = catalogCache;
+    this.objectMapper = objectMapper;
+    this.metrics = metrics;
   }
 
   @PostMapping
@@ -51,13 +97,13 @@ public class PlaceController {
   @Operation(summary = "Create place")
   @Transactional
   public PlaceResponse createPlace(@Valid @RequestBody CreatePlaceRequest request) {
-    return mapper.toResponse(placeService.createPlace(request));
+    return toResponse(placeService.createPlace(request));
   }
 
   @GetMapping("/{id}")
   @Operation(summary = "Get place by ID")
   public PlaceResponse getPlace(@PathVariable("id") UUID id) {
-    return mapper.toResponse(placeService.getPlace(id));
+    return catalogCache.getPlace(id, () -> toResponse(placeService.getPlace(id)));
   }
 
   @GetMapping
@@ -67,7 +113,16 @@ public class PlaceController {
       @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
       @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
     Pageable pageable = PageRequest.of(page, size);
-    return placeService.listPlaces(category, pageable).map(mapper::toResponse);
+    return toResponses(placeService.listPlaces(category, pageable));
+  }
+
+  @GetMapping("/scroll")
+  @Operation(summary = "List places ordered by ID using a cursor instead of page numbers")
+  public CursorPage<PlaceResponse> scrollPlaces(
+      @RequestParam(name = "category", required = false) PlaceCategory category,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+    return toCursorPage(placeService.scrollPlaces(category, PlaceCursor.decode(cursor), size), size);
   }
 
   @DeleteMapping("/{id}")
@@ -80,28 +135,161 @@ public class PlaceController {
 
   @GetMapping("/near")
   @Operation(summary = "Find places near a point")
-  public Page<PlaceResponse> findPlacesNear(
+  public Slice<PlaceResponse> findPlacesNear(
       @RequestParam(name = "lat") @Min(-90) @Max(90) double lat,
       @RequestParam(name = "lon") @Min(-180) @Max(180) double lon,
       @RequestParam(name = "radiusMeters") @Positive int radiusMeters,
       @RequestParam(name = "category", required = false) PlaceCategory category,
       @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+      @RequestParam(name = "countMode", defaultValue = "EXACT") CountMode countMode) {
     Pageable pageable = PageRequest.of(page, size);
-    return placeService.findPlacesNear(lat, lon, radiusMeters, category, pageable).map(mapper::toResponse);
+    return toResponses(placeService.findPlacesNear(lat, lon, radiusMeters, category, pageable, countMode));
+  }
+
+  @GetMapping("/nearest")
+  @Operation(summary = "Find the k places closest to a point, ordered by distance")
+  public List<NearestPlaceResponse> findNearestPlaces(
+      @RequestParam(name = "lat") @Min(-90) @Max(90) double lat,
+      @RequestParam(name = "lon") @Min(-180) @Max(180) double lon,
+      @RequestParam(name = "k", defaultValue = "10") @Min(1) @Max(100) int k,
+      @RequestParam(name = "category", required = false) PlaceCategory category) {
+    List<NearestPlace> nearest = placeService.findNearestPlaces(lat, lon, k, category);
+    List<PlaceResponse> places = toResponses(nearest.stream().map(NearestPlace::place).toList());
+    List<NearestPlaceResponse> responses = new ArrayList<>(nearest.size());
+    for (int i = 0; i < nearest.size(); i++) {
+      responses.add(new NearestPlaceResponse(nearest.get(i).distanceMeters(), places.get(i)));
+    }
+    return responses;
+  }
+
+  @GetMapping("/near/scroll")
+  @Operation(summary = "Find places near a point ordered by distance using a cursor")
+  public CursorPage<PlaceResponse> scrollPlacesNear(
+      @RequestParam(name = "lat") @Min(-90) @Max(90) double lat,
+      @RequestParam(name = "lon") @Min(-180) @Max(180) double lon,
+      @RequestParam(name = "radiusMeters") @Positive int radiusMeters,
+      @RequestParam(name = "category", required = false) PlaceCategory category,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+    PlaceCursor after = PlaceCursor.decode(cursor);
+    return toCursorPage(placeService.scrollPlacesNear(lat, lon, radiusMeters, category, after, size), size);
   }
 
   @PostMapping("/intersections")
   @Operation(summary = "Find places intersecting a GPS track")
-  public Page<PlaceResponse> findPlacesIntersectingTrack(
+  public Slice<PlaceResponse> findPlacesIntersectingTrack(
       @Valid @RequestBody TrackIntersectionRequest request,
       @RequestParam(name = "category", required = false) PlaceCategory category,
       @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+      @RequestParam(name = "countMode", defaultValue = "EXACT") CountMode countMode) {
+    metrics.recordTrackPoints(request.points().size());
     List<Point> track = request.points().stream()
         .map(p -> placeService.toPoint(p.latitude(), p.longitude()))
         .toList();
     Pageable pageable = PageRequest.of(page, size);
-    return placeService.findPlacesIntersectingTrack(track, category, pageable).map(mapper::toResponse);
+    return toResponses(placeService.findPlacesIntersectingTrack(track, category, pageable, countMode));
+  }
+
+  @PostMapping("/intersections/scroll")
+  @Operation(summary = "Find places intersecting a GPS track ordered by ID using a cursor")
+  public CursorPage<PlaceResponse> scrollPlacesIntersectingTrack(
+      @Valid @RequestBody TrackIntersectionRequest request,
+      @RequestParam(name = "category", required = false) PlaceCategory category,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+    metrics.recordTrackPoints(request.points().size());
+    List<Point> track = request.points().stream()
+        .map(p -> placeService.toPoint(p.latitude(), p.longitude()))
+        .toList();
+    PlaceCursor after = PlaceCursor.decode(cursor);
+    return toCursorPage(placeService.scrollPlacesIntersectingTrack(track, category, after, size), size);
+  }
+
+  @PostMapping("/intersections/batch")
+  @Operation(summary = "Find places intersecting many GPS tracks in one call")
+  public BatchTrackIntersectionResponse findPlacesIntersectingTracks(
+      @Valid @RequestBody BatchTrackIntersectionRequest request,
+      @RequestParam(name = "category", required = false) PlaceCategory category) {
+    Map<String, List<Point>> tracks = new LinkedHashMap<>();
+    for (KeyedTrackRequest track : request.tracks()) {
+      metrics.recordTrackPoints(track.points().size());
+      List<Point> points = track.points().stream()
+          .map(p -> placeService.toPoint(p.latitude(), p.longitude()))
+          .toList();
+      if (tracks.putIfAbsent(track.trackId(), points) != null) {
+        throw new BadRequestException("Duplicate trackId: " + track.trackId());
+      }
+    }
+    BatchTrackMatches matches = placeService.findPlacesIntersectingTracks(tracks, category);
+    return new BatchTrackIntersectionResponse(
+        matches.placeIdsByTrack(),
+        toResponses(matches.places()));
+  }
+
+  @PostMapping(
+      path = "/intersections/stream",
+      consumes = {
+          MediaType.APPLICATION_NDJSON_VALUE,
+          TrackPointReaders.GEO_JSON_VALUE,
+          MediaType.APPLICATION_OCTET_STREAM_VALUE
+      })
+  @Operation(summary = "Stream places intersecting a GPS track sent as NDJSON, GeoJSON or binary points")
+  public void streamPlacesIntersectingTrack(
+      @RequestParam(name = "category", required = false) PlaceCategory category,
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
+    MediaType contentType = MediaType.parseMediaType(request.getContentType());
+    try (TrackPointReader reader = TrackPointReaders.open(contentType, request.getInputStream(), objectMapper)) {
+      response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+      OutputStream out = response.getOutputStream();
+      try {
+        trackStreamService.streamPlacesIntersectingTrack(reader, category, places -> {
+          for (PlaceResponse place : toResponses(places)) {
+            out.write(objectMapper.writeValueAsBytes(place));
+            out.write('\n');
+          }
+          out.flush();
+        });
+      } catch (BadRequestException ex) {
+        if (!response.isCommitted()) {
+          throw ex;
+        }
+        // The 200 status already went out with earlier matches, so the error ends the stream instead.
+        ErrorResponse error = new ErrorResponse(Instant.now(), HttpStatus.BAD_REQUEST.value(),
+            HttpStatus.BAD_REQUEST.getReasonPhrase(), ex.getMessage(), request.getRequestURI());
+        out.write(objectMapper.writeValueAsBytes(error));
+        out.write('\n');
+        out.flush();
+      }
+    }
+  }
+
+  private CursorPage<PlaceResponse> toCursorPage(PlaceWindow window, int size) {
+    return new CursorPage<>(
+        toResponses(window.places()),
+        size,
+        window.next() != null ? window.next().encode() : null);
+  }
+
+  private PlaceResponse toResponse(Place place) {
+    return toResponses(List.of(place)).get(0);
+  }
+
+  private Page<PlaceResponse> toResponses(Page<Place> places) {
+    return new PageImpl<>(toResponses(places.getContent()), places.getPageable(), places.getTotalElements());
+  }
+
+  private Slice<PlaceResponse> toResponses(Slice<Place> places) {
+    if (places instanceof Page<Place> page) {
+      return toResponses(page);
+    }
+    return new SliceImpl<>(toResponses(places.getContent()), places.getPageable(), places.hasNext());
+  }
+
+  private List<PlaceResponse> toResponses(List<Place> places) {
+    Map<UUID, Set<UUID>> groupIds = placeService.findGroupIdsByPlace(places.stream().map(Place::getId).toList());
+    return metrics.observeMapping(places.size(), () -> mapper.toResponses(places, groupIds));
   }
 }
@@ -1,13 +1,20 @@
 package com.placemark.explorer.places.controller;
 
+import com.placemark.explorer.places.cache.CatalogCache;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.dto.CursorPage;
 import com.placemark.explorer.places.dto.group.CreateGroupRequest;
 import com.placemark.explorer.places.dto.group.PlaceGroupResponse;
+import com.placemark.explorer.places.dto.place.PlaceResponse;
 import com.placemark.explorer.places.mapper.PlaceMapper;
+import com.placemark.explorer.places.service.PlaceCursor;
 import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.PlaceWindow;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.transaction.Transactional;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -35,10 +42,12 @@ public class PlaceGroupController {
 
   private final PlaceService placeService;
   private final PlaceMapper mapper;
+  private final CatalogCache catalogCache;
 
-  public PlaceGroupController(PlaceService placeService, PlaceMapper mapper) {
+  public PlaceGroupController(PlaceService placeService, PlaceMapper mapper, CatalogCache catalogCache) {
     this.placeService = placeService;
     this.mapper = mapper;
+    this.catalogCache = catalogCache;
   }
 
   @PostMapping
@@ -52,7 +61,7 @@ public class PlaceGroupController {
   @GetMapping("/{id}")
   @Operation(summary = "Get group by ID")
   public PlaceGroupResponse getGroup(@PathVariable("id") UUID id) {
-    return mapper.toResponse(placeService.getGroup(id));
+    return catalogCache.getGroup(id, () -> mapper.toResponse(placeService.getGroup(id)));
   }
 
   @GetMapping
@@ -64,6 +73,20 @@ public class PlaceGroupController {
     return placeService.listGroups(pageable).map(mapper::toResponse);
   }
 
+  @GetMapping("/{id}/places")
+  @Operation(summary = "List group members ordered by place ID using a cursor")
+  public CursorPage<PlaceResponse> listGroupPlaces(
+      @PathVariable("id") UUID id,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) int size) {
+    PlaceWindow window = placeService.scrollGroupPlaces(id, PlaceCursor.decode(cursor), size);
+    List<Place> places = window.places();
+    return new CursorPage<>(
+        mapper.toResponses(places, placeService.findGroupIdsByPlace(places.stream().map(Place::getId).toList())),
+        size,
+        window.next() != null ? window.next().encode() : null);
+  }
+
   @PostMapping("/{groupId}/places/{placeId}")
   @Operation(summary = "Add place to group")
   @Transactional
@@ -0,0 +1,60 @@
+package com.placemark.explorer.places.controller;
+
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.dto.importing.PlaceImportJobResponse;
+import com.placemark.explorer.places.mapper.PlaceMapper;
+import com.placemark.explorer.places.service.importing.PlaceImportReaders;
+import com.placemark.explorer.places.service.importing.PlaceImportService;
+import com.placemark.explorer.places.service.track.TrackPointReaders;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@Tag(name = "Imports")
+@Validated
+@Transactional(Transactional.TxType.SUPPORTS)
+public class PlaceImportController {
+
+  private final PlaceImportService importService;
+  private final PlaceMapper mapper;
+
+  public PlaceImportController(PlaceImportService importService, PlaceMapper mapper) {
+    this.importService = importService;
+    this.mapper = mapper;
+  }
+
+  @PostMapping(consumes = {
+      PlaceImportReaders.CSV_VALUE,
+      MediaType.APPLICATION_NDJSON_VALUE,
+      TrackPointReaders.GEO_JSON_VALUE
+  })
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  @Operation(summary = "Bulk import places from CSV, NDJSON or a GeoJSON FeatureCollection; poll the returned job")
+  public PlaceImportJobResponse importPlaces(
+      @RequestParam(name = "resumeJobId", required = false) UUID resumeJobId,
+      HttpServletRequest request) throws IOException {
+    PlaceImportFormat format = PlaceImportReaders.formatOf(MediaType.parseMediaType(request.getContentType()));
+    return mapper.toResponse(importService.submit(resumeJobId, format, request.getInputStream()));
+  }
+
+  @GetMapping("/{id}")
+  @Operation(summary = "Get import job progress")
+  public PlaceImportJobResponse getJob(@PathVariable("id") UUID id) {
+    return mapper.toResponse(importService.getJob(id));
+  }
+}
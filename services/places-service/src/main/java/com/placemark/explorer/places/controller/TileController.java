@@ -0,0 +1,51 @@
+package com.placemark.explorer.places.controller;
+
+import com.placemark.explorer.places.config.TileProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.service.TileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/v1/tiles")
+@Tag(name = "Tiles")
+public class TileController {
+
+  public static final String VECTOR_TILE_VALUE = "application/vnd.mapbox-vector-tile";
+
+  private final TileService tileService;
+  private final TileProperties properties;
+
+  public TileController(TileService tileService, TileProperties properties) {
+    this.tileService = tileService;
+    this.properties = properties;
+  }
+
+  @GetMapping(value = "/{z}/{x}/{y}.mvt", produces = VECTOR_TILE_VALUE)
+  @Operation(summary = "Get a vector tile of places, clustered at low zoom levels")
+  public ResponseEntity<byte[]> getTile(
+      @PathVariable int z,
+      @PathVariable int x,
+      @PathVariable int y,
+      @RequestParam(name = "category", required = false) PlaceCategory category,
+      WebRequest request) {
+    String etag = tileService.tileETag(z, x, y, category);
+    CacheControl cacheControl = CacheControl.maxAge(properties.maxAge()).cachePublic();
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+    // A place changed after the ETag was read only makes the body newer than its ETag, so the
+    // next conditional request gets the tile again.
+    byte[] tile = tileService.renderTile(z, x, y, category);
+    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(tile);
+  }
+}
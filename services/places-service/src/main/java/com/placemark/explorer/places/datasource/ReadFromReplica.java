@@ -0,0 +1,14 @@
+package com.placemark.explorer.places.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the connection of a transaction started by the annotated method come from a read replica.
+ * Calls that join an already open transaction keep using its connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {}
@@ -0,0 +1,221 @@
+package com.placemark.explorer.places.datasource;
+
+import com.placemark.explorer.places.event.GroupDeletedEvent;
+import com.placemark.explorer.places.event.GroupMembershipChangedEvent;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.event.PlacesImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * The primary and the read replicas that {@link ReadFromReplica} calls are spread over round-robin.
+ * Replay lag is measured against the primary every {@code places.replicas.check-interval} on a
+ * dedicated thread; replicas that are unreachable or further behind than {@code max-lag} are
+ * skipped, and with none left reads go to the primary.
+ *
+ * <p>After this instance commits a change that evicts cached responses, or a cache evicts entries for
+ * a change read from the feed, reads stay on the primary for {@code max-lag} so a refilled cache
+ * entry never comes from a replica that has not replayed the change.
+ */
+public class ReadReplicas implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+  private static final String PRIMARY_LSN_SQL = "SELECT CAST(pg_current_wal_lsn() AS TEXT)";
+
+  // Caught up once the replica has replayed everything the primary had written when the check
+  // started. Otherwise the age of its last replayed commit: it keeps growing while the WAL receiver
+  // is disconnected, and overstates the lag right after the primary was idle.
+  private static final String LAG_SQL = """
+      SELECT CASE
+               WHEN NOT pg_is_in_recovery() THEN 0
+               WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+               ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+             END
+      """;
+
+  private final DataSource primary;
+  private final JdbcTemplate primaryJdbcTemplate;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final Duration maxLag;
+  private final AtomicInteger next = new AtomicInteger();
+  private volatile long primaryOnlyUntil;
+  private ScheduledExecutorService checker;
+
+  public ReadReplicas(
+      DataSource primary, Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.primaryJdbcTemplate = new JdbcTemplate(primary);
+    this.maxLag = maxLag;
+    replicas.forEach((name, dataSource) -> {
+      Replica replica = new Replica(name, dataSource, new JdbcTemplate(dataSource));
+      this.replicas.add(replica);
+      Gauge.builder("places.replica.lag", replica, r -> r.lagSeconds)
+          .description("Replay lag of a read replica at its last check")
+          .baseUnit("seconds")
+          .tag("replica", name)
+          .register(meterRegistry);
+      Gauge.builder("places.replica.available", replica, r -> r.available ? 1 : 0)
+          .description("Whether a read replica answered its last check")
+          .tag("replica", name)
+          .register(meterRegistry);
+    });
+  }
+
+  public DataSource primary() {
+    return primary;
+  }
+
+  public boolean isEmpty() {
+    return replicas.isEmpty();
+  }
+
+  /**
+   * Runs the checks on a thread of their own, so a long scheduled job on the shared scheduler
+   * cannot leave lag and availability stale.
+   */
+  public synchronized void start(Duration checkInterval) {
+    if (replicas.isEmpty() || checker != null) {
+      return;
+    }
+    long seconds = Math.max(1, checkInterval.toSeconds());
+    replicas.forEach(replica -> replica.jdbcTemplate().setQueryTimeout((int) seconds));
+    primaryJdbcTemplate.setQueryTimeout((int) seconds);
+    checker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-check").daemon().factory());
+    checker.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  Replica select() {
+    if (replicas.isEmpty() || System.currentTimeMillis() < primaryOnlyUntil) {
+      return null;
+    }
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((start + i) % replicas.size());
+      if (replica.available && replica.lagSeconds * 1000 <= maxLag.toMillis()) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  void markUnavailable(Replica replica, Exception cause) {
+    if (replica.available) {
+      log.warn("Read replica {} is unavailable, reading from the primary", replica.name(), cause);
+    }
+    replica.available = false;
+  }
+
+  void check() {
+    String primaryLsn;
+    try {
+      primaryLsn = primaryJdbcTemplate.queryForObject(PRIMARY_LSN_SQL, String.class);
+    } catch (DataAccessException ex) {
+      // Without the primary's position no replica's lag is known.
+      replicas.forEach(replica -> record(replica, null, ex));
+      return;
+    }
+    for (Replica replica : replicas) {
+      try {
+        record(replica, replica.jdbcTemplate().queryForObject(LAG_SQL, Double.class, primaryLsn), null);
+      } catch (DataAccessException ex) {
+        record(replica, null, ex);
+      }
+    }
+  }
+
+  void record(Replica replica, Double lagSeconds, Exception failure) {
+    replica.lagSeconds = lagSeconds != null ? lagSeconds : Double.NaN;
+    if (lagSeconds == null) {
+      markUnavailable(replica, failure);
+      return;
+    }
+    if (!replica.available) {
+      log.info("Read replica {} is available, {} s behind the primary", replica.name(), lagSeconds);
+    }
+    replica.available = true;
+  }
+
+  List<Replica> replicas() {
+    return replicas;
+  }
+
+  @TransactionalEventListener(
+      classes = {PlaceCreatedEvent.class, PlaceDeletedEvent.class, GroupDeletedEvent.class,
+          GroupMembershipChangedEvent.class},
+      fallbackExecution = true)
+  public void onCatalogChanged() {
+    holdPrimary();
+  }
+
+  // Imports only touch cached responses through the groups they add members to; the tile cache
+  // holds the primary itself when it evicts imported places.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlacesImported(PlacesImportedEvent event) {
+    if (!event.groupIds().isEmpty()) {
+      holdPrimary();
+    }
+  }
+
+  /** Sends reads to the primary for the next {@code max-lag}; called before evicting cached responses. */
+  public void holdPrimary() {
+    if (!replicas.isEmpty()) {
+      primaryOnlyUntil = System.currentTimeMillis() + maxLag.toMillis();
+    }
+  }
+
+  /** Stops the checks and closes the replica pools; the primary belongs to the application DataSource. */
+  @Override
+  public synchronized void close() throws Exception {
+    if (checker != null) {
+      checker.shutdownNow();
+    }
+    for (Replica replica : replicas) {
+      if (replica.dataSource() instanceof AutoCloseable pool) {
+        pool.close();
+      }
+    }
+  }
+
+  static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    private Replica(String name, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.jdbcTemplate = jdbcTemplate;
+    }
+
+    String name() {
+      return name;
+    }
+
+    DataSource dataSource() {
+      return dataSource;
+    }
+
+    JdbcTemplate jdbcTemplate() {
+      return jdbcTemplate;
+    }
+  }
+}
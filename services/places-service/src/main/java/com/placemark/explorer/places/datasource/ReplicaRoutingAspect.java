@@ -0,0 +1,26 @@
+package com.placemark.explorer.places.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Runs outside the transaction interceptor, so the flag is set before it asks for a connection.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReplicaRoutingAspect {
+
+  @Around("@annotation(com.placemark.explorer.places.datasource.ReadFromReplica)")
+  public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+    boolean previous = ReplicaRoutingDataSource.isReadFromReplica();
+    ReplicaRoutingDataSource.setReadFromReplica(true);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      ReplicaRoutingDataSource.setReadFromReplica(previous);
+    }
+  }
+}
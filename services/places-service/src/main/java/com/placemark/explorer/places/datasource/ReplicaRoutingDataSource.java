@@ -0,0 +1,56 @@
+package com.placemark.explorer.places.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out primary connections, except inside {@link ReadFromReplica} calls where a usable replica
+ * serves them. A replica that fails to connect is marked unavailable and the primary is used.
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  private static final ThreadLocal<Boolean> READ_FROM_REPLICA = new ThreadLocal<>();
+
+  private final ReadReplicas replicas;
+
+  public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas) {
+    super(primary);
+    this.replicas = replicas;
+  }
+
+  static boolean isReadFromReplica() {
+    return Boolean.TRUE.equals(READ_FROM_REPLICA.get());
+  }
+
+  static void setReadFromReplica(boolean readFromReplica) {
+    if (readFromReplica) {
+      READ_FROM_REPLICA.set(Boolean.TRUE);
+    } else {
+      READ_FROM_REPLICA.remove();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (isReadFromReplica()) {
+      ReadReplicas.Replica replica = replicas.select();
+      if (replica != null) {
+        try {
+          return replica.dataSource().getConnection();
+        } catch (SQLException ex) {
+          replicas.markUnavailable(replica, ex);
+        }
+      }
+    }
+    return super.getConnection();
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (obtainTargetDataSource() instanceof AutoCloseable primary) {
+      primary.close();
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.placemark.explorer.places.domain;
+
+public enum ChangeType {
+  PLACE_CREATED,
+  PLACE_DELETED,
+  GROUP_CREATED,
+  GROUP_DELETED,
+  GROUP_PLACE_ADDED,
+  GROUP_PLACE_REMOVED
+}
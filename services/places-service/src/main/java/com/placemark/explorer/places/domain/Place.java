@@ -1,5 +1,6 @@
 package com.placemark.explorer.places.domain;
 
+import com.placemark.explorer.places.geo.GeoRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -7,15 +8,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.Instant;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
@@ -23,7 +19,7 @@ import org.locationtech.jts.geom.Point;
 
 @Entity
 @Table(name = "places")
-@SQLDelete(sql = "UPDATE places SET deleted = true, deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE places SET deleted = true, deleted_at = NOW() WHERE id = ? AND deleted = false")
 @Where(clause = "deleted = false")
 public class Place {
 
@@ -44,6 +40,10 @@ public class Place {
   @Column(nullable = false, columnDefinition = "geography(Point,4326)")
   private Point location;
 
+  // Partition key of `places`, derived from the location; a new location moves the row.
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String region;
+
   @Column(name = "visit_radius_meters", nullable = false)
   private Integer visitRadiusMeters;
 
@@ -59,13 +59,6 @@ public class Place {
   @Column(name = "updated_at", nullable = false)
   private Instant updatedAt;
 
-  @ManyToMany
-  @JoinTable(
-      name = "place_group_membership",
-      joinColumns = @JoinColumn(name = "place_id"),
-      inverseJoinColumns = @JoinColumn(name = "group_id"))
-  private Set<PlaceGroup> groups = new HashSet<>();
-
   @PrePersist
   void onCreate() {
     Instant now = Instant.now();
@@ -86,12 +79,15 @@ public class Place {
   public PlaceCategory getCategory() { return category; }
   public void setCategory(PlaceCategory category) { this.category = category; }
   public Point getLocation() { return location; }
-  public void setLocation(Point location) { this.location = location; }
+  public void setLocation(Point location) {
+    this.location = location;
+    this.region = GeoRegions.of(location.getY(), location.getX());
+  }
+  public String getRegion() { return region; }
   public Integer getVisitRadiusMeters() { return visitRadiusMeters; }
   public void setVisitRadiusMeters(Integer visitRadiusMeters) { this.visitRadiusMeters = visitRadiusMeters; }
   public boolean isDeleted() { return deleted; }
   public Instant getDeletedAt() { return deletedAt; }
   public Instant getCreatedAt() { return createdAt; }
   public Instant getUpdatedAt() { return updatedAt; }
-  public Set<PlaceGroup> getGroups() { return groups; }
 }
@@ -5,13 +5,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.Instant;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
@@ -44,8 +41,8 @@ public class PlaceGroup {
   @Column(name = "updated_at", nullable = false)
   private Instant updatedAt;
 
-  @ManyToMany(mappedBy = "groups")
-  private Set<Place> places = new HashSet<>();
+  @Column(name = "place_count", nullable = false, insertable = false, updatable = false)
+  private int placeCount;
 
   @PrePersist
   void onCreate() {
@@ -68,5 +65,5 @@ public class PlaceGroup {
   public Instant getDeletedAt() { return deletedAt; }
   public Instant getCreatedAt() { return createdAt; }
   public Instant getUpdatedAt() { return updatedAt; }
-  public Set<Place> getPlaces() { return places; }
+  public int getPlaceCount() { return placeCount; }
 }
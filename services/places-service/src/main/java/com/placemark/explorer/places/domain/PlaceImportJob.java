@@ -0,0 +1,97 @@
+package com.placemark.explorer.places.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "place_import_jobs")
+public class PlaceImportJob {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(nullable = false, length = 1000)
+  private String source;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private PlaceImportFormat format;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private PlaceImportStatus status;
+
+  @Column(name = "rows_read", nullable = false)
+  private long rowsRead;
+
+  @Column(name = "rows_imported", nullable = false)
+  private long rowsImported;
+
+  @Column(name = "rows_rejected", nullable = false)
+  private long rowsRejected;
+
+  @Column(name = "run_started_at", nullable = false)
+  private Instant runStartedAt;
+
+  @Column(name = "run_start_offset", nullable = false)
+  private long runStartOffset;
+
+  @Column(columnDefinition = "TEXT")
+  private String error;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @PrePersist
+  void onCreate() {
+    Instant now = Instant.now();
+    createdAt = now;
+    updatedAt = now;
+  }
+
+  @PreUpdate
+  void onUpdate() {
+    updatedAt = Instant.now();
+  }
+
+  public UUID getId() { return id; }
+  public String getSource() { return source; }
+  public void setSource(String source) { this.source = source; }
+  public PlaceImportFormat getFormat() { return format; }
+  public void setFormat(PlaceImportFormat format) { this.format = format; }
+  public PlaceImportStatus getStatus() { return status; }
+  public void setStatus(PlaceImportStatus status) { this.status = status; }
+  public long getRowsRead() { return rowsRead; }
+  public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+  public long getRowsImported() { return rowsImported; }
+  public void setRowsImported(long rowsImported) { this.rowsImported = rowsImported; }
+  public long getRowsRejected() { return rowsRejected; }
+  public void setRowsRejected(long rowsRejected) { this.rowsRejected = rowsRejected; }
+  public Instant getRunStartedAt() { return runStartedAt; }
+  public void setRunStartedAt(Instant runStartedAt) { this.runStartedAt = runStartedAt; }
+  public long getRunStartOffset() { return runStartOffset; }
+  public void setRunStartOffset(long runStartOffset) { this.runStartOffset = runStartOffset; }
+  public String getError() { return error; }
+  public void setError(String error) { this.error = error; }
+  public Instant getFinishedAt() { return finishedAt; }
+  public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+  public Instant getCreatedAt() { return createdAt; }
+  public Instant getUpdatedAt() { return updatedAt; }
+}
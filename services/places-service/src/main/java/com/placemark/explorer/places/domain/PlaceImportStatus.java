@@ -0,0 +1,7 @@
+package com.placemark.explorer.places.domain;
+
+public enum PlaceImportStatus {
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,5 @@
+package com.placemark.explorer.places.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {}
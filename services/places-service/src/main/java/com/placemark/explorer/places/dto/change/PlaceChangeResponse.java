@@ -0,0 +1,13 @@
+package com.placemark.explorer.places.dto.change;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.placemark.explorer.places.domain.ChangeType;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PlaceChangeResponse(
+    ChangeType type,
+    UUID placeId,
+    UUID groupId,
+    @JsonRawValue String data,
+    Instant changedAt) {}
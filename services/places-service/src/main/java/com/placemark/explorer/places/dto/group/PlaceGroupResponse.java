@@ -1,13 +1,12 @@
 package com.placemark.explorer.places.dto.group;
 
 import java.time.Instant;
-import java.util.Set;
 import java.util.UUID;
 
 public record PlaceGroupResponse(
     UUID id,
     String name,
     String description,
-    Set<UUID> placeIds,
+    int placeCount,
     Instant createdAt,
     Instant updatedAt) {}
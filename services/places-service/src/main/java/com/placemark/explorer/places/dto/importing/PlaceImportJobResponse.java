@@ -0,0 +1,20 @@
+package com.placemark.explorer.places.dto.importing;
+
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.domain.PlaceImportStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PlaceImportJobResponse(
+    UUID id,
+    String source,
+    PlaceImportFormat format,
+    PlaceImportStatus status,
+    long rowsRead,
+    long rowsImported,
+    long rowsRejected,
+    double rowsPerSecond,
+    String error,
+    Instant createdAt,
+    Instant updatedAt,
+    Instant finishedAt) {}
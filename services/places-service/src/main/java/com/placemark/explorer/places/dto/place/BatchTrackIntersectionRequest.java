@@ -0,0 +1,8 @@
+package com.placemark.explorer.places.dto.place;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchTrackIntersectionRequest(@NotEmpty @Size(max = 1000) List<@Valid KeyedTrackRequest> tracks) {}
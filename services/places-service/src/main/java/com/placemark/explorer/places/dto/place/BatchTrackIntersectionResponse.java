@@ -0,0 +1,9 @@
+package com.placemark.explorer.places.dto.place;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record BatchTrackIntersectionResponse(
+    Map<String, List<UUID>> matches,
+    List<PlaceResponse> places) {}
@@ -0,0 +1,11 @@
+package com.placemark.explorer.places.dto.place;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record KeyedTrackRequest(
+    @NotBlank @Size(max = 200) String trackId,
+    @NotEmpty List<@Valid TrackPointRequest> points) {}
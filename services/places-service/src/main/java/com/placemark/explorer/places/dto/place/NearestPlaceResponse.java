@@ -0,0 +1,3 @@
+package com.placemark.explorer.places.dto.place;
+
+public record NearestPlaceResponse(double distanceMeters, PlaceResponse place) {}
@@ -0,0 +1,6 @@
+package com.placemark.explorer.places.event;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GroupDeletedEvent(UUID groupId, List<UUID> placeIds) {}
@@ -0,0 +1,5 @@
+package com.placemark.explorer.places.event;
+
+import java.util.UUID;
+
+public record GroupMembershipChangedEvent(UUID groupId, UUID placeId) {}
@@ -0,0 +1,5 @@
+package com.placemark.explorer.places.event;
+
+import com.placemark.explorer.places.domain.Place;
+
+public record PlaceCreatedEvent(Place place) {}
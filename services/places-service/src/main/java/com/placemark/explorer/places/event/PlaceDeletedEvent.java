@@ -0,0 +1,7 @@
+package com.placemark.explorer.places.event;
+
+import com.placemark.explorer.places.domain.Place;
+import java.util.Set;
+import java.util.UUID;
+
+public record PlaceDeletedEvent(Place place, Set<UUID> groupIds) {}
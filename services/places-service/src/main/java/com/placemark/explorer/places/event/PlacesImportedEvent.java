@@ -0,0 +1,8 @@
+package com.placemark.explorer.places.event;
+
+import com.placemark.explorer.places.index.IndexedPlace;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public record PlacesImportedEvent(List<IndexedPlace> places, Set<UUID> groupIds) {}
@@ -3,6 +3,7 @@ package com.placemark.explorer.places.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import java.time.Instant;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,6 +24,14 @@ public class GlobalExceptionHandler {
     return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
   }
 
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handleServiceUnavailable(
+      ServiceUnavailableException ex, HttpServletRequest request) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(errorOf(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI()));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
     String message = ex.getBindingResult().getFieldErrors().stream()
@@ -33,7 +42,10 @@ public class GlobalExceptionHandler {
   }
 
   private ResponseEntity<ErrorResponse> build(HttpStatus status, String message, String path) {
-    return ResponseEntity.status(status)
-        .body(new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), message, path));
+    return ResponseEntity.status(status).body(errorOf(status, message, path));
+  }
+
+  private ErrorResponse errorOf(HttpStatus status, String message, String path) {
+    return new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), message, path);
   }
 }
@@ -0,0 +1,7 @@
+package com.placemark.explorer.places.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+  public ServiceUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,95 @@
+package com.placemark.explorer.places.geo;
+
+/**
+ * Spherical geometry helpers used by the in-process spatial paths. Distances are computed on a
+ * sphere of mean Earth radius, which stays within ~0.5% of the PostGIS spheroid results.
+ */
+public final class GeoMath {
+
+  public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  // Shortest length of one degree of latitude on the WGS84 spheroid; keeps degree expansions conservative.
+  public static final double MIN_METERS_PER_DEGREE_LATITUDE = 110_574.0;
+
+  private GeoMath() {}
+
+  public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+    return EARTH_RADIUS_METERS * angularDistance(lat1, lon1, lat2, lon2);
+  }
+
+  public static double distanceToSegmentMeters(
+      double lat, double lon, double lat1, double lon1, double lat2, double lon2) {
+    double d13 = angularDistance(lat1, lon1, lat, lon);
+    double d12 = angularDistance(lat1, lon1, lat2, lon2);
+    if (d12 < 1e-12 || d13 < 1e-12) {
+      return EARTH_RADIUS_METERS * d13;
+    }
+
+    double delta = bearing(lat1, lon1, lat, lon) - bearing(lat1, lon1, lat2, lon2);
+    if (Math.cos(delta) <= 0) {
+      return EARTH_RADIUS_METERS * d13;
+    }
+
+    double crossTrack = Math.asin(Math.sin(d13) * Math.sin(delta));
+    double alongTrack = Math.acos(clamp(Math.cos(d13) / Math.cos(crossTrack)));
+    if (alongTrack >= d12) {
+      return distanceMeters(lat2, lon2, lat, lon);
+    }
+    return EARTH_RADIUS_METERS * Math.abs(crossTrack);
+  }
+
+  /** Returns {@code {lat, lon}} of the point at {@code fraction} along the great circle from 1 to 2. */
+  public static double[] interpolate(double lat1, double lon1, double lat2, double lon2, double fraction) {
+    double d = angularDistance(lat1, lon1, lat2, lon2);
+    if (d < 1e-12) {
+      return new double[] {lat1, lon1};
+    }
+
+    double phi1 = Math.toRadians(lat1);
+    double lambda1 = Math.toRadians(lon1);
+    double phi2 = Math.toRadians(lat2);
+    double lambda2 = Math.toRadians(lon2);
+    double a = Math.sin((1 - fraction) * d) / Math.sin(d);
+    double b = Math.sin(fraction * d) / Math.sin(d);
+    double x = a * Math.cos(phi1) * Math.cos(lambda1) + b * Math.cos(phi2) * Math.cos(lambda2);
+    double y = a * Math.cos(phi1) * Math.sin(lambda1) + b * Math.cos(phi2) * Math.sin(lambda2);
+    double z = a * Math.sin(phi1) + b * Math.sin(phi2);
+    return new double[] {
+        Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y))),
+        Math.toDegrees(Math.atan2(y, x))
+    };
+  }
+
+  public static double metersToLatitudeDegrees(double meters) {
+    return meters / MIN_METERS_PER_DEGREE_LATITUDE;
+  }
+
+  /** Longitude span covering {@code meters} anywhere within that distance of {@code latitude}. */
+  public static double metersToLongitudeDegrees(double meters, double latitude) {
+    double latitudeDegrees = metersToLatitudeDegrees(meters);
+    double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeDegrees)));
+    return cos < 1e-6 ? 360 : latitudeDegrees / cos;
+  }
+
+  private static double angularDistance(double lat1, double lon1, double lat2, double lon2) {
+    double phi1 = Math.toRadians(lat1);
+    double phi2 = Math.toRadians(lat2);
+    double sinDPhi = Math.sin((phi2 - phi1) / 2);
+    double sinDLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+    double h = sinDPhi * sinDPhi + Math.cos(phi1) * Math.cos(phi2) * sinDLambda * sinDLambda;
+    return 2 * Math.asin(Math.min(1, Math.sqrt(h)));
+  }
+
+  private static double bearing(double lat1, double lon1, double lat2, double lon2) {
+    double phi1 = Math.toRadians(lat1);
+    double phi2 = Math.toRadians(lat2);
+    double dLambda = Math.toRadians(lon2 - lon1);
+    double y = Math.sin(dLambda) * Math.cos(phi2);
+    double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(dLambda);
+    return Math.atan2(y, x);
+  }
+
+  private static double clamp(double value) {
+    return Math.max(-1, Math.min(1, value));
+  }
+}
@@ -0,0 +1,82 @@
+package com.placemark.explorer.places.geo;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Regions the {@code places} table is partitioned by: the first geohash character of a location,
+ * which splits the globe into 8 columns by 4 rows of 45 degree cells. Must stay in line with
+ * {@code place_region()} in the V10 migration; the two may only disagree for points exactly on a
+ * cell edge, and {@link #covering} includes the cells on both sides of an edge.
+ */
+public final class GeoRegions {
+
+  public static final int COUNT = 32;
+
+  private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+  private static final double CELL_DEGREES = 45;
+
+  private GeoRegions() {}
+
+  /** Region of a single location. */
+  public static String of(double lat, double lon) {
+    return region(toCell(lon + 180, 7), toCell(lat + 90, 3));
+  }
+
+  /**
+   * Regions touched by the box widened by {@code marginMeters}. Cells that only share an edge with
+   * the box are included, so the result does not depend on which side of a boundary geohash puts
+   * points lying exactly on it.
+   */
+  public static SortedSet<String> covering(
+      double minLat, double minLon, double maxLat, double maxLon, double marginMeters) {
+    double latMargin = GeoMath.metersToLatitudeDegrees(marginMeters);
+    double lonMargin = GeoMath.metersToLongitudeDegrees(marginMeters, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+    int fromRow = fromCell(minLat - latMargin + 90, 3);
+    int toRow = toCell(maxLat + latMargin + 90, 3);
+    double west = minLon - lonMargin;
+    double east = maxLon + lonMargin;
+    if (east - west >= 360) {
+      west = -180;
+      east = 180;
+    }
+
+    SortedSet<String> regions = new TreeSet<>();
+    for (int row = fromRow; row <= toRow; row++) {
+      if (west < -180) {
+        addColumns(regions, row, west + 360, 180);
+        addColumns(regions, row, -180, east);
+      } else if (east > 180) {
+        addColumns(regions, row, west, 180);
+        addColumns(regions, row, -180, east - 360);
+      } else {
+        addColumns(regions, row, west, east);
+      }
+    }
+    return regions;
+  }
+
+  private static void addColumns(SortedSet<String> regions, int row, double west, double east) {
+    for (int column = fromCell(west + 180, 7); column <= toCell(east + 180, 7); column++) {
+      regions.add(region(column, row));
+    }
+  }
+
+  // Geohash interleaves longitude and latitude bits, starting with longitude.
+  private static String region(int column, int row) {
+    int index = ((column >> 2) & 1) << 4
+        | ((row >> 1) & 1) << 3
+        | ((column >> 1) & 1) << 2
+        | (row & 1) << 1
+        | (column & 1);
+    return String.valueOf(BASE32.charAt(index));
+  }
+
+  private static int fromCell(double offsetDegrees, int last) {
+    return Math.max(0, Math.min(last, (int) Math.ceil(offsetDegrees / CELL_DEGREES) - 1));
+  }
+
+  private static int toCell(double offsetDegrees, int last) {
+    return Math.max(0, Math.min(last, (int) Math.floor(offsetDegrees / CELL_DEGREES)));
+  }
+}
@@ -0,0 +1,22 @@
+package com.placemark.explorer.places.index;
+
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import java.util.UUID;
+
+public record IndexedPlace(
+    UUID id,
+    PlaceCategory category,
+    double latitude,
+    double longitude,
+    int visitRadiusMeters) {
+
+  public static IndexedPlace of(Place place) {
+    return new IndexedPlace(
+        place.getId(),
+        place.getCategory(),
+        place.getLocation().getY(),
+        place.getLocation().getX(),
+        place.getVisitRadiusMeters());
+  }
+}
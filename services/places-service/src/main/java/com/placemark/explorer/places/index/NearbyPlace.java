@@ -0,0 +1,5 @@
+package com.placemark.explorer.places.index;
+
+import java.util.UUID;
+
+public record NearbyPlace(UUID id, double distanceMeters) {}
@@ -0,0 +1,226 @@
+package com.placemark.explorer.places.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ChangeFeedProperties;
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.event.PlacesImportedEvent;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.snapshot.CatalogSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the spatial index at startup and keeps it current. Changes made through this instance are
+ * applied from their events right after commit; changes made through other instances are read
+ * from the change feed, from the position reached at warm-up on. Changes of this instance come
+ * back through the feed as well, and applying them again is harmless.
+ */
+@Component
+public class PlaceIndexMaintainer {
+
+  private static final Logger log = LoggerFactory.getLogger(PlaceIndexMaintainer.class);
+
+  private static final String LOAD_SQL = """
+      SELECT p.id,
+             p.category,
+             ST_Y(p.location::geometry) AS latitude,
+             ST_X(p.location::geometry) AS longitude,
+             p.visit_radius_meters
+      FROM places p
+      WHERE p.deleted = false
+      """;
+
+  private static final int CATCH_UP_BATCH_SIZE = 1000;
+
+  private final PlaceSpatialIndex index;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PlaceChangeRepository changeRepository;
+  private final ObjectMapper objectMapper;
+  private final SpatialIndexProperties properties;
+  private final ChangeFeedProperties changeFeedProperties;
+  private final Set<UUID> deletedDuringWarmUp = ConcurrentHashMap.newKeySet();
+  private volatile ChangeCursor cursor;
+
+  public PlaceIndexMaintainer(
+      PlaceSpatialIndex index,
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      PlaceChangeRepository changeRepository,
+      ObjectMapper objectMapper,
+      SpatialIndexProperties properties,
+      ChangeFeedProperties changeFeedProperties) {
+    this.index = index;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(properties.warmUpFetchSize());
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.changeRepository = changeRepository;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.changeFeedProperties = changeFeedProperties;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!index.isEnabled()) {
+      return;
+    }
+
+    long started = System.nanoTime();
+    String source = "database";
+    ChangeCursor loadedAt = null;
+    if (properties.warmUpSnapshot() != null && !properties.warmUpSnapshot().isBlank()) {
+      loadedAt = loadSnapshot(Path.of(properties.warmUpSnapshot()));
+    }
+    if (loadedAt != null) {
+      source = properties.warmUpSnapshot();
+    } else {
+      loadedAt = new ChangeCursor(changeRepository.findHorizon(), 0);
+      // A cursor only streams inside a transaction; otherwise the driver buffers the whole result.
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(LOAD_SQL, rs -> {
+        put(new IndexedPlace(
+            rs.getObject("id", UUID.class),
+            PlaceCategory.valueOf(rs.getString("category")),
+            rs.getDouble("latitude"),
+            rs.getDouble("longitude"),
+            rs.getInt("visit_radius_meters")));
+      }));
+    }
+    cursor = applyChanges(loadedAt);
+    index.markReady();
+    deletedDuringWarmUp.clear();
+    log.info("Spatial index loaded {} places from {} in {} ms",
+        index.size(), source, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /**
+   * Reads changes made through other instances since the last poll. Until warm-up is done, the
+   * changes are replayed by {@link #warmUp()} instead.
+   */
+  @Scheduled(fixedDelayString = "${places.spatial-index.poll-interval:5s}")
+  public void pollChanges() {
+    if (index.isReady()) {
+      cursor = applyChanges(cursor);
+    }
+  }
+
+  /**
+   * Loads the index from a catalog snapshot and returns the change feed position it was taken at.
+   * Returns null, so the index is loaded from the database, when the snapshot is missing,
+   * unreadable or older than the feed's retention.
+   */
+  private ChangeCursor loadSnapshot(Path path) {
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    CatalogSnapshot snapshot;
+    try {
+      snapshot = CatalogSnapshot.open(path);
+    } catch (IOException ex) {
+      log.warn("Cannot read catalog snapshot {}, loading the spatial index from the database", path, ex);
+      return null;
+    }
+    if (snapshot.createdAt().isBefore(Instant.now().minus(changeFeedProperties.retention()))) {
+      log.warn("Catalog snapshot {} is older than the change feed retention, loading the spatial index from the database",
+          path);
+      return null;
+    }
+    for (int i = 0; i < snapshot.size(); i++) {
+      put(new IndexedPlace(
+          snapshot.id(i),
+          snapshot.category(i),
+          snapshot.latitude(i),
+          snapshot.longitude(i),
+          snapshot.visitRadiusMeters(i)));
+    }
+    return snapshot.changeCursor();
+  }
+
+  private ChangeCursor applyChanges(ChangeCursor from) {
+    ChangeCursor position = from;
+    List<PlaceChange> changes;
+    do {
+      changes = changeRepository.findAfter(position.txid(), position.seq(), CATCH_UP_BATCH_SIZE);
+      for (PlaceChange change : changes) {
+        switch (change.type()) {
+          case PLACE_CREATED -> put(toIndexedPlace(change));
+          case PLACE_DELETED -> index.remove(change.placeId());
+          default -> {
+          }
+        }
+        position = new ChangeCursor(change.txid(), change.seq());
+      }
+    } while (changes.size() == CATCH_UP_BATCH_SIZE);
+    return position;
+  }
+
+  private void put(IndexedPlace place) {
+    if (!deletedDuringWarmUp.contains(place.id())) {
+      index.put(place);
+    }
+  }
+
+  private IndexedPlace toIndexedPlace(PlaceChange change) {
+    try {
+      JsonNode place = objectMapper.readTree(change.payload());
+      return new IndexedPlace(
+          change.placeId(),
+          PlaceCategory.valueOf(place.get("category").asText()),
+          place.get("latitude").asDouble(),
+          place.get("longitude").asDouble(),
+          place.get("visitRadiusMeters").asInt());
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot read change payload of place " + change.placeId(), ex);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceCreated(PlaceCreatedEvent event) {
+    if (index.isEnabled()) {
+      index.put(IndexedPlace.of(event.place()));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlacesImported(PlacesImportedEvent event) {
+    if (index.isEnabled()) {
+      event.places().forEach(index::put);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPlaceDeleted(PlaceDeletedEvent event) {
+    if (!index.isEnabled()) {
+      return;
+    }
+    if (!index.isReady()) {
+      deletedDuringWarmUp.add(event.place().getId());
+    }
+    index.remove(event.place().getId());
+  }
+}
@@ -0,0 +1,397 @@
+package com.placemark.explorer.places.index;
+
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.geo.GeoMath;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grid-bucketed in-memory index over live places. Each place lives in the cell containing its
+ * location; queries expand the searched cells by the query radius (near) or by the largest visit
+ * radius in the catalog (tracks) and then apply exact spherical distance checks. Queries that would
+ * visit more than {@code max-cells-per-query} cells return empty so the caller falls back to PostGIS.
+ */
+@Component
+public class PlaceSpatialIndex {
+
+  public static final Comparator<UUID> ID_ORDER = Comparator
+      .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+      .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+  public static final Comparator<NearbyPlace> NEARBY_ORDER = Comparator
+      .comparingDouble(NearbyPlace::distanceMeters)
+      .thenComparing(NearbyPlace::id, ID_ORDER);
+
+  private final boolean enabled;
+  private final double cellSize;
+  private final int rows;
+  private final int columns;
+  private final int maxCellsPerQuery;
+  private final Map<Long, Map<UUID, IndexedPlace>> cells = new ConcurrentHashMap<>();
+  private final Map<UUID, IndexedPlace> places = new ConcurrentHashMap<>();
+  private final AtomicInteger maxVisitRadiusMeters = new AtomicInteger();
+  private volatile boolean ready;
+
+  public PlaceSpatialIndex(SpatialIndexProperties properties) {
+    if (properties.cellSizeDegrees() <= 0 || properties.cellSizeDegrees() > 10) {
+      throw new IllegalArgumentException("places.spatial-index.cell-size-degrees must be in (0, 10]");
+    }
+    this.enabled = properties.enabled();
+    this.cellSize = properties.cellSizeDegrees();
+    this.rows = (int) Math.ceil(180 / cellSize);
+    this.columns = (int) Math.ceil(360 / cellSize);
+    this.maxCellsPerQuery = properties.maxCellsPerQuery();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean isReady() {
+    return enabled && ready;
+  }
+
+  void markReady() {
+    ready = true;
+  }
+
+  public int size() {
+    return places.size();
+  }
+
+  public synchronized void put(IndexedPlace place) {
+    IndexedPlace previous = places.put(place.id(), place);
+    if (previous != null) {
+      removeFromCell(previous);
+    }
+    cells.compute(cellKey(place.latitude(), place.longitude()), (key, cell) -> {
+      Map<UUID, IndexedPlace> target = cell != null ? cell : new ConcurrentHashMap<>();
+      target.put(place.id(), place);
+      return target;
+    });
+    maxVisitRadiusMeters.accumulateAndGet(place.visitRadiusMeters(), Math::max);
+  }
+
+  public synchronized void remove(UUID id) {
+    IndexedPlace removed = places.remove(id);
+    if (removed != null) {
+      removeFromCell(removed);
+    }
+  }
+
+  /** IDs of the places within the radius in {@link #ID_ORDER}, or empty when the circle covers too many cells. */
+  public Optional<List<UUID>> findWithin(double latitude, double longitude, int radiusMeters, PlaceCategory category) {
+    return findNearby(latitude, longitude, radiusMeters, category).map(nearby -> {
+      List<UUID> result = new ArrayList<>();
+      for (NearbyPlace place : nearby) {
+        result.add(place.id());
+      }
+      result.sort(ID_ORDER);
+      return result;
+    });
+  }
+
+  /**
+   * Places within the radius ordered by distance, then ID, or empty when the circle covers too many
+   * cells.
+   */
+  public Optional<List<NearbyPlace>> findNearby(
+      double latitude, double longitude, int radiusMeters, PlaceCategory category) {
+    if (cellCountAround(row(latitude), radiusMeters) > maxCellsPerQuery) {
+      return Optional.empty();
+    }
+    return Optional.of(nearby(latitude, longitude, radiusMeters, category));
+  }
+
+  /**
+   * The first {@code limit} places within the radius that come after {@code after} (null for the
+   * start) in {@link #NEARBY_ORDER}, or empty when the circle covers too many cells. Only a heap of
+   * {@code limit} places is kept and sorted, not every place in the radius.
+   */
+  public Optional<List<NearbyPlace>> findNearbyAfter(
+      double latitude, double longitude, int radiusMeters, PlaceCategory category, NearbyPlace after, int limit) {
+    if (cellCountAround(row(latitude), radiusMeters) > maxCellsPerQuery) {
+      return Optional.empty();
+    }
+    PriorityQueue<NearbyPlace> best = new PriorityQueue<>(limit + 1, NEARBY_ORDER.reversed());
+    forEachNearby(latitude, longitude, radiusMeters, category, place -> {
+      if (after != null && NEARBY_ORDER.compare(place, after) <= 0) {
+        return;
+      }
+      if (best.size() < limit) {
+        best.add(place);
+      } else if (limit > 0 && NEARBY_ORDER.compare(place, best.peek()) < 0) {
+        best.poll();
+        best.add(place);
+      }
+    });
+    List<NearbyPlace> result = new ArrayList<>(best);
+    result.sort(NEARBY_ORDER);
+    return Optional.of(result);
+  }
+
+  private List<NearbyPlace> nearby(double latitude, double longitude, int radiusMeters, PlaceCategory category) {
+    List<NearbyPlace> result = new ArrayList<>();
+    forEachNearby(latitude, longitude, radiusMeters, category, result::add);
+    result.sort(NEARBY_ORDER);
+    return result;
+  }
+
+  private void forEachNearby(
+      double latitude, double longitude, int radiusMeters, PlaceCategory category, Consumer<NearbyPlace> action) {
+    anyCellAround(row(latitude), column(longitude), radiusMeters, key -> {
+      Map<UUID, IndexedPlace> cell = cells.get(key);
+      if (cell != null) {
+        for (IndexedPlace place : cell.values()) {
+          if (matches(place, category)) {
+            double distance = GeoMath.distanceMeters(latitude, longitude, place.latitude(), place.longitude());
+            if (distance <= radiusMeters) {
+              action.accept(new NearbyPlace(place.id(), distance));
+            }
+          }
+        }
+      }
+      return false;
+    });
+  }
+
+  /** The {@code k} places closest to the point, ordered by distance, then ID. */
+  public List<NearbyPlace> findNearest(double latitude, double longitude, int k, PlaceCategory category) {
+    // Grow the search radius until it holds k places; a full scan is cheaper once the radius
+    // would touch more cells than there are places.
+    double radius = cellSize * GeoMath.MIN_METERS_PER_DEGREE_LATITUDE;
+    while (radius < Math.PI * GeoMath.EARTH_RADIUS_METERS
+        && cellCountAround(row(latitude), radius) <= places.size()) {
+      List<NearbyPlace> nearby = nearby(latitude, longitude, (int) Math.min(Integer.MAX_VALUE, radius), category);
+      if (nearby.size() >= k) {
+        return nearby.subList(0, k);
+      }
+      radius *= 2;
+    }
+
+    PriorityQueue<NearbyPlace> best = new PriorityQueue<>(k + 1, NEARBY_ORDER.reversed());
+    for (IndexedPlace place : places.values()) {
+      if (matches(place, category)) {
+        best.add(new NearbyPlace(
+            place.id(), GeoMath.distanceMeters(latitude, longitude, place.latitude(), place.longitude())));
+        if (best.size() > k) {
+          best.poll();
+        }
+      }
+    }
+    List<NearbyPlace> result = new ArrayList<>(best);
+    result.sort(NEARBY_ORDER);
+    return result;
+  }
+
+  /**
+   * IDs of the places the track passes within the visit radius of, in {@link #ID_ORDER}, or empty when
+   * the track and the largest visit radius cover too many cells.
+   */
+  public Optional<List<UUID>> findIntersectingTrack(List<Point> track, PlaceCategory category) {
+    // Segments are sampled every `spacing` meters, so any segment within r of a place has a
+    // sample within r + spacing / 2 of it; searching r + spacing around the place is conservative.
+    double spacing = cellSize * GeoMath.MIN_METERS_PER_DEGREE_LATITUDE;
+    TrackSegments segments = new TrackSegments(track, spacing);
+
+    // Checking the reach around every sampled cell also bounds the per-place search in isVisited,
+    // whose radius is never larger.
+    Set<Long> candidateCells = new HashSet<>();
+    double reach = maxVisitRadiusMeters.get() + spacing;
+    for (long key : segments.byCell.keySet()) {
+      int row = (int) (key / columns);
+      if (cellCountAround(row, reach) > maxCellsPerQuery
+          || anyCellAround(row, (int) (key % columns), reach,
+              candidate -> candidateCells.add(candidate) && candidateCells.size() > maxCellsPerQuery)) {
+        return Optional.empty();
+      }
+    }
+
+    List<UUID> result = new ArrayList<>();
+    for (long key : candidateCells) {
+      Map<UUID, IndexedPlace> cell = cells.get(key);
+      if (cell == null) {
+        continue;
+      }
+      for (IndexedPlace place : cell.values()) {
+        if (matches(place, category) && isVisited(place, segments, spacing)) {
+          result.add(place.id());
+        }
+      }
+    }
+    result.sort(ID_ORDER);
+    return Optional.of(result);
+  }
+
+  private boolean isVisited(IndexedPlace place, TrackSegments segments, double spacing) {
+    int radius = place.visitRadiusMeters();
+    double latitudeSlack = GeoMath.metersToLatitudeDegrees(radius + 1);
+    double longitudeSlack = GeoMath.metersToLongitudeDegrees(radius + 1, place.latitude());
+    return anyCellAround(row(place.latitude()), column(place.longitude()), radius + spacing, key -> {
+      List<Integer> cellSegments = segments.byCell.get(key);
+      if (cellSegments == null) {
+        return false;
+      }
+      for (int segment : cellSegments) {
+        if (segments.isFar(segment, place.latitude(), place.longitude(), latitudeSlack, longitudeSlack)) {
+          continue;
+        }
+        Point a = segments.start(segment);
+        Point b = segments.end(segment);
+        double distance = GeoMath.distanceToSegmentMeters(
+            place.latitude(), place.longitude(), a.getY(), a.getX(), b.getY(), b.getX());
+        if (distance <= radius) {
+          return true;
+        }
+      }
+      return false;
+    });
+  }
+
+  private long cellCountAround(int row, double radiusMeters) {
+    long rowCount = Math.min(rows, 2L * rowReach(radiusMeters) + 1);
+    long columnCount = Math.min(columns, 2L * columnReach(row, radiusMeters) + 1);
+    return rowCount * columnCount;
+  }
+
+  private boolean anyCellAround(int row, int column, double radiusMeters, LongPredicate predicate) {
+    int rowReach = rowReach(radiusMeters);
+    int columnReach = columnReach(row, radiusMeters);
+    boolean allColumns = 2L * columnReach + 1 >= columns;
+
+    for (int r = Math.max(0, row - rowReach); r <= Math.min(rows - 1, row + rowReach); r++) {
+      int from = allColumns ? 0 : column - columnReach;
+      int to = allColumns ? columns - 1 : column + columnReach;
+      for (int c = from; c <= to; c++) {
+        if (predicate.test((long) r * columns + Math.floorMod(c, columns))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private int rowReach(double radiusMeters) {
+    return (int) Math.min(rows, Math.ceil(GeoMath.metersToLatitudeDegrees(radiusMeters) / cellSize));
+  }
+
+  private int columnReach(int row, double radiusMeters) {
+    double south = row * cellSize - 90;
+    double maxAbsLatitude = Math.max(Math.abs(south), Math.abs(south + cellSize));
+    return (int) Math.min(columns, Math.ceil(GeoMath.metersToLongitudeDegrees(radiusMeters, maxAbsLatitude) / cellSize));
+  }
+
+  private void removeFromCell(IndexedPlace place) {
+    cells.computeIfPresent(cellKey(place.latitude(), place.longitude()), (key, cell) -> {
+      cell.remove(place.id());
+      return cell.isEmpty() ? null : cell;
+    });
+  }
+
+  private long cellKey(double latitude, double longitude) {
+    return (long) row(latitude) * columns + column(longitude);
+  }
+
+  private int row(double latitude) {
+    return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSize)));
+  }
+
+  private int column(double longitude) {
+    return Math.floorMod((int) Math.floor((longitude + 180) / cellSize), columns);
+  }
+
+  private static boolean matches(IndexedPlace place, PlaceCategory category) {
+    return category == null || place.category() == category;
+  }
+
+  private final class TrackSegments {
+
+    private final List<Point> track;
+    private final Map<Long, List<Integer>> byCell = new HashMap<>();
+    // Per-segment bounding boxes built from the samples; longitudes are unwrapped around the segment start.
+    private final double[] south;
+    private final double[] north;
+    private final double[] west;
+    private final double[] east;
+
+    private TrackSegments(List<Point> track, double spacing) {
+      this.track = track;
+      int count = Math.max(1, track.size() - 1);
+      south = new double[count];
+      north = new double[count];
+      west = new double[count];
+      east = new double[count];
+
+      for (int segment = 0; segment < count; segment++) {
+        Point a = start(segment);
+        Point b = end(segment);
+        double length = GeoMath.distanceMeters(a.getY(), a.getX(), b.getY(), b.getX());
+        int samples = (int) Math.ceil(length / spacing);
+        south[segment] = a.getY();
+        north[segment] = a.getY();
+        west[segment] = a.getX();
+        east[segment] = a.getX();
+        for (int i = 0; i <= samples; i++) {
+          double[] sample = samples == 0
+              ? new double[] {a.getY(), a.getX()}
+              : GeoMath.interpolate(a.getY(), a.getX(), b.getY(), b.getX(), (double) i / samples);
+          double longitude = unwrap(sample[1], a.getX());
+          south[segment] = Math.min(south[segment], sample[0]);
+          north[segment] = Math.max(north[segment], sample[0]);
+          west[segment] = Math.min(west[segment], longitude);
+          east[segment] = Math.max(east[segment], longitude);
+
+          List<Integer> cellSegments =
+              byCell.computeIfAbsent(cellKey(sample[0], sample[1]), key -> new ArrayList<>());
+          if (cellSegments.isEmpty() || cellSegments.get(cellSegments.size() - 1) != segment) {
+            cellSegments.add(segment);
+          }
+        }
+      }
+    }
+
+    private Point start(int segment) {
+      return track.get(segment);
+    }
+
+    private Point end(int segment) {
+      return track.get(Math.min(segment + 1, track.size() - 1));
+    }
+
+    private boolean isFar(
+        int segment, double latitude, double longitude, double latitudeSlack, double longitudeSlack) {
+      if (latitude < south[segment] - latitudeSlack || latitude > north[segment] + latitudeSlack) {
+        return true;
+      }
+      double maxAbsLatitude = Math.max(Math.abs(south[segment]), Math.abs(north[segment]));
+      if (longitudeSlack >= 180 || maxAbsLatitude + latitudeSlack >= 89) {
+        return false;
+      }
+      double unwrapped = unwrap(longitude, start(segment).getX());
+      return unwrapped < west[segment] - longitudeSlack || unwrapped > east[segment] + longitudeSlack;
+    }
+
+    private static double unwrap(double longitude, double reference) {
+      double delta = longitude - reference;
+      if (delta > 180) {
+        return longitude - 360;
+      }
+      return delta < -180 ? longitude + 360 : longitude;
+    }
+  }
+}
@@ -2,15 +2,22 @@ package com.placemark.explorer.places.mapper;
 
 import com.placemark.explorer.places.domain.Place;
 import com.placemark.explorer.places.domain.PlaceGroup;
+import com.placemark.explorer.places.domain.PlaceImportJob;
 import com.placemark.explorer.places.dto.group.PlaceGroupResponse;
+import com.placemark.explorer.places.dto.importing.PlaceImportJobResponse;
 import com.placemark.explorer.places.dto.place.PlaceResponse;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PlaceMapper {
 
-  public PlaceResponse toResponse(Place place) {
+  public PlaceResponse toResponse(Place place, Set<UUID> groupIds) {
     return new PlaceResponse(
         place.getId(),
         place.getName(),
@@ -19,18 +26,42 @@ public class PlaceMapper {
         place.getLocation().getY(),
         place.getLocation().getX(),
         place.getVisitRadiusMeters(),
-        place.getGroups().stream().map(PlaceGroup::getId).collect(Collectors.toSet()),
+        groupIds,
         place.getCreatedAt(),
         place.getUpdatedAt());
   }
 
+  public List<PlaceResponse> toResponses(List<Place> places, Map<UUID, Set<UUID>> groupIdsByPlace) {
+    return places.stream()
+        .map(place -> toResponse(place, groupIdsByPlace.getOrDefault(place.getId(), Set.of())))
+        .toList();
+  }
+
   public PlaceGroupResponse toResponse(PlaceGroup group) {
     return new PlaceGroupResponse(
         group.getId(),
         group.getName(),
         group.getDescription(),
-        group.getPlaces().stream().map(Place::getId).collect(Collectors.toSet()),
+        group.getPlaceCount(),
         group.getCreatedAt(),
         group.getUpdatedAt());
   }
+
+  public PlaceImportJobResponse toResponse(PlaceImportJob job) {
+    Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+    long millis = Duration.between(job.getRunStartedAt(), end).toMillis();
+    return new PlaceImportJobResponse(
+        job.getId(),
+        job.getSource(),
+        job.getFormat(),
+        job.getStatus(),
+        job.getRowsRead(),
+        job.getRowsImported(),
+        job.getRowsRejected(),
+        millis > 0 ? (job.getRowsRead() - job.getRunStartOffset()) * 1000.0 / millis : 0,
+        job.getError(),
+        job.getCreatedAt(),
+        job.getUpdatedAt(),
+        job.getFinishedAt());
+  }
 }
@@ -0,0 +1,58 @@
+package com.placemark.explorer.places.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Request-level measurements that Spring does not record on its own: time spent mapping entities
+ * to responses (as a {@code places.mapping} observation, so it shows up as its own span next to the
+ * service and JDBC spans) and the distributions of result sizes and track lengths. Everything is
+ * tagged with the matched URI pattern, the same value {@code http.server.requests} uses.
+ */
+@Component
+public class PlaceMetrics {
+
+  private final ObservationRegistry observationRegistry;
+  private final MeterRegistry meterRegistry;
+
+  public PlaceMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+    this.observationRegistry = observationRegistry;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public <T> T observeMapping(int size, Supplier<T> mapping) {
+    String endpoint = endpoint();
+    summary("places.result.size", "Places returned per response", endpoint).record(size);
+    return Observation.createNotStarted("places.mapping", observationRegistry)
+        .contextualName("map-places")
+        .lowCardinalityKeyValue("uri", endpoint)
+        .observe(mapping);
+  }
+
+  public void recordTrackPoints(int points) {
+    summary("places.track.points", "GPS points per submitted track", endpoint()).record(points);
+  }
+
+  private DistributionSummary summary(String name, String description, String endpoint) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .tag("uri", endpoint)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static String endpoint() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    Object pattern = attributes != null
+        ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+        : null;
+    return pattern != null ? pattern.toString() : "none";
+  }
+}
@@ -0,0 +1,14 @@
+package com.placemark.explorer.places.repository;
+
+import com.placemark.explorer.places.domain.ChangeType;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PlaceChange(
+    long txid,
+    long seq,
+    ChangeType type,
+    UUID placeId,
+    UUID groupId,
+    String payload,
+    Instant createdAt) {}
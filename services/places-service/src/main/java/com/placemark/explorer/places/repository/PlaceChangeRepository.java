@@ -0,0 +1,118 @@
+package com.placemark.explorer.places.repository;
+
+import com.placemark.explorer.places.domain.ChangeType;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Writes and reads the {@code place_change_events} outbox. Writes join the caller's transaction;
+ * place and group snapshots are taken from the rows themselves, so pending JPA changes must be
+ * flushed first.
+ */
+@Repository
+public class PlaceChangeRepository {
+
+  private static final String RECORD_PLACES_CREATED_SQL = """
+      INSERT INTO place_change_events (change_type, place_id, payload)
+      SELECT 'PLACE_CREATED', p.id, jsonb_build_object(
+               'id', p.id,
+               'name', p.name,
+               'description', p.description,
+               'category', p.category,
+               'latitude', ST_Y(p.location::geometry),
+               'longitude', ST_X(p.location::geometry),
+               'visitRadiusMeters', p.visit_radius_meters,
+               'createdAt', p.created_at)
+      FROM places p
+      WHERE p.id = ANY(?)
+      """;
+
+  private static final String RECORD_GROUP_CREATED_SQL = """
+      INSERT INTO place_change_events (change_type, group_id, payload)
+      SELECT 'GROUP_CREATED', g.id, jsonb_build_object(
+               'id', g.id,
+               'name', g.name,
+               'description', g.description,
+               'createdAt', g.created_at)
+      FROM place_groups g
+      WHERE g.id = ?
+      """;
+
+  private static final String RECORD_SQL =
+      "INSERT INTO place_change_events (change_type, place_id, group_id) VALUES (?, ?, ?)";
+
+  private static final String FIND_AFTER_SQL = """
+      SELECT CAST(CAST(e.txid AS text) AS bigint) AS txid,
+             e.seq,
+             e.change_type,
+             e.place_id,
+             e.group_id,
+             CAST(e.payload AS text) AS payload,
+             e.created_at
+      FROM place_change_events e
+      WHERE (e.txid, e.seq) > (CAST(CAST(? AS text) AS xid8), ?)
+        AND e.txid < pg_snapshot_xmin(pg_current_snapshot())
+      ORDER BY e.txid, e.seq
+      LIMIT ?
+      """;
+
+  private static final String HORIZON_SQL =
+      "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)";
+
+  private static final String TRIM_SQL = """
+      DELETE FROM place_change_events
+      WHERE ctid IN (
+        SELECT ctid FROM place_change_events WHERE created_at < ? LIMIT ?
+      )
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PlaceChangeRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void recordPlacesCreated(Collection<UUID> placeIds) {
+    jdbcTemplate.update(connection -> {
+      PreparedStatement statement = connection.prepareStatement(RECORD_PLACES_CREATED_SQL);
+      statement.setArray(1, connection.createArrayOf("uuid", placeIds.toArray(UUID[]::new)));
+      return statement;
+    });
+  }
+
+  public void recordGroupCreated(UUID groupId) {
+    jdbcTemplate.update(RECORD_GROUP_CREATED_SQL, groupId);
+  }
+
+  public void record(ChangeType type, UUID placeId, UUID groupId) {
+    jdbcTemplate.update(RECORD_SQL, type.name(), placeId, groupId);
+  }
+
+  public List<PlaceChange> findAfter(long txid, long seq, int limit) {
+    return jdbcTemplate.query(FIND_AFTER_SQL, (rs, rowNum) -> new PlaceChange(
+        rs.getLong("txid"),
+        rs.getLong("seq"),
+        ChangeType.valueOf(rs.getString("change_type")),
+        rs.getObject("place_id", UUID.class),
+        rs.getObject("group_id", UUID.class),
+        rs.getString("payload"),
+        rs.getTimestamp("created_at").toInstant()), Long.toString(txid), seq, limit);
+  }
+
+  /**
+   * Transaction ID below which every transaction has finished. A reader that loads the catalog
+   * afterwards and then reads the feed from this position misses no change.
+   */
+  public long findHorizon() {
+    return jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+  }
+
+  public int trimOlderThan(Timestamp cutoff, int limit) {
+    return jdbcTemplate.update(TRIM_SQL, cutoff, limit);
+  }
+}
@@ -0,0 +1,65 @@
+package com.placemark.explorer.places.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Estimates the size of spatial result sets from the PostgreSQL planner ({@code EXPLAIN}, which
+ * uses the PostGIS selectivity statistics) instead of evaluating the predicate on every row.
+ */
+@Repository
+public class PlaceCountEstimator {
+
+  private static final String PLACES_NEAR_SQL = """
+      EXPLAIN (FORMAT JSON)
+      SELECT p.id
+      FROM places p
+      WHERE p.deleted = false
+        AND (CAST(? AS VARCHAR) IS NULL OR p.category = CAST(? AS VARCHAR))
+        AND ST_DWithin(
+          p.location,
+          ST_SetSRID(ST_MakePoint(CAST(? AS float8), CAST(? AS float8)), 4326)::geography,
+          CAST(? AS float8)
+        )
+      """;
+
+  private static final String PLACES_INTERSECTING_TRACK_SQL = """
+      EXPLAIN (FORMAT JSON)
+      SELECT p.id
+      FROM places p
+      CROSS JOIN (SELECT ST_Segmentize(ST_GeogFromText(CAST(? AS text)), 1000)::geometry AS geom) t
+      WHERE p.deleted = false
+        AND (CAST(? AS VARCHAR) IS NULL OR p.category = CAST(? AS VARCHAR))
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, ST_Translate(t.geom, 360, 0))
+          OR ST_Intersects(p.visit_envelope, ST_Translate(t.geom, -360, 0)))
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public PlaceCountEstimator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  public long estimatePlacesNear(double lat, double lon, int radiusMeters, String category) {
+    return planRows(jdbcTemplate.queryForObject(
+        PLACES_NEAR_SQL, String.class, category, category, lon, lat, radiusMeters));
+  }
+
+  public long estimatePlacesIntersectingTrack(String trackWkt, String category) {
+    return planRows(jdbcTemplate.queryForObject(
+        PLACES_INTERSECTING_TRACK_SQL, String.class, trackWkt, category, category));
+  }
+
+  private long planRows(String plan) {
+    try {
+      return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot read query plan", ex);
+    }
+  }
+}
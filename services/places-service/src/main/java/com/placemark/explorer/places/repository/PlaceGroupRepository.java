@@ -1,7 +1,80 @@
 package com.placemark.explorer.places.repository;
 
 import com.placemark.explorer.places.domain.PlaceGroup;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PlaceGroupRepository extends JpaRepository<PlaceGroup, UUID> {}
+public interface PlaceGroupRepository extends JpaRepository<PlaceGroup, UUID> {
+
+  @Query(
+      value = """
+      SELECT m.place_id
+      FROM place_group_membership m
+      JOIN places p ON p.id = m.place_id
+      WHERE m.group_id = :groupId
+        AND p.deleted = false
+      """,
+      nativeQuery = true)
+  List<UUID> findPlaceIds(@Param("groupId") UUID groupId);
+
+  // Adds the membership and counts it in one statement, only while both the place and the group are
+  // live. The row locks make a concurrent delete of either wait for this transaction, after which
+  // its count adjustment sees the membership, or make this statement wait for the delete and then
+  // find the row deleted and add nothing. Returns 1 when the membership was added.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = """
+      WITH place AS (
+        SELECT p.id FROM places p
+        WHERE p.region = :region AND p.id = :placeId AND p.deleted = false
+        FOR SHARE
+      ),
+      grp AS (
+        SELECT g.id FROM place_groups g
+        WHERE g.id = :groupId AND g.deleted = false
+        FOR NO KEY UPDATE
+      ),
+      added AS (
+        INSERT INTO place_group_membership (place_id, group_id)
+        SELECT place.id, grp.id FROM place, grp
+        ON CONFLICT DO NOTHING
+        RETURNING group_id
+      )
+      UPDATE place_groups g
+      SET place_count = g.place_count + 1
+      FROM added a
+      WHERE g.id = a.group_id
+      """,
+      nativeQuery = true)
+  int addMembership(@Param("groupId") UUID groupId, @Param("placeId") UUID placeId, @Param("region") String region);
+
+  @Modifying
+  @Query(
+      value = "DELETE FROM place_group_membership WHERE group_id = :groupId AND place_id = :placeId",
+      nativeQuery = true)
+  int deleteMembership(@Param("groupId") UUID groupId, @Param("placeId") UUID placeId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = "UPDATE place_groups SET place_count = place_count + :delta WHERE id = :groupId",
+      nativeQuery = true)
+  int adjustPlaceCount(@Param("groupId") UUID groupId, @Param("delta") int delta);
+
+  // Deleted groups keep the count they had when they were deleted.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = """
+      UPDATE place_groups g
+      SET place_count = g.place_count - 1
+      FROM place_group_membership m
+      WHERE m.group_id = g.id
+        AND m.place_id = :placeId
+        AND g.deleted = false
+      """,
+      nativeQuery = true)
+  int decrementPlaceCountsOf(@Param("placeId") UUID placeId);
+}
@@ -0,0 +1,30 @@
+package com.placemark.explorer.places.repository;
+
+import com.placemark.explorer.places.domain.PlaceImportJob;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PlaceImportJobRepository extends JpaRepository<PlaceImportJob, UUID> {
+
+  // Conditional transition: of two concurrent resumes only one matches the row. A RUNNING job is
+  // taken over only when it has not committed a batch since `staleBefore`, i.e. its run died.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = """
+      UPDATE place_import_jobs
+      SET status = 'RUNNING',
+          error = NULL,
+          finished_at = NULL,
+          run_started_at = NOW(),
+          run_start_offset = rows_read,
+          updated_at = NOW()
+      WHERE id = :id
+        AND (status = 'FAILED' OR (status = 'RUNNING' AND updated_at < :staleBefore))
+      """,
+      nativeQuery = true)
+  int claimForResume(@Param("id") UUID id, @Param("staleBefore") Instant staleBefore);
+}
@@ -2,32 +2,66 @@ package com.placemark.explorer.places.repository;
 
 import com.placemark.explorer.places.domain.Place;
 import com.placemark.explorer.places.domain.PlaceCategory;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface PlaceRepository extends JpaRepository<Place, UUID> {
 
+  // Conditional on the live flag: of two concurrent deletes only one updates the row, the other
+  // waits for its lock, re-reads the row and updates nothing.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = """
+      UPDATE places
+      SET deleted = true, deleted_at = NOW()
+      WHERE region = :region
+        AND id = :id
+        AND deleted = false
+      """,
+      nativeQuery = true)
+  int softDelete(@Param("region") String region, @Param("id") UUID id);
+
+  // `:regions` is a `{u,g}` array literal of the partitions to visit (see GeoRegions), null for all.
+  // Near and track pages are ordered by ID, like the spatial index and tile cache answers, so OFFSET
+  // pages neither repeat nor skip places and do not depend on which path served them.
   @Query(
       value = """
       SELECT p.*
       FROM places p
       WHERE p.deleted = false
         AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
         AND ST_DWithin(
           p.location,
           ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography,
           :radiusMeters
         )
+      ORDER BY p.id
       """,
-      countQuery = """
+      nativeQuery = true)
+  Slice<Place> findPlacesNear(
+      @Param("lat") double lat,
+      @Param("lon") double lon,
+      @Param("radiusMeters") int radiusMeters,
+      @Param("category") String category,
+      @Param("regions") String regions,
+      Pageable pageable);
+
+  @Query(
+      value = """
       SELECT COUNT(*)
       FROM places p
       WHERE p.deleted = false
         AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
         AND ST_DWithin(
           p.location,
           ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography,
@@ -35,41 +69,353 @@ public interface PlaceRepository extends JpaRepository<Place, UUID> {
         )
       """,
       nativeQuery = true)
-  Page<Place> findPlacesNear(
+  long countPlacesNear(
       @Param("lat") double lat,
       @Param("lon") double lon,
       @Param("radiusMeters") int radiusMeters,
       @Param("category") String category,
+      @Param("regions") String regions);
+
+  // Track queries find candidates through the visit_envelope index: the track is densified to
+  // 1 km segments so its planar lon/lat shape stays within a metre of the geodesic, then the
+  // exact per-place ST_DWithin runs only on places whose envelope the track touches. Envelopes near
+  // the antimeridian extend past +/-180, so the track is also tested shifted by 360 degrees each way.
+  @Query(
+      value = """
+      WITH track AS MATERIALIZED (
+        SELECT s.geog, s.geom, ST_Translate(s.geom, 360, 0) AS geom_east, ST_Translate(s.geom, -360, 0) AS geom_west
+        FROM (
+          SELECT ST_GeogFromText(:trackWkt) AS geog,
+                 ST_Segmentize(ST_GeogFromText(:trackWkt), 1000)::geometry AS geom
+        ) s
+      )
+      SELECT p.*
+      FROM track t
+      JOIN places p
+        ON p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, t.geom_east)
+          OR ST_Intersects(p.visit_envelope, t.geom_west))
+        AND ST_DWithin(p.location, t.geog, p.visit_radius_meters)
+      ORDER BY p.id
+      """,
+      nativeQuery = true)
+  Slice<Place> findPlacesIntersectingTrack(
+      @Param("trackWkt") String trackWkt,
+      @Param("category") String category,
+      @Param("regions") String regions,
       Pageable pageable);
 
   @Query(
       value = """
-      SELECT DISTINCT p.*
+      WITH track AS MATERIALIZED (
+        SELECT s.geog, s.geom, ST_Translate(s.geom, 360, 0) AS geom_east, ST_Translate(s.geom, -360, 0) AS geom_west
+        FROM (
+          SELECT ST_GeogFromText(:trackWkt) AS geog,
+                 ST_Segmentize(ST_GeogFromText(:trackWkt), 1000)::geometry AS geom
+        ) s
+      )
+      SELECT COUNT(*)
+      FROM track t
+      JOIN places p
+        ON p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, t.geom_east)
+          OR ST_Intersects(p.visit_envelope, t.geom_west))
+        AND ST_DWithin(p.location, t.geog, p.visit_radius_meters)
+      """,
+      nativeQuery = true)
+  long countPlacesIntersectingTrack(
+      @Param("trackWkt") String trackWkt,
+      @Param("category") String category,
+      @Param("regions") String regions);
+
+  @Query(
+      value = """
+      WITH track AS MATERIALIZED (
+        SELECT s.geog, s.geom, ST_Translate(s.geom, 360, 0) AS geom_east, ST_Translate(s.geom, -360, 0) AS geom_west
+        FROM (
+          SELECT ST_GeogFromText(:trackWkt) AS geog,
+                 ST_Segmentize(ST_GeogFromText(:trackWkt), 1000)::geometry AS geom
+        ) s
+      )
+      SELECT p.id
+      FROM track t
+      JOIN places p
+        ON p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, t.geom_east)
+          OR ST_Intersects(p.visit_envelope, t.geom_west))
+        AND ST_DWithin(p.location, t.geog, p.visit_radius_meters)
+      """,
+      nativeQuery = true)
+  List<UUID> findPlaceIdsIntersectingTrack(
+      @Param("trackWkt") String trackWkt,
+      @Param("category") String category,
+      @Param("regions") String regions);
+
+  @Query(
+      value = """
+      WITH tracks AS MATERIALIZED (
+        SELECT s.track_id, s.geog, s.geom,
+               ST_Translate(s.geom, 360, 0) AS geom_east, ST_Translate(s.geom, -360, 0) AS geom_west
+        FROM (
+          SELECT r.track_id,
+                 ST_GeogFromText(r.wkt) AS geog,
+                 ST_Segmentize(ST_GeogFromText(r.wkt), 1000)::geometry AS geom
+          FROM jsonb_to_recordset(CAST(:tracks AS jsonb)) AS r(track_id TEXT, wkt TEXT)
+        ) s
+      )
+      SELECT t.track_id AS "trackId", p.id AS "placeId"
+      FROM tracks t
+      JOIN places p
+        ON p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, t.geom_east)
+          OR ST_Intersects(p.visit_envelope, t.geom_west))
+        AND ST_DWithin(p.location, t.geog, p.visit_radius_meters)
+      """,
+      nativeQuery = true)
+  List<TrackMatch> findPlacesIntersectingTracks(
+      @Param("tracks") String tracksJson,
+      @Param("category") String category,
+      @Param("regions") String regions);
+
+  @Query(
+      value = """
+      SELECT p.*
       FROM places p
       WHERE p.deleted = false
         AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
-        AND ST_DWithin(
-          p.location,
-          ST_GeogFromText(:trackWkt),
-          p.visit_radius_meters
-        )
+        AND p.id > CAST(:afterId AS uuid)
+      ORDER BY p.id
+      """,
+      nativeQuery = true)
+  List<Place> findPlacesAfter(
+      @Param("category") String category,
+      @Param("afterId") String afterId,
+      Pageable pageable);
+
+  @Query(
+      value = """
+      SELECT d.id AS "id", d.distance AS "distanceMeters"
+      FROM (
+        SELECT p.id,
+               ST_Distance(p.location, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography) AS distance
+        FROM places p
+        WHERE p.deleted = false
+          AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+          AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+          AND ST_DWithin(
+            p.location,
+            ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography,
+            :radiusMeters
+          )
+      ) d
+      WHERE (d.distance, d.id) > (:afterDistance, CAST(:afterId AS uuid))
+      ORDER BY d.distance, d.id
+      """,
+      nativeQuery = true)
+  List<PlaceDistance> findPlaceDistancesNearAfter(
+      @Param("lat") double lat,
+      @Param("lon") double lon,
+      @Param("radiusMeters") int radiusMeters,
+      @Param("category") String category,
+      @Param("regions") String regions,
+      @Param("afterDistance") double afterDistance,
+      @Param("afterId") String afterId,
+      Pageable pageable);
+
+  @Query(
+      value = """
+      WITH track AS MATERIALIZED (
+        SELECT s.geog, s.geom, ST_Translate(s.geom, 360, 0) AS geom_east, ST_Translate(s.geom, -360, 0) AS geom_west
+        FROM (
+          SELECT ST_GeogFromText(:trackWkt) AS geog,
+                 ST_Segmentize(ST_GeogFromText(:trackWkt), 1000)::geometry AS geom
+        ) s
+      )
+      SELECT p.id
+      FROM track t
+      JOIN places p
+        ON p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND (:regions IS NULL OR p.region = ANY(CAST(:regions AS TEXT[])))
+        AND p.id > CAST(:afterId AS uuid)
+        AND (ST_Intersects(p.visit_envelope, t.geom)
+          OR ST_Intersects(p.visit_envelope, t.geom_east)
+          OR ST_Intersects(p.visit_envelope, t.geom_west))
+        AND ST_DWithin(p.location, t.geog, p.visit_radius_meters)
+      ORDER BY p.id
       """,
-      countQuery = """
-      SELECT COUNT(DISTINCT p.id)
+      nativeQuery = true)
+  List<UUID> findPlaceIdsIntersectingTrackAfter(
+      @Param("trackWkt") String trackWkt,
+      @Param("category") String category,
+      @Param("regions") String regions,
+      @Param("afterId") String afterId,
+      Pageable pageable);
+
+  // `<->` lets the GIST index return rows in distance order, so only the first k are visited.
+  @Query(
+      value = """
+      SELECT p.id AS "id",
+             ST_Distance(p.location, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography) AS "distanceMeters"
       FROM places p
       WHERE p.deleted = false
         AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
-        AND ST_DWithin(
-          p.location,
-          ST_GeogFromText(:trackWkt),
-          p.visit_radius_meters
-        )
+      ORDER BY p.location <-> ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography
       """,
       nativeQuery = true)
-  Page<Place> findPlacesIntersectingTrack(
-      @Param("trackWkt") String trackWkt,
+  List<PlaceDistance> findNearestPlaces(
+      @Param("lat") double lat,
+      @Param("lon") double lon,
       @Param("category") String category,
       Pageable pageable);
 
+  @Query(
+      value = """
+      WITH bounds AS (SELECT ST_TileEnvelope(:z, :x, :y) AS geom)
+      SELECT ST_AsMVT(t, 'places', 4096, 'geom')
+      FROM (
+        SELECT ST_AsMVTGeom(place_mercator(p.location), b.geom, 4096, 64, true) AS geom,
+               p.id::text AS id,
+               p.name,
+               p.category,
+               p.visit_radius_meters,
+               1 AS point_count
+        FROM places p, bounds b
+        WHERE p.deleted = false
+          AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+          AND place_mercator(p.location) && ST_TileEnvelope(:z, :x, :y, margin => 0.015625)
+      ) t
+      """,
+      nativeQuery = true)
+  byte[] findTilePoints(
+      @Param("z") int z,
+      @Param("x") int x,
+      @Param("y") int y,
+      @Param("category") String category);
+
+  // Identifies the live places a tile is rendered from, without rendering it: any create or delete
+  // changes the count or the ID hash sum, any edit the latest update time. Covers the buffered
+  // envelope of findTilePoints, which contains the one findTileClusters reads.
+  @Query(
+      value = """
+      SELECT COUNT(*) || ':' || COALESCE(SUM(hashtext(p.id::text)), 0) || ':'
+             || COALESCE(CAST(EXTRACT(EPOCH FROM MAX(p.updated_at)) AS text), '')
+      FROM places p
+      WHERE p.deleted = false
+        AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+        AND place_mercator(p.location) && ST_TileEnvelope(:z, :x, :y, margin => 0.015625)
+      """,
+      nativeQuery = true)
+  String findTileFingerprint(
+      @Param("z") int z,
+      @Param("x") int x,
+      @Param("y") int y,
+      @Param("category") String category);
+
+  // Points are grouped on a grid of gridSize x gridSize cells per tile, aligned to tile edges.
+  @Query(
+      value = """
+      WITH bounds AS (
+        SELECT ST_TileEnvelope(:z, :x, :y) AS geom,
+               (ST_XMax(ST_TileEnvelope(:z, :x, :y)) - ST_XMin(ST_TileEnvelope(:z, :x, :y))) / :gridSize AS cell
+      ),
+      clusters AS (
+        SELECT ST_Centroid(ST_Collect(place_mercator(p.location))) AS geom,
+               COUNT(*) AS point_count,
+               CASE WHEN COUNT(*) = 1 THEN MIN(p.id::text) END AS id,
+               CASE WHEN COUNT(*) = 1 THEN MIN(p.name) END AS name,
+               CASE WHEN COUNT(DISTINCT p.category) = 1 THEN MIN(p.category) END AS category
+        FROM places p, bounds b
+        WHERE p.deleted = false
+          AND (:category IS NULL OR p.category = CAST(:category AS VARCHAR))
+          AND place_mercator(p.location) && b.geom
+        GROUP BY ST_SnapToGrid(place_mercator(p.location), b.cell)
+      )
+      SELECT ST_AsMVT(t, 'places', 4096, 'geom')
+      FROM (
+        SELECT ST_AsMVTGeom(c.geom, b.geom, 4096, 64, true) AS geom, c.id, c.name, c.category, c.point_count
+        FROM clusters c, bounds b
+      ) t
+      """,
+      nativeQuery = true)
+  byte[] findTileClusters(
+      @Param("z") int z,
+      @Param("x") int x,
+      @Param("y") int y,
+      @Param("category") String category,
+      @Param("gridSize") int gridSize);
+
+  // The && prefilter uses the GIST index; the floor() terms assign each place to exactly the tile
+  // NearbyTileCache computes for it.
+  @Query(
+      value = """
+      SELECT p.id,
+             p.category,
+             ST_Y(p.location::geometry) AS latitude,
+             ST_X(p.location::geometry) AS longitude,
+             p.visit_radius_meters AS "visitRadiusMeters"
+      FROM places p
+      WHERE p.deleted = false
+        AND p.location && ST_MakeEnvelope(:west, :south, :east, :north, 4326)::geography
+        AND LEAST(FLOOR((ST_Y(p.location::geometry) + 90) / :tileSize), :rows - 1) = :row
+        AND MOD(CAST(FLOOR((ST_X(p.location::geometry) + 180) / :tileSize) AS BIGINT), :columns) = :column
+      """,
+      nativeQuery = true)
+  List<TilePlace> findTilePlaces(
+      @Param("west") double west,
+      @Param("south") double south,
+      @Param("east") double east,
+      @Param("north") double north,
+      @Param("tileSize") double tileSize,
+      @Param("rows") int rows,
+      @Param("columns") int columns,
+      @Param("row") int row,
+      @Param("column") int column);
+
+  @Query(value = "SELECT MIN(p.visit_radius_meters) FROM places p WHERE p.deleted = false", nativeQuery = true)
+  Integer findMinVisitRadiusMeters();
+
+  @Query(value = "SELECT MAX(p.visit_radius_meters) FROM places p WHERE p.deleted = false", nativeQuery = true)
+  Integer findMaxVisitRadiusMeters();
+
+  @Query(
+      value = """
+      SELECT p.*
+      FROM place_group_membership m
+      JOIN places p ON p.id = m.place_id
+      WHERE m.group_id = :groupId
+        AND p.deleted = false
+        AND m.place_id > CAST(:afterId AS uuid)
+      ORDER BY m.place_id
+      """,
+      nativeQuery = true)
+  List<Place> findGroupPlacesAfter(
+      @Param("groupId") UUID groupId,
+      @Param("afterId") String afterId,
+      Pageable pageable);
+
+  @Query(
+      value = """
+      SELECT m.place_id AS "placeId", m.group_id AS "groupId"
+      FROM place_group_membership m
+      JOIN place_groups g ON g.id = m.group_id
+      WHERE m.place_id IN (:placeIds)
+        AND g.deleted = false
+      """,
+      nativeQuery = true)
+  List<GroupMembership> findGroupMemberships(@Param("placeIds") Collection<UUID> placeIds);
+
   Page<Place> findByCategory(PlaceCategory category, Pageable pageable);
 }
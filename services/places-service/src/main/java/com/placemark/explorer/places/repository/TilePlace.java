@@ -0,0 +1,15 @@
+package com.placemark.explorer.places.repository;
+
+import java.util.UUID;
+
+public interface TilePlace {
+  UUID getId();
+
+  String getCategory();
+
+  double getLatitude();
+
+  double getLongitude();
+
+  int getVisitRadiusMeters();
+}
@@ -0,0 +1,9 @@
+package com.placemark.explorer.places.repository;
+
+import java.util.UUID;
+
+public interface TrackMatch {
+  String getTrackId();
+
+  UUID getPlaceId();
+}
@@ -0,0 +1,8 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.domain.Place;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record BatchTrackMatches(Map<String, List<UUID>> placeIdsByTrack, List<Place> places) {}
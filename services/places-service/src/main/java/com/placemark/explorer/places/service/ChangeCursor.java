@@ -0,0 +1,34 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Position in the change feed: transaction ID and sequence of the last returned change. */
+public record ChangeCursor(long txid, long seq) {
+
+  static final ChangeCursor START = new ChangeCursor(0, 0);
+
+  public String encode() {
+    String raw = txid + ":" + seq;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static ChangeCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return START;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(':');
+      long txid = Long.parseLong(raw.substring(0, separator));
+      long seq = Long.parseLong(raw.substring(separator + 1));
+      if (txid < 0 || seq < 0) {
+        throw new IllegalArgumentException("negative position");
+      }
+      return new ChangeCursor(txid, seq);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.config.ChangeFeedProperties;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the outbox written by catalog mutations. A consumer applies the returned changes in order
+ * and keeps the cursor; changes older than {@code places.changes.retention} are trimmed, so a
+ * consumer that falls further behind has to resync from the list endpoints.
+ */
+@Service
+public class ChangeFeedService {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+  private static final int FOLLOW_BATCH_SIZE = 1000;
+
+  private final PlaceChangeRepository changeRepository;
+  private final ChangeFeedProperties properties;
+
+  public ChangeFeedService(PlaceChangeRepository changeRepository, ChangeFeedProperties properties) {
+    this.changeRepository = changeRepository;
+    this.properties = properties;
+  }
+
+  public List<PlaceChange> readChanges(ChangeCursor after, int limit) {
+    return changeRepository.findAfter(after.txid(), after.seq(), limit);
+  }
+
+  /**
+   * Position from which the feed holds every change that may commit from now on, for a consumer
+   * that starts from the current state of the catalog.
+   */
+  public ChangeCursor head() {
+    return new ChangeCursor(changeRepository.findHorizon(), 0);
+  }
+
+  /** Passes every change after {@code after} to {@code consumer} in order and returns the position reached. */
+  public ChangeCursor follow(ChangeCursor after, Consumer<PlaceChange> consumer) {
+    ChangeCursor position = after;
+    List<PlaceChange> changes;
+    do {
+      changes = readChanges(position, FOLLOW_BATCH_SIZE);
+      for (PlaceChange change : changes) {
+        consumer.accept(change);
+        position = new ChangeCursor(change.txid(), change.seq());
+      }
+    } while (changes.size() == FOLLOW_BATCH_SIZE);
+    return position;
+  }
+
+  @Scheduled(initialDelayString = "${places.changes.trim-interval:1h}", fixedDelayString = "${places.changes.trim-interval:1h}")
+  public void trim() {
+    Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.retention()));
+    int batchSize = Math.max(1, properties.trimBatchSize());
+    long trimmed = 0;
+    int rows;
+    do {
+      rows = changeRepository.trimOlderThan(cutoff, batchSize);
+      trimmed += rows;
+    } while (rows == batchSize);
+    if (trimmed > 0) {
+      log.info("Trimmed {} changes recorded before {}", trimmed, cutoff.toInstant());
+    }
+  }
+}
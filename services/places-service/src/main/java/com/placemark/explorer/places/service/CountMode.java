@@ -0,0 +1,11 @@
+package com.placemark.explorer.places.service;
+
+/** How the total of a paged spatial query is computed. */
+public enum CountMode {
+  /** No total; the response only says whether a next page exists. */
+  NONE,
+  /** Exact total, counted unless the page itself shows where the result ends. */
+  EXACT,
+  /** Planner row estimate, never below what the current page proves to exist. */
+  ESTIMATED
+}
@@ -0,0 +1,5 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.domain.Place;
+
+public record NearestPlace(Place place, double distanceMeters) {}
@@ -0,0 +1,40 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last returned place: its ID, plus its distance for distance-ordered queries.
+ * Encoded as an opaque URL-safe token.
+ */
+public record PlaceCursor(Double distanceMeters, UUID id) {
+
+  static final UUID MIN_ID = new UUID(0, 0);
+
+  public String encode() {
+    String raw = distanceMeters != null ? distanceMeters + ":" + id : id.toString();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PlaceCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(':');
+      if (separator < 0) {
+        return new PlaceCursor(null, UUID.fromString(raw));
+      }
+      double distanceMeters = Double.parseDouble(raw.substring(0, separator));
+      if (!(distanceMeters >= 0) || Double.isInfinite(distanceMeters)) {
+        throw new IllegalArgumentException("distance out of range");
+      }
+      return new PlaceCursor(distanceMeters, UUID.fromString(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
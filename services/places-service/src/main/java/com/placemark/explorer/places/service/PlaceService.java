@@ -1,23 +1,61 @@
 package com.placemark.explorer.places.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.cache.NearbyTileCache;
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.datasource.ReadFromReplica;
+import com.placemark.explorer.places.domain.ChangeType;
 import com.placemark.explorer.places.domain.Place;
 import com.placemark.explorer.places.domain.PlaceCategory;
 import com.placemark.explorer.places.domain.PlaceGroup;
 import com.placemark.explorer.places.dto.group.CreateGroupRequest;
 import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.event.GroupDeletedEvent;
+import com.placemark.explorer.places.event.GroupMembershipChangedEvent;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
 import com.placemark.explorer.places.exception.BadRequestException;
 import com.placemark.explorer.places.exception.NotFoundException;
+import com.placemark.explorer.places.geo.GeoRegions;
+import com.placemark.explorer.places.index.NearbyPlace;
+import com.placemark.explorer.places.index.PlaceSpatialIndex;
+import com.placemark.explorer.places.repository.GroupMembership;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.repository.PlaceCountEstimator;
 import com.placemark.explorer.places.repository.PlaceGroupRepository;
 import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.repository.TrackMatch;
+import com.placemark.explorer.places.service.track.TrackPreprocessor;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,12 +63,38 @@ import org.springframework.stereotype.Service;
 public class PlaceService {
 
   private final PlaceRepository placeRepository;
+  private final PlaceCountEstimator countEstimator;
   private final PlaceGroupRepository groupRepository;
+  private final PlaceChangeRepository changeRepository;
+  private final PlaceSpatialIndex spatialIndex;
+  private final NearbyTileCache tileCache;
+  private final TrackPreprocessor trackPreprocessor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final int batchQueryTracks;
   private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
-  public PlaceService(PlaceRepository placeRepository, PlaceGroupRepository groupRepository) {
+  public PlaceService(
+      PlaceRepository placeRepository,
+      PlaceCountEstimator countEstimator,
+      PlaceGroupRepository groupRepository,
+      PlaceChangeRepository changeRepository,
+      PlaceSpatialIndex spatialIndex,
+      NearbyTileCache tileCache,
+      TrackPreprocessor trackPreprocessor,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      TrackProperties trackProperties) {
     this.placeRepository = placeRepository;
+    this.countEstimator = countEstimator;
     this.groupRepository = groupRepository;
+    this.changeRepository = changeRepository;
+    this.spatialIndex = spatialIndex;
+    this.tileCache = tileCache;
+    this.trackPreprocessor = trackPreprocessor;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.batchQueryTracks = Math.max(1, trackProperties.batchQueryTracks());
   }
 
   public Place createPlace(CreatePlaceRequest request) {
@@ -40,89 +104,334 @@ public class PlaceService {
     place.setCategory(request.category());
     place.setVisitRadiusMeters(request.visitRadiusMeters());
     place.setLocation(toPoint(request.latitude(), request.longitude()));
-    return initializePlace(placeRepository.save(place));
+    Place saved = placeRepository.saveAndFlush(place);
+    changeRepository.recordPlacesCreated(List.of(saved.getId()));
+    eventPublisher.publishEvent(new PlaceCreatedEvent(saved));
+    return saved;
   }
 
+  @ReadFromReplica
   public Place getPlace(UUID id) {
-    Place place = placeRepository.findById(id)
+    return placeRepository.findById(id)
         .orElseThrow(() -> new NotFoundException("Place not found: " + id));
-    return initializePlace(place);
   }
 
+  @Observed(name = "places.service")
+  @ReadFromReplica
   public Page<Place> listPlaces(PlaceCategory category, Pageable pageable) {
-    Page<Place> places;
     if (category == null) {
-      places = placeRepository.findAll(pageable);
-    } else {
-      places = placeRepository.findByCategory(category, pageable);
+      return placeRepository.findAll(pageable);
     }
-    places.getContent().forEach(this::initializePlace);
-    return places;
+    return placeRepository.findByCategory(category, pageable);
   }
 
   public void deletePlace(UUID id) {
     Place place = getPlace(id);
-    placeRepository.delete(place);
+    Set<UUID> groupIds = findGroupIdsByPlace(List.of(id)).getOrDefault(id, Set.of());
+    // Only the delete that flips the row adjusts group counts; a concurrent one sees it gone.
+    if (placeRepository.softDelete(place.getRegion(), id) == 0) {
+      throw new NotFoundException("Place not found: " + id);
+    }
+    groupRepository.decrementPlaceCountsOf(id);
+    changeRepository.record(ChangeType.PLACE_DELETED, id, null);
+    eventPublisher.publishEvent(new PlaceDeletedEvent(place, groupIds));
   }
 
   public PlaceGroup createGroup(CreateGroupRequest request) {
     PlaceGroup group = new PlaceGroup();
     group.setName(request.name());
     group.setDescription(request.description());
-    return initializeGroup(groupRepository.save(group));
+    PlaceGroup saved = groupRepository.saveAndFlush(group);
+    changeRepository.recordGroupCreated(saved.getId());
+    return saved;
   }
 
+  @ReadFromReplica
   public PlaceGroup getGroup(UUID id) {
-    PlaceGroup group = groupRepository.findById(id)
+    return groupRepository.findById(id)
         .orElseThrow(() -> new NotFoundException("Group not found: " + id));
-    return initializeGroup(group);
   }
 
+  @ReadFromReplica
   public Page<PlaceGroup> listGroups(Pageable pageable) {
-    Page<PlaceGroup> groups = groupRepository.findAll(pageable);
-    groups.getContent().forEach(this::initializeGroup);
-    return groups;
+    return groupRepository.findAll(pageable);
   }
 
   public void deleteGroup(UUID id) {
     PlaceGroup group = getGroup(id);
+    List<UUID> placeIds = groupRepository.findPlaceIds(id);
     groupRepository.delete(group);
+    changeRepository.record(ChangeType.GROUP_DELETED, null, id);
+    eventPublisher.publishEvent(new GroupDeletedEvent(id, placeIds));
   }
 
   public PlaceGroup addPlaceToGroup(UUID groupId, UUID placeId) {
-    PlaceGroup group = getGroup(groupId);
+    getGroup(groupId);
     Place place = getPlace(placeId);
-    group.getPlaces().add(place);
-    place.getGroups().add(group);
-    return initializeGroup(group);
+    if (groupRepository.addMembership(groupId, placeId, place.getRegion()) > 0) {
+      changeRepository.record(ChangeType.GROUP_PLACE_ADDED, placeId, groupId);
+      eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, placeId));
+    } else {
+      // Nothing added: already a member, or a concurrent delete of the place or group won.
+      getPlace(placeId);
+    }
+    return getGroup(groupId);
   }
 
   public PlaceGroup removePlaceFromGroup(UUID groupId, UUID placeId) {
-    PlaceGroup group = getGroup(groupId);
-    Place place = getPlace(placeId);
-    group.getPlaces().remove(place);
-    place.getGroups().remove(group);
-    return initializeGroup(group);
+    getGroup(groupId);
+    getPlace(placeId);
+    if (groupRepository.deleteMembership(groupId, placeId) > 0) {
+      groupRepository.adjustPlaceCount(groupId, -1);
+      changeRepository.record(ChangeType.GROUP_PLACE_REMOVED, placeId, groupId);
+      eventPublisher.publishEvent(new GroupMembershipChangedEvent(groupId, placeId));
+    }
+    return getGroup(groupId);
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public PlaceWindow scrollGroupPlaces(UUID groupId, PlaceCursor after, int size) {
+    getGroup(groupId);
+    List<Place> places = placeRepository.findGroupPlacesAfter(groupId, afterId(after), PageRequest.of(0, size + 1));
+    List<PlaceCursor> positions = places.stream().map(place -> new PlaceCursor(null, place.getId())).toList();
+    return windowOf(places, positions, size);
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public Slice<Place> findPlacesNear(
+      double lat, double lon, int radiusMeters, PlaceCategory category, Pageable pageable, CountMode countMode) {
+    validateRadius(radiusMeters);
+    Optional<List<UUID>> indexed = spatialIndex.isReady()
+        ? spatialIndex.findWithin(lat, lon, radiusMeters, category)
+        : Optional.empty();
+    if (indexed.isPresent()) {
+      return pageOf(indexed.get(), pageable, countMode);
+    }
+    Optional<List<UUID>> cached = tileCache.findWithin(lat, lon, radiusMeters, category);
+    if (cached.isPresent()) {
+      return pageOf(cached.get(), pageable, countMode);
+    }
+
+    String categoryName = category != null ? category.name() : null;
+    String regions = regionsNear(lat, lon, radiusMeters);
+    return pageOf(
+        placeRepository.findPlacesNear(lat, lon, radiusMeters, categoryName, regions, pageable),
+        countMode,
+        () -> placeRepository.countPlacesNear(lat, lon, radiusMeters, categoryName, regions),
+        () -> countEstimator.estimatePlacesNear(lat, lon, radiusMeters, categoryName));
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public Slice<Place> findPlacesIntersectingTrack(
+      List<Point> trackPoints, PlaceCategory category, Pageable pageable, CountMode countMode) {
+    if (trackPoints == null || trackPoints.isEmpty()) {
+      throw new BadRequestException("Track points must not be empty");
+    }
+
+    List<Point> track = trackPreprocessor.preprocess(trackPoints);
+    Optional<List<UUID>> indexed = spatialIndex.isReady()
+        ? spatialIndex.findIntersectingTrack(track, category)
+        : Optional.empty();
+    if (indexed.isPresent()) {
+      return pageOf(indexed.get(), pageable, countMode);
+    }
+
+    List<List<Point>> segments = trackPreprocessor.segment(track);
+    if (segments.size() > 1) {
+      return pageOf(findPlaceIdsIntersectingSegments(segments, category, maxVisitRadiusMeters()), pageable, countMode);
+    }
+
+    String wkt = toTrackWkt(track);
+    String categoryName = category != null ? category.name() : null;
+    String regions = regionsOf(List.of(track), maxVisitRadiusMeters());
+    return pageOf(
+        placeRepository.findPlacesIntersectingTrack(wkt, categoryName, regions, pageable),
+        countMode,
+        () -> placeRepository.countPlacesIntersectingTrack(wkt, categoryName, regions),
+        () -> countEstimator.estimatePlacesIntersectingTrack(wkt, categoryName));
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public PlaceWindow scrollPlaces(PlaceCategory category, PlaceCursor after, int size) {
+    List<Place> places = placeRepository.findPlacesAfter(
+        category != null ? category.name() : null, afterId(after), PageRequest.of(0, size + 1));
+    List<PlaceCursor> positions = places.stream().map(place -> new PlaceCursor(null, place.getId())).toList();
+    return windowOf(places, positions, size);
   }
 
-  public Page<Place> findPlacesNear(double lat, double lon, int radiusMeters, PlaceCategory category, Pageable pageable) {
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public PlaceWindow scrollPlacesNear(
+      double lat, double lon, int radiusMeters, PlaceCategory category, PlaceCursor after, int size) {
     validateRadius(radiusMeters);
-    Page<Place> places = placeRepository.findPlacesNear(
-        lat, lon, radiusMeters, category != null ? category.name() : null, pageable);
-    places.getContent().forEach(this::initializePlace);
-    return places;
+    double afterDistance = after != null && after.distanceMeters() != null ? after.distanceMeters() : -1;
+    Optional<List<NearbyPlace>> indexed = spatialIndex.isReady()
+        ? spatialIndex.findNearbyAfter(lat, lon, radiusMeters, category,
+            afterDistance >= 0 ? new NearbyPlace(after.id(), afterDistance) : null, size + 1)
+        : Optional.empty();
+    List<PlaceCursor> positions;
+    if (indexed.isPresent()) {
+      positions = indexed.get().stream()
+          .map(place -> new PlaceCursor(place.distanceMeters(), place.id()))
+          .toList();
+    } else {
+      positions = placeRepository.findPlaceDistancesNearAfter(
+              lat, lon, radiusMeters, category != null ? category.name() : null,
+              regionsNear(lat, lon, radiusMeters), afterDistance, afterId(after), PageRequest.of(0, size + 1))
+          .stream()
+          .map(row -> new PlaceCursor(row.getDistanceMeters(), row.getId()))
+          .toList();
+    }
+    List<UUID> ids = positions.stream().limit(size).map(PlaceCursor::id).toList();
+    return windowOf(loadInOrder(ids), positions, size);
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public List<NearestPlace> findNearestPlaces(double lat, double lon, int k, PlaceCategory category) {
+    if (k <= 0) {
+      throw new BadRequestException("k must be greater than zero");
+    }
+
+    List<PlaceCursor> nearest;
+    if (spatialIndex.isReady()) {
+      nearest = spatialIndex.findNearest(lat, lon, k, category).stream()
+          .map(place -> new PlaceCursor(place.distanceMeters(), place.id()))
+          .toList();
+    } else {
+      // The index orders by sphere distance; re-sort the k rows by the exact spheroid distance.
+      nearest = placeRepository.findNearestPlaces(lat, lon, category != null ? category.name() : null, PageRequest.of(0, k))
+          .stream()
+          .map(row -> new PlaceCursor(row.getDistanceMeters(), row.getId()))
+          .sorted(Comparator.comparingDouble(PlaceCursor::distanceMeters)
+              .thenComparing(PlaceCursor::id, PlaceSpatialIndex.ID_ORDER))
+          .toList();
+    }
+
+    Map<UUID, Place> byId = loadInOrder(nearest.stream().map(PlaceCursor::id).toList()).stream()
+        .collect(Collectors.toMap(Place::getId, Function.identity()));
+    return nearest.stream()
+        .filter(position -> byId.containsKey(position.id()))
+        .map(position -> new NearestPlace(byId.get(position.id()), position.distanceMeters()))
+        .toList();
   }
 
-  public Page<Place> findPlacesIntersectingTrack(List<Point> trackPoints, PlaceCategory category, Pageable pageable) {
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public PlaceWindow scrollPlacesIntersectingTrack(
+      List<Point> trackPoints, PlaceCategory category, PlaceCursor after, int size) {
     if (trackPoints == null || trackPoints.isEmpty()) {
       throw new BadRequestException("Track points must not be empty");
     }
 
-    String wkt = toTrackWkt(trackPoints);
-    Page<Place> places = placeRepository.findPlacesIntersectingTrack(
-        wkt, category != null ? category.name() : null, pageable);
-    places.getContent().forEach(this::initializePlace);
-    return places;
+    List<Point> track = trackPreprocessor.preprocess(trackPoints);
+    Optional<List<UUID>> indexed = spatialIndex.isReady()
+        ? spatialIndex.findIntersectingTrack(track, category)
+        : Optional.empty();
+    List<UUID> ids = indexed.isPresent()
+        ? indexed.get().stream()
+            .filter(id -> isAfter(id, after))
+            .limit(size + 1L)
+            .toList()
+        : placeRepository.findPlaceIdsIntersectingTrackAfter(
+            toTrackWkt(track), category != null ? category.name() : null,
+            regionsOf(List.of(track), maxVisitRadiusMeters()), afterId(after), PageRequest.of(0, size + 1));
+    List<PlaceCursor> positions = ids.stream().map(id -> new PlaceCursor(null, id)).toList();
+    return windowOf(loadInOrder(ids.subList(0, Math.min(size, ids.size()))), positions, size);
+  }
+
+  @ReadFromReplica
+  public int findMaxVisitRadiusMeters() {
+    return maxVisitRadiusMeters();
+  }
+
+  /**
+   * Places intersecting one chunk of a streamed track that are not in {@code excludedIds}. The
+   * caller reads {@code maxVisitRadiusMeters} once per stream with {@link #findMaxVisitRadiusMeters()}.
+   */
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public List<Place> findNewPlacesIntersectingTrack(
+      List<Point> trackPoints, PlaceCategory category, Set<UUID> excludedIds, int maxVisitRadiusMeters) {
+    if (trackPoints == null || trackPoints.isEmpty()) {
+      throw new BadRequestException("Track points must not be empty");
+    }
+
+    List<Point> track = trackPreprocessor.preprocess(trackPoints);
+    Optional<List<UUID>> indexed = spatialIndex.isReady()
+        ? spatialIndex.findIntersectingTrack(track, category)
+        : Optional.empty();
+    List<UUID> ids = indexed.isPresent()
+        ? indexed.get()
+        : findPlaceIdsIntersectingSegments(trackPreprocessor.segment(track), category, maxVisitRadiusMeters);
+    List<UUID> newIds = ids.stream().filter(id -> !excludedIds.contains(id)).toList();
+    if (newIds.isEmpty()) {
+      return List.of();
+    }
+
+    return placeRepository.findAllById(newIds);
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public BatchTrackMatches findPlacesIntersectingTracks(Map<String, List<Point>> tracks, PlaceCategory category) {
+    if (tracks == null || tracks.isEmpty()) {
+      throw new BadRequestException("Tracks must not be empty");
+    }
+
+    Map<String, List<UUID>> matches = new LinkedHashMap<>();
+    tracks.keySet().forEach(trackId -> matches.put(trackId, new ArrayList<>()));
+    String categoryName = category != null ? category.name() : null;
+    Integer maxVisitRadiusMeters = null;
+    List<Map<String, String>> rows = new ArrayList<>();
+    List<List<Point>> batch = new ArrayList<>();
+    for (Map.Entry<String, List<Point>> track : tracks.entrySet()) {
+      if (track.getValue().isEmpty()) {
+        throw new BadRequestException("Track points must not be empty: " + track.getKey());
+      }
+      List<Point> points = trackPreprocessor.preprocess(track.getValue());
+      Optional<List<UUID>> indexed = spatialIndex.isReady()
+          ? spatialIndex.findIntersectingTrack(points, category)
+          : Optional.empty();
+      if (indexed.isPresent()) {
+        matches.get(track.getKey()).addAll(indexed.get());
+        continue;
+      }
+      if (maxVisitRadiusMeters == null) {
+        maxVisitRadiusMeters = maxVisitRadiusMeters();
+      }
+      rows.add(Map.of("track_id", track.getKey(), "wkt", toTrackWkt(points)));
+      batch.add(points);
+      if (rows.size() == batchQueryTracks) {
+        collectTrackMatches(rows, categoryName, regionsOf(batch, maxVisitRadiusMeters), matches);
+        rows.clear();
+        batch.clear();
+      }
+    }
+    if (!rows.isEmpty()) {
+      collectTrackMatches(rows, categoryName, regionsOf(batch, maxVisitRadiusMeters), matches);
+    }
+    matches.values().forEach(ids -> ids.sort(PlaceSpatialIndex.ID_ORDER));
+
+    Set<UUID> placeIds = new HashSet<>();
+    matches.values().forEach(placeIds::addAll);
+    List<Place> places = placeIds.isEmpty() ? List.of() : placeRepository.findAllById(placeIds);
+    return new BatchTrackMatches(matches, places);
+  }
+
+  @Observed(name = "places.service")
+  @ReadFromReplica
+  public Map<UUID, Set<UUID>> findGroupIdsByPlace(Collection<UUID> placeIds) {
+    if (placeIds.isEmpty()) {
+      return Map.of();
+    }
+    return placeRepository.findGroupMemberships(placeIds).stream()
+        .collect(Collectors.groupingBy(
+            GroupMembership::getPlaceId, Collectors.mapping(GroupMembership::getGroupId, Collectors.toSet())));
   }
 
   public Point toPoint(double lat, double lon) {
@@ -135,7 +444,7 @@ public class PlaceService {
     }
   }
 
-  private String toTrackWkt(List<Point> points) {
+  static String toTrackWkt(List<Point> points) {
     if (points.size() == 1) {
       Point p = points.get(0);
       return "SRID=4326;POINT(" + p.getX() + " " + p.getY() + ")";
@@ -153,13 +462,127 @@ public class PlaceService {
     return sb.toString();
   }
 
-  private Place initializePlace(Place place) {
-    place.getGroups().size();
-    return place;
+  // Long tracks are split so each segment is matched through the indexes on its own box. All segments
+  // go into one query per batch, so a request never needs more than its own connection.
+  private List<UUID> findPlaceIdsIntersectingSegments(
+      List<List<Point>> segments, PlaceCategory category, int maxVisitRadiusMeters) {
+    String categoryName = category != null ? category.name() : null;
+    String regions = regionsOf(segments, maxVisitRadiusMeters);
+    if (segments.size() == 1) {
+      return placeRepository.findPlaceIdsIntersectingTrack(toTrackWkt(segments.get(0)), categoryName, regions);
+    }
+
+    Map<String, List<UUID>> matches = new LinkedHashMap<>();
+    List<Map<String, String>> rows = new ArrayList<>();
+    for (int i = 0; i < segments.size(); i++) {
+      String segmentId = Integer.toString(i);
+      matches.put(segmentId, new ArrayList<>());
+      rows.add(Map.of("track_id", segmentId, "wkt", toTrackWkt(segments.get(i))));
+      if (rows.size() == batchQueryTracks || i == segments.size() - 1) {
+        collectTrackMatches(rows, categoryName, regions, matches);
+        rows.clear();
+      }
+    }
+
+    Set<UUID> ids = new TreeSet<>(PlaceSpatialIndex.ID_ORDER);
+    matches.values().forEach(ids::addAll);
+    return new ArrayList<>(ids);
+  }
+
+  private void collectTrackMatches(
+      List<Map<String, String>> rows, String categoryName, String regions, Map<String, List<UUID>> matches) {
+    String tracksJson;
+    try {
+      tracksJson = objectMapper.writeValueAsString(rows);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot serialize track batch", ex);
+    }
+    for (TrackMatch match : placeRepository.findPlacesIntersectingTracks(tracksJson, categoryName, regions)) {
+      matches.get(match.getTrackId()).add(match.getPlaceId());
+    }
+  }
+
+  // The places table is partitioned by region; queries only visit the regions their box touches.
+  // Track boxes are widened by the largest visit radius, since a place matches from that far away.
+  private static String regionsNear(double lat, double lon, int radiusMeters) {
+    return regionsParameter(GeoRegions.covering(lat, lon, lat, lon, radiusMeters));
+  }
+
+  private static String regionsOf(Collection<List<Point>> tracks, int marginMeters) {
+    double minLat = 90;
+    double minLon = 180;
+    double maxLat = -90;
+    double maxLon = -180;
+    for (List<Point> track : tracks) {
+      for (Point point : track) {
+        minLat = Math.min(minLat, point.getY());
+        minLon = Math.min(minLon, point.getX());
+        maxLat = Math.max(maxLat, point.getY());
+        maxLon = Math.max(maxLon, point.getX());
+      }
+    }
+    return regionsParameter(GeoRegions.covering(minLat, minLon, maxLat, maxLon, marginMeters));
+  }
+
+  private static String regionsParameter(SortedSet<String> regions) {
+    return regions.size() == GeoRegions.COUNT ? null : "{" + String.join(",", regions) + "}";
+  }
+
+  private int maxVisitRadiusMeters() {
+    Integer max = placeRepository.findMaxVisitRadiusMeters();
+    return max != null ? max : 0;
+  }
+
+  private Slice<Place> pageOf(List<UUID> sortedIds, Pageable pageable, CountMode countMode) {
+    int from = (int) Math.min(pageable.getOffset(), sortedIds.size());
+    int to = Math.min(from + pageable.getPageSize(), sortedIds.size());
+    List<Place> places = loadInOrder(sortedIds.subList(from, to));
+    return countMode == CountMode.NONE
+        ? new SliceImpl<>(places, pageable, to < sortedIds.size())
+        : new PageImpl<>(places, pageable, sortedIds.size());
+  }
+
+  // The slice was fetched with one extra row, so a page without a next one already gives the total.
+  private Slice<Place> pageOf(
+      Slice<Place> slice, CountMode countMode, LongSupplier exactCount, LongSupplier estimatedCount) {
+    if (countMode == CountMode.NONE) {
+      return slice;
+    }
+    Pageable pageable = slice.getPageable();
+    long seen = pageable.getOffset() + slice.getNumberOfElements();
+    if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+      return new PageImpl<>(slice.getContent(), pageable, seen);
+    }
+    long total = countMode == CountMode.EXACT
+        ? exactCount.getAsLong()
+        : Math.max(estimatedCount.getAsLong(), slice.hasNext() ? seen + 1 : seen);
+    return new PageImpl<>(slice.getContent(), pageable, total);
+  }
+
+  private List<Place> loadInOrder(List<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, Place> byId = placeRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(Place::getId, Function.identity()));
+    return ids.stream()
+        .map(byId::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private PlaceWindow windowOf(List<Place> places, List<PlaceCursor> positions, int size) {
+    if (positions.size() <= size) {
+      return new PlaceWindow(places, null);
+    }
+    return new PlaceWindow(places.subList(0, Math.min(size, places.size())), positions.get(size - 1));
+  }
+
+  private static String afterId(PlaceCursor after) {
+    return (after != null ? after.id() : PlaceCursor.MIN_ID).toString();
   }
 
-  private PlaceGroup initializeGroup(PlaceGroup group) {
-    group.getPlaces().size();
-    return group;
+  private static boolean isAfter(UUID id, PlaceCursor after) {
+    return after == null || PlaceSpatialIndex.ID_ORDER.compare(id, after.id()) > 0;
   }
 }
@@ -0,0 +1,6 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.domain.Place;
+import java.util.List;
+
+public record PlaceWindow(List<Place> places, PlaceCursor next) {}
@@ -0,0 +1,65 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.config.TileProperties;
+import com.placemark.explorer.places.datasource.ReadFromReplica;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Renders Mapbox vector tiles of live places with PostGIS. Up to {@code clusterMaxZoom} places are
+ * merged per grid cell and carry a {@code point_count}; above it every place is its own feature.
+ * The ETag of a tile is derived from the places it is rendered from, so a conditional request that
+ * matches it is answered without rendering.
+ */
+@Service
+@Observed(name = "places.service")
+@Transactional
+public class TileService {
+
+  public static final int MAX_ZOOM = 22;
+
+  private final PlaceRepository placeRepository;
+  private final TileProperties properties;
+
+  public TileService(PlaceRepository placeRepository, TileProperties properties) {
+    this.placeRepository = placeRepository;
+    this.properties = properties;
+  }
+
+  /** Weak ETag of the tile, which changes whenever a place it is rendered from does. */
+  @ReadFromReplica
+  public String tileETag(int z, int x, int y, PlaceCategory category) {
+    validate(z, x, y);
+    String categoryName = category != null ? category.name() : null;
+    String version = String.join("/", Integer.toString(z), Integer.toString(x), Integer.toString(y),
+        String.valueOf(categoryName), Integer.toString(properties.clusterMaxZoom()),
+        Integer.toString(properties.clusterGridSize()), placeRepository.findTileFingerprint(z, x, y, categoryName));
+    return "W/\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  @ReadFromReplica
+  public byte[] renderTile(int z, int x, int y, PlaceCategory category) {
+    validate(z, x, y);
+    String categoryName = category != null ? category.name() : null;
+    byte[] tile = z <= properties.clusterMaxZoom()
+        ? placeRepository.findTileClusters(z, x, y, categoryName, Math.max(1, properties.clusterGridSize()))
+        : placeRepository.findTilePoints(z, x, y, categoryName);
+    return tile != null ? tile : new byte[0];
+  }
+
+  private static void validate(int z, int x, int y) {
+    if (z < 0 || z > MAX_ZOOM) {
+      throw new BadRequestException("Zoom must be between 0 and " + MAX_ZOOM);
+    }
+    long tiles = 1L << z;
+    if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+      throw new BadRequestException("Tile " + z + "/" + x + "/" + y + " does not exist");
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.placemark.explorer.places.service;
+
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.service.track.TrackPointReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Service;
+
+/**
+ * Matches an arbitrarily long track in fixed-size chunks. Consecutive chunks share their boundary
+ * point so no segment is lost, and every chunk runs in its own short transaction. Points are read
+ * and checked as the chunks fill, so an invalid point or malformed body can come after matches of
+ * earlier chunks went to the sink; the {@link BadRequestException} is thrown then all the same.
+ */
+@Service
+public class TrackStreamService {
+
+  private final PlaceService placeService;
+  private final int chunkSize;
+
+  public TrackStreamService(PlaceService placeService, TrackProperties properties) {
+    if (properties.streamChunkSize() < 2) {
+      throw new IllegalArgumentException("places.track.stream-chunk-size must be at least 2");
+    }
+    this.placeService = placeService;
+    this.chunkSize = properties.streamChunkSize();
+  }
+
+  public void streamPlacesIntersectingTrack(TrackPointReader reader, PlaceCategory category, MatchSink sink)
+      throws IOException {
+    Set<UUID> matched = new HashSet<>();
+    List<Point> chunk = new ArrayList<>(chunkSize);
+    boolean flushedAny = false;
+    // Every chunk is routed with the same visit radius margin, read once per stream.
+    int maxVisitRadiusMeters = -1;
+
+    TrackPointRequest point;
+    while ((point = reader.next()) != null) {
+      chunk.add(toPoint(point));
+      if (chunk.size() == chunkSize) {
+        if (maxVisitRadiusMeters < 0) {
+          maxVisitRadiusMeters = placeService.findMaxVisitRadiusMeters();
+        }
+        flush(chunk, category, matched, maxVisitRadiusMeters, sink);
+        flushedAny = true;
+        Point last = chunk.get(chunk.size() - 1);
+        chunk.clear();
+        chunk.add(last);
+      }
+    }
+
+    if (chunk.size() > 1 || (!flushedAny && !chunk.isEmpty())) {
+      if (maxVisitRadiusMeters < 0) {
+        maxVisitRadiusMeters = placeService.findMaxVisitRadiusMeters();
+      }
+      flush(chunk, category, matched, maxVisitRadiusMeters, sink);
+    } else if (!flushedAny) {
+      throw new BadRequestException("Track points must not be empty");
+    }
+  }
+
+  private void flush(
+      List<Point> chunk, PlaceCategory category, Set<UUID> matched, int maxVisitRadiusMeters, MatchSink sink)
+      throws IOException {
+    List<Place> places = placeService.findNewPlacesIntersectingTrack(chunk, category, matched, maxVisitRadiusMeters);
+    if (!places.isEmpty()) {
+      places.forEach(place -> matched.add(place.getId()));
+      sink.accept(places);
+    }
+  }
+
+  private Point toPoint(TrackPointRequest point) {
+    Double lat = point.latitude();
+    Double lon = point.longitude();
+    if (lat == null || lon == null || lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+      throw new BadRequestException("Track point out of range: " + lat + ", " + lon);
+    }
+    return placeService.toPoint(lat, lon);
+  }
+
+  @FunctionalInterface
+  public interface MatchSink {
+    void accept(List<Place> places) throws IOException;
+  }
+}
@@ -0,0 +1,118 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV with a header row. Columns are matched by name; {@code groupIds} holds
+ * semicolon-separated group UUIDs.
+ */
+class CsvPlaceImportReader implements PlaceImportReader {
+
+  private static final List<String> REQUIRED_COLUMNS =
+      List.of("name", "category", "latitude", "longitude", "visitRadiusMeters");
+
+  private final Reader reader;
+  private final Map<String, Integer> columns = new HashMap<>();
+  private final StringBuilder field = new StringBuilder();
+
+  CsvPlaceImportReader(InputStream input) throws IOException {
+    this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    List<String> header = readRow();
+    if (header == null) {
+      return;
+    }
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+    }
+    for (String column : REQUIRED_COLUMNS) {
+      if (!columns.containsKey(column)) {
+        throw new BadRequestException("CSV header is missing column: " + column);
+      }
+    }
+  }
+
+  @Override
+  public PlaceImportRecord next() throws IOException {
+    List<String> row;
+    do {
+      row = readRow();
+    } while (row != null && row.size() == 1 && row.get(0).isBlank());
+    if (row == null) {
+      return null;
+    }
+
+    String groupIds = column(row, "groupIds");
+    return new PlaceImportRecord(
+        column(row, "id"),
+        column(row, "name"),
+        column(row, "description"),
+        column(row, "category"),
+        column(row, "latitude"),
+        column(row, "longitude"),
+        column(row, "visitRadiusMeters"),
+        groupIds == null || groupIds.isBlank() ? List.of() : Arrays.asList(groupIds.split(";")));
+  }
+
+  private String column(List<String> row, String name) {
+    Integer index = columns.get(name);
+    if (index == null || index >= row.size()) {
+      return null;
+    }
+    String value = row.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  private List<String> readRow() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+
+    List<String> row = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new BadRequestException("Unterminated quoted CSV field");
+        }
+        if (c == '"') {
+          int next = reader.read();
+          if (next != '"') {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        }
+        field.append((char) c);
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        row.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == -1) {
+        row.add(field.toString());
+        return row;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,66 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams the Point features of a FeatureCollection one at a time; place fields are read from
+ * {@code properties}.
+ */
+class GeoJsonPlaceImportReader implements PlaceImportReader {
+
+  private final JsonParser parser;
+  private boolean inFeatures;
+  private boolean done;
+
+  GeoJsonPlaceImportReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+    this.parser = objectMapper.getFactory().createParser(input);
+    this.parser.setCodec(objectMapper);
+  }
+
+  @Override
+  public PlaceImportRecord next() throws IOException {
+    try {
+      if (done || (!inFeatures && !seekFeatures())) {
+        done = true;
+        return null;
+      }
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        done = true;
+        return null;
+      }
+      JsonNode feature = parser.readValueAsTree();
+      JsonNode coordinates = feature.path("geometry").path("coordinates");
+      return JsonPlaceRecords.of(feature.path("properties"), coordinates.get(1), coordinates.get(0));
+    } catch (JsonProcessingException ex) {
+      throw new BadRequestException("Malformed GeoJSON place: " + ex.getOriginalMessage());
+    }
+  }
+
+  private boolean seekFeatures() throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new BadRequestException("GeoJSON import must be a FeatureCollection");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+        inFeatures = true;
+        return true;
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
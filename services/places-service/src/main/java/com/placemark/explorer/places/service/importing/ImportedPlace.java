@@ -0,0 +1,15 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import java.util.List;
+import java.util.UUID;
+
+record ImportedPlace(
+    UUID id,
+    String name,
+    String description,
+    PlaceCategory category,
+    double latitude,
+    double longitude,
+    int visitRadiusMeters,
+    List<UUID> groupIds) {}
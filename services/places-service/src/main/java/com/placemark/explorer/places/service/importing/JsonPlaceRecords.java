@@ -0,0 +1,28 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+
+final class JsonPlaceRecords {
+
+  private JsonPlaceRecords() {}
+
+  static PlaceImportRecord of(JsonNode properties, JsonNode latitude, JsonNode longitude) {
+    List<String> groupIds = new ArrayList<>();
+    properties.path("groupIds").forEach(groupId -> groupIds.add(groupId.asText()));
+    return new PlaceImportRecord(
+        text(properties.get("id")),
+        text(properties.get("name")),
+        text(properties.get("description")),
+        text(properties.get("category")),
+        text(latitude),
+        text(longitude),
+        text(properties.get("visitRadiusMeters")),
+        groupIds);
+  }
+
+  private static String text(JsonNode node) {
+    return node == null || node.isNull() ? null : node.asText();
+  }
+}
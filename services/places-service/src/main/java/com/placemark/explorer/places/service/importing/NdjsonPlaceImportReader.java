@@ -0,0 +1,36 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+
+class NdjsonPlaceImportReader implements PlaceImportReader {
+
+  private final MappingIterator<JsonNode> iterator;
+
+  NdjsonPlaceImportReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+    this.iterator = objectMapper.readerFor(JsonNode.class).readValues(input);
+  }
+
+  @Override
+  public PlaceImportRecord next() throws IOException {
+    try {
+      if (!iterator.hasNextValue()) {
+        return null;
+      }
+      JsonNode node = iterator.nextValue();
+      return JsonPlaceRecords.of(node, node.get("latitude"), node.get("longitude"));
+    } catch (JsonProcessingException ex) {
+      throw new BadRequestException("Malformed NDJSON place: " + ex.getOriginalMessage());
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    iterator.close();
+  }
+}
@@ -0,0 +1,10 @@
+package com.placemark.explorer.places.service.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface PlaceImportReader extends Closeable {
+
+  /** Returns the next raw record, or {@code null} once the source is exhausted. */
+  PlaceImportRecord next() throws IOException;
+}
@@ -0,0 +1,56 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.service.track.TrackPointReaders;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public final class PlaceImportReaders {
+
+  public static final String CSV_VALUE = "text/csv";
+
+  private static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+  private static final MediaType GEO_JSON = MediaType.parseMediaType(TrackPointReaders.GEO_JSON_VALUE);
+
+  private PlaceImportReaders() {}
+
+  public static PlaceImportReader open(PlaceImportFormat format, InputStream input, ObjectMapper objectMapper)
+      throws IOException {
+    return switch (format) {
+      case CSV -> new CsvPlaceImportReader(input);
+      case NDJSON -> new NdjsonPlaceImportReader(input, objectMapper);
+      case GEOJSON -> new GeoJsonPlaceImportReader(input, objectMapper);
+    };
+  }
+
+  public static PlaceImportFormat formatOf(MediaType contentType) {
+    if (CSV.isCompatibleWith(contentType)) {
+      return PlaceImportFormat.CSV;
+    }
+    if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+      return PlaceImportFormat.NDJSON;
+    }
+    if (GEO_JSON.isCompatibleWith(contentType)) {
+      return PlaceImportFormat.GEOJSON;
+    }
+    throw new BadRequestException("Unsupported import content type: " + contentType);
+  }
+
+  public static PlaceImportFormat formatOf(String fileName) {
+    String name = fileName.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".csv")) {
+      return PlaceImportFormat.CSV;
+    }
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+      return PlaceImportFormat.NDJSON;
+    }
+    if (name.endsWith(".geojson")) {
+      return PlaceImportFormat.GEOJSON;
+    }
+    throw new BadRequestException("Cannot infer import format of " + fileName + "; set places.import.format");
+  }
+}
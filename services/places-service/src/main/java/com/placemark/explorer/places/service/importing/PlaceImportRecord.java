@@ -0,0 +1,13 @@
+package com.placemark.explorer.places.service.importing;
+
+import java.util.List;
+
+public record PlaceImportRecord(
+    String id,
+    String name,
+    String description,
+    String category,
+    String latitude,
+    String longitude,
+    String visitRadiusMeters,
+    List<String> groupIds) {}
@@ -0,0 +1,64 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ImportProperties;
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.domain.PlaceImportJob;
+import com.placemark.explorer.places.domain.PlaceImportStatus;
+import java.io.BufferedInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline loader: {@code --places.import.file=<path>} imports the file during startup. Combine with
+ * {@code --spring.main.web-application-type=none} to exit once the import finishes.
+ */
+@Component
+public class PlaceImportRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(PlaceImportRunner.class);
+
+  private final PlaceImportService importService;
+  private final ImportProperties properties;
+  private final ObjectMapper objectMapper;
+
+  public PlaceImportRunner(PlaceImportService importService, ImportProperties properties, ObjectMapper objectMapper) {
+    this.importService = importService;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    // Checked here rather than with @ConditionalOnProperty, which AOT processing fixes at build time.
+    if (properties.file() == null || properties.file().isBlank()) {
+      return;
+    }
+    Path file = Path.of(properties.file()).toAbsolutePath();
+    PlaceImportFormat format = properties.format() != null
+        ? properties.format()
+        : PlaceImportReaders.formatOf(file.getFileName().toString());
+
+    PlaceImportJob result;
+    try (PlaceImportReader reader = PlaceImportReaders.open(
+        format, new BufferedInputStream(Files.newInputStream(file)), objectMapper)) {
+      PlaceImportJob job = properties.resumeJobId() != null
+          ? importService.resumeJob(properties.resumeJobId(), format)
+          : importService.startJob(file.toString(), format);
+      log.info("Importing {} as job {}", file, job.getId());
+      result = importService.run(job.getId(), reader);
+    }
+
+    if (result.getStatus() != PlaceImportStatus.COMPLETED) {
+      throw new IllegalStateException("Import " + result.getId() + " failed: " + result.getError()
+          + "; rerun with --places.import.resume-job-id=" + result.getId());
+    }
+    log.info("Import {} finished: {} rows read, {} imported, {} rejected",
+        result.getId(), result.getRowsRead(), result.getRowsImported(), result.getRowsRejected());
+  }
+}
@@ -0,0 +1,368 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ImportProperties;
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.domain.PlaceImportJob;
+import com.placemark.explorer.places.domain.PlaceImportStatus;
+import com.placemark.explorer.places.event.PlacesImportedEvent;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.exception.NotFoundException;
+import com.placemark.explorer.places.index.IndexedPlace;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.repository.PlaceGroupRepository;
+import com.placemark.explorer.places.repository.PlaceImportJobRepository;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams places from a {@link PlaceImportReader} into PostgreSQL. Parsing and validation run on a
+ * separate thread and hand batches to the caller's thread through a bounded queue; each batch is
+ * inserted with one multi-row statement and committed together with the job's read offset, so a
+ * failed job resumes exactly after its last committed batch when the same source is sent again.
+ */
+@Service
+public class PlaceImportService implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(PlaceImportService.class);
+
+  private static final int MAX_LOGGED_REJECTIONS = 20;
+
+  // IDs are claimed in place_keys first: an ID that exists, or repeats within the batch, is
+  // skipped, and a concurrent batch claiming the same ID waits for this one instead of failing.
+  private static final String INSERT_PLACES_SQL = """
+      WITH source AS (
+        SELECT u.id, u.name, u.description, u.category,
+               ST_SetSRID(ST_MakePoint(u.longitude, u.latitude), 4326)::geography AS location,
+               u.visit_radius_meters, u.position
+        FROM unnest(?::uuid[], ?::varchar[], ?::text[], ?::varchar[], ?::float8[], ?::float8[], ?::int4[])
+          WITH ORDINALITY AS u(id, name, description, category, latitude, longitude, visit_radius_meters, position)
+      ), claimed AS (
+        INSERT INTO place_keys (id, region)
+        SELECT s.id, place_region(s.location) FROM source s
+        ON CONFLICT (id) DO NOTHING
+        RETURNING id
+      )
+      INSERT INTO places (id, name, description, category, location, visit_radius_meters, region)
+      SELECT DISTINCT ON (s.id)
+             s.id, s.name, s.description, s.category, s.location, s.visit_radius_meters, place_region(s.location)
+      FROM source s
+      JOIN claimed c ON c.id = s.id
+      ORDER BY s.id, s.position
+      RETURNING id
+      """;
+
+  private static final String INSERT_MEMBERSHIPS_SQL = """
+      WITH inserted AS (
+        INSERT INTO place_group_membership (place_id, group_id)
+        SELECT * FROM unnest(?::uuid[], ?::uuid[])
+        ON CONFLICT DO NOTHING
+        RETURNING place_id, group_id
+      ), changes AS (
+        INSERT INTO place_change_events (change_type, place_id, group_id)
+        SELECT 'GROUP_PLACE_ADDED', place_id, group_id FROM inserted
+      )
+      UPDATE place_groups g
+      SET place_count = g.place_count + c.added
+      FROM (SELECT group_id, COUNT(*) AS added FROM inserted GROUP BY group_id) c
+      WHERE g.id = c.group_id
+      """;
+
+  private final PlaceImportJobRepository jobRepository;
+  private final PlaceGroupRepository groupRepository;
+  private final PlaceChangeRepository changeRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AsyncTaskExecutor taskExecutor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ImportProperties properties;
+  private final ObjectMapper objectMapper;
+  private final ExecutorService runner =
+      Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("place-import-", 0).daemon().factory());
+
+  public PlaceImportService(
+      PlaceImportJobRepository jobRepository,
+      PlaceGroupRepository groupRepository,
+      PlaceChangeRepository changeRepository,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      AsyncTaskExecutor taskExecutor,
+      ApplicationEventPublisher eventPublisher,
+      ImportProperties properties,
+      ObjectMapper objectMapper) {
+    this.jobRepository = jobRepository;
+    this.groupRepository = groupRepository;
+    this.changeRepository = changeRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.taskExecutor = taskExecutor;
+    this.eventPublisher = eventPublisher;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+  }
+
+  public PlaceImportJob getJob(UUID id) {
+    return jobRepository.findById(id)
+        .orElseThrow(() -> new NotFoundException("Import job not found: " + id));
+  }
+
+  public PlaceImportJob startJob(String source, PlaceImportFormat format) {
+    PlaceImportJob job = new PlaceImportJob();
+    job.setSource(source.length() > 1000 ? source.substring(0, 1000) : source);
+    job.setFormat(format);
+    job.setStatus(PlaceImportStatus.RUNNING);
+    job.setRunStartedAt(Instant.now());
+    return jobRepository.save(job);
+  }
+
+  public PlaceImportJob resumeJob(UUID id, PlaceImportFormat format) {
+    PlaceImportJob job = getJob(id);
+    if (job.getStatus() == PlaceImportStatus.COMPLETED) {
+      throw new BadRequestException("Import job already completed: " + id);
+    }
+    if (job.getFormat() != format) {
+      throw new BadRequestException("Import job " + id + " was started with format " + job.getFormat());
+    }
+    Instant staleBefore = Instant.now().minus(properties.staleAfter());
+    int claimed = transactionTemplate.execute(status -> jobRepository.claimForResume(id, staleBefore));
+    if (claimed == 0) {
+      throw new BadRequestException("Import job " + id + " is still running");
+    }
+    return getJob(id);
+  }
+
+  /**
+   * Spools the upload to {@code places.import.upload-directory}, starts or resumes a job for it and
+   * runs the job in the background; the returned job is polled through {@link #getJob}. The header
+   * and the job are checked before this returns, so those errors still reach the caller.
+   */
+  public PlaceImportJob submit(UUID resumeJobId, PlaceImportFormat format, InputStream body) throws IOException {
+    Files.createDirectories(properties.uploadDirectory());
+    Path upload = Files.createTempFile(properties.uploadDirectory(), "upload-", ".tmp");
+    PlaceImportReader reader = null;
+    try {
+      Files.copy(body, upload, StandardCopyOption.REPLACE_EXISTING);
+      reader = PlaceImportReaders.open(format, new BufferedInputStream(Files.newInputStream(upload)), objectMapper);
+      PlaceImportJob job = resumeJobId != null ? resumeJob(resumeJobId, format) : startJob("upload", format);
+      PlaceImportReader source = reader;
+      runner.execute(() -> runUpload(job.getId(), source, upload));
+      return job;
+    } catch (IOException | RuntimeException ex) {
+      if (reader != null) {
+        reader.close();
+      }
+      Files.deleteIfExists(upload);
+      throw ex;
+    }
+  }
+
+  private void runUpload(UUID jobId, PlaceImportReader reader, Path upload) {
+    try (reader) {
+      PlaceImportJob result = run(jobId, reader);
+      log.info("Import {} {}: {} rows read, {} imported, {} rejected",
+          jobId, result.getStatus(), result.getRowsRead(), result.getRowsImported(), result.getRowsRejected());
+    } catch (IOException | RuntimeException ex) {
+      log.error("Import {} failed", jobId, ex);
+    } finally {
+      try {
+        Files.deleteIfExists(upload);
+      } catch (IOException ex) {
+        log.warn("Could not delete {}", upload, ex);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    // Interrupted runs finish as FAILED and can be resumed.
+    runner.shutdownNow();
+  }
+
+  public PlaceImportJob run(UUID jobId, PlaceImportReader reader) {
+    PlaceImportJob job = getJob(jobId);
+    long offset = job.getRowsRead();
+    BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+    PlaceImportValidator validator = new PlaceImportValidator(groupRepository);
+    Future<?> producer = taskExecutor.submit(() -> produce(jobId, reader, offset, validator, queue));
+
+    long started = System.nanoTime();
+    long lastLogged = started;
+    try {
+      while (true) {
+        Batch batch = queue.take();
+        if (batch.failure() != null) {
+          throw batch.failure();
+        }
+        transactionTemplate.executeWithoutResult(status -> write(jobId, batch));
+
+        long now = System.nanoTime();
+        if (batch.last() || now - lastLogged >= properties.progressLogInterval().toNanos()) {
+          lastLogged = now;
+          long rows = batch.rowsRead() - offset;
+          log.info("Import {}: {} rows read, {} rows/s", jobId, batch.rowsRead(),
+              rows * 1_000_000_000L / Math.max(1, now - started));
+        }
+        if (batch.last()) {
+          return finish(jobId, PlaceImportStatus.COMPLETED, null);
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return finish(jobId, PlaceImportStatus.FAILED, "Import interrupted");
+    } catch (RuntimeException ex) {
+      log.error("Import {} failed", jobId, ex);
+      return finish(jobId, PlaceImportStatus.FAILED, ex.getMessage() != null ? ex.getMessage() : ex.toString());
+    } finally {
+      producer.cancel(true);
+    }
+  }
+
+  private void produce(
+      UUID jobId, PlaceImportReader reader, long offset, PlaceImportValidator validator, BlockingQueue<Batch> queue) {
+    int batchSize = Math.max(1, properties.batchSize());
+    long rowsRead = 0;
+    long rejected = 0;
+    long totalRejected = 0;
+    List<ImportedPlace> places = new ArrayList<>(batchSize);
+    try {
+      PlaceImportRecord record;
+      while ((record = reader.next()) != null) {
+        rowsRead++;
+        if (rowsRead <= offset) {
+          continue;
+        }
+        try {
+          places.add(validator.validate(record));
+        } catch (IllegalArgumentException ex) {
+          rejected++;
+          if (++totalRejected <= MAX_LOGGED_REJECTIONS) {
+            log.warn("Import {} rejected row {}: {}", jobId, rowsRead, ex.getMessage());
+          }
+        }
+        if (places.size() == batchSize) {
+          queue.put(new Batch(places, rowsRead, rejected, false, null));
+          places = new ArrayList<>(batchSize);
+          rejected = 0;
+        }
+      }
+      if (rowsRead < offset) {
+        throw new BadRequestException("Source has " + rowsRead + " rows but the job already read " + offset);
+      }
+      queue.put(new Batch(places, rowsRead, rejected, true, null));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (IOException ex) {
+      fail(queue, new UncheckedIOException(ex));
+    } catch (RuntimeException ex) {
+      fail(queue, ex);
+    }
+  }
+
+  private static void fail(BlockingQueue<Batch> queue, RuntimeException failure) {
+    try {
+      queue.put(new Batch(List.of(), 0, 0, true, failure));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(UUID jobId, Batch batch) {
+    List<ImportedPlace> places = batch.places();
+    Set<UUID> inserted = places.isEmpty() ? Set.of() : new HashSet<>(insertPlaces(places));
+
+    List<UUID> memberPlaceIds = new ArrayList<>();
+    List<UUID> memberGroupIds = new ArrayList<>();
+    List<IndexedPlace> imported = new ArrayList<>(inserted.size());
+    Set<UUID> groupIds = new HashSet<>();
+    for (ImportedPlace place : places) {
+      if (!inserted.contains(place.id())) {
+        continue;
+      }
+      imported.add(new IndexedPlace(
+          place.id(), place.category(), place.latitude(), place.longitude(), place.visitRadiusMeters()));
+      for (UUID groupId : place.groupIds()) {
+        groupIds.add(groupId);
+        memberPlaceIds.add(place.id());
+        memberGroupIds.add(groupId);
+      }
+    }
+    if (!inserted.isEmpty()) {
+      changeRepository.recordPlacesCreated(inserted);
+    }
+    if (!memberPlaceIds.isEmpty()) {
+      jdbcTemplate.update(connection -> {
+        PreparedStatement statement = connection.prepareStatement(INSERT_MEMBERSHIPS_SQL);
+        statement.setArray(1, connection.createArrayOf("uuid", memberPlaceIds.toArray(UUID[]::new)));
+        statement.setArray(2, connection.createArrayOf("uuid", memberGroupIds.toArray(UUID[]::new)));
+        return statement;
+      });
+    }
+
+    PlaceImportJob job = getJob(jobId);
+    job.setRowsRead(batch.rowsRead());
+    job.setRowsImported(job.getRowsImported() + inserted.size());
+    job.setRowsRejected(job.getRowsRejected() + batch.rowsRejected());
+    if (!imported.isEmpty()) {
+      eventPublisher.publishEvent(new PlacesImportedEvent(imported, groupIds));
+    }
+  }
+
+  private List<UUID> insertPlaces(List<ImportedPlace> places) {
+    return jdbcTemplate.query(connection -> {
+      PreparedStatement statement = connection.prepareStatement(INSERT_PLACES_SQL);
+      statement.setArray(1, connection.createArrayOf("uuid",
+          places.stream().map(ImportedPlace::id).toArray(UUID[]::new)));
+      statement.setArray(2, connection.createArrayOf("varchar",
+          places.stream().map(ImportedPlace::name).toArray(String[]::new)));
+      statement.setArray(3, connection.createArrayOf("text",
+          places.stream().map(ImportedPlace::description).toArray(String[]::new)));
+      statement.setArray(4, connection.createArrayOf("varchar",
+          places.stream().map(place -> place.category().name()).toArray(String[]::new)));
+      statement.setArray(5, connection.createArrayOf("float8",
+          places.stream().map(ImportedPlace::latitude).toArray(Double[]::new)));
+      statement.setArray(6, connection.createArrayOf("float8",
+          places.stream().map(ImportedPlace::longitude).toArray(Double[]::new)));
+      statement.setArray(7, connection.createArrayOf("int4",
+          places.stream().map(ImportedPlace::visitRadiusMeters).toArray(Integer[]::new)));
+      return statement;
+    }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+  }
+
+  private PlaceImportJob finish(UUID jobId, PlaceImportStatus status, String error) {
+    return transactionTemplate.execute(tx -> {
+      PlaceImportJob job = getJob(jobId);
+      job.setStatus(status);
+      job.setError(error);
+      job.setFinishedAt(Instant.now());
+      return job;
+    });
+  }
+
+  private record Batch(
+      List<ImportedPlace> places, long rowsRead, long rowsRejected, boolean last, RuntimeException failure) {}
+}
@@ -0,0 +1,106 @@
+package com.placemark.explorer.places.service.importing;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.repository.PlaceGroupRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/** Applies the {@code CreatePlaceRequest} rules to raw records; not thread-safe. */
+class PlaceImportValidator {
+
+  private final PlaceGroupRepository groupRepository;
+  private final Set<UUID> knownGroupIds = new HashSet<>();
+
+  PlaceImportValidator(PlaceGroupRepository groupRepository) {
+    this.groupRepository = groupRepository;
+  }
+
+  ImportedPlace validate(PlaceImportRecord record) {
+    String name = record.name();
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("name is required");
+    }
+    if (name.length() > 200) {
+      throw new IllegalArgumentException("name is longer than 200 characters");
+    }
+    if (record.description() != null && record.description().length() > 4000) {
+      throw new IllegalArgumentException("description is longer than 4000 characters");
+    }
+
+    List<UUID> groupIds = new ArrayList<>(record.groupIds().size());
+    for (String value : record.groupIds()) {
+      UUID groupId = uuid("groupIds", value.trim());
+      if (!knownGroupIds.contains(groupId)) {
+        if (!groupRepository.existsById(groupId)) {
+          throw new IllegalArgumentException("unknown group " + groupId);
+        }
+        knownGroupIds.add(groupId);
+      }
+      groupIds.add(groupId);
+    }
+
+    int visitRadiusMeters = integer("visitRadiusMeters", record.visitRadiusMeters());
+    if (visitRadiusMeters <= 0) {
+      throw new IllegalArgumentException("visitRadiusMeters must be greater than zero");
+    }
+    return new ImportedPlace(
+        record.id() != null ? uuid("id", record.id()) : UUID.randomUUID(),
+        name,
+        record.description(),
+        category(record.category()),
+        coordinate("latitude", record.latitude(), 90),
+        coordinate("longitude", record.longitude(), 180),
+        visitRadiusMeters,
+        groupIds);
+  }
+
+  private static PlaceCategory category(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("category is required");
+    }
+    try {
+      return PlaceCategory.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("unknown category " + value);
+    }
+  }
+
+  private static double coordinate(String field, String value, double limit) {
+    if (value == null) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+    double coordinate;
+    try {
+      coordinate = Double.parseDouble(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(field + " is not a number");
+    }
+    if (!(coordinate >= -limit && coordinate <= limit)) {
+      throw new IllegalArgumentException(field + " is out of range");
+    }
+    return coordinate;
+  }
+
+  private static int integer(String field, String value) {
+    if (value == null) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(field + " is not an integer");
+    }
+  }
+
+  private static UUID uuid(String field, String value) {
+    try {
+      return UUID.fromString(value.trim());
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException(field + " is not a UUID: " + value);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.placemark.explorer.places.service.purge;
+
+import com.placemark.explorer.places.config.PurgeProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves places and groups soft-deleted longer than {@code places.purge.retention} into the archive
+ * tables. Memberships reference {@code place_groups} and {@code place_keys}, whose row a place's
+ * delete trigger removes, so memberships are archived first and a place or group only once none
+ * reference it; no batch deletes a referenced row. Each batch is its own short transaction that
+ * locks only the rows it moves ({@code SKIP LOCKED}), so the job never blocks writers and several
+ * instances can run it at once.
+ */
+@Component
+public class SoftDeletePurgeJob {
+
+  private static final Logger log = LoggerFactory.getLogger(SoftDeletePurgeJob.class);
+
+  private static final String ARCHIVE_PLACE_MEMBERSHIPS_SQL = """
+      WITH batch AS (
+        SELECT m.place_id, m.group_id
+        FROM places p
+        JOIN place_group_membership m ON m.place_id = p.id
+        WHERE p.deleted = true AND (p.deleted_at IS NULL OR p.deleted_at < ?)
+        LIMIT ?
+        FOR UPDATE OF m SKIP LOCKED
+      ), moved AS (
+        DELETE FROM place_group_membership m
+        USING batch b
+        WHERE m.place_id = b.place_id AND m.group_id = b.group_id
+        RETURNING m.place_id, m.group_id
+      )
+      INSERT INTO place_group_membership_archive (place_id, group_id)
+      SELECT place_id, group_id FROM moved
+      ON CONFLICT DO NOTHING
+      """;
+
+  private static final String ARCHIVE_GROUP_MEMBERSHIPS_SQL = """
+      WITH batch AS (
+        SELECT m.place_id, m.group_id
+        FROM place_groups g
+        JOIN place_group_membership m ON m.group_id = g.id
+        WHERE g.deleted = true AND (g.deleted_at IS NULL OR g.deleted_at < ?)
+        LIMIT ?
+        FOR UPDATE OF m SKIP LOCKED
+      ), moved AS (
+        DELETE FROM place_group_membership m
+        USING batch b
+        WHERE m.place_id = b.place_id AND m.group_id = b.group_id
+        RETURNING m.place_id, m.group_id
+      )
+      INSERT INTO place_group_membership_archive (place_id, group_id)
+      SELECT place_id, group_id FROM moved
+      ON CONFLICT DO NOTHING
+      """;
+
+  private static final String ARCHIVE_PLACES_SQL = """
+      WITH batch AS (
+        SELECT p.id
+        FROM places p
+        WHERE p.deleted = true AND (p.deleted_at IS NULL OR p.deleted_at < ?)
+          AND NOT EXISTS (SELECT 1 FROM place_group_membership m WHERE m.place_id = p.id)
+        ORDER BY p.deleted_at
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      ), moved AS (
+        DELETE FROM places p
+        USING batch b
+        WHERE p.id = b.id
+        RETURNING p.id, p.name, p.description, p.category, p.location, p.visit_radius_meters,
+                  p.deleted_at, p.created_at, p.updated_at
+      )
+      INSERT INTO places_archive (
+        id, name, description, category, location, visit_radius_meters, deleted_at, created_at, updated_at)
+      SELECT * FROM moved
+      ON CONFLICT (id) DO NOTHING
+      """;
+
+  private static final String ARCHIVE_GROUPS_SQL = """
+      WITH batch AS (
+        SELECT g.id
+        FROM place_groups g
+        WHERE g.deleted = true AND (g.deleted_at IS NULL OR g.deleted_at < ?)
+          AND NOT EXISTS (SELECT 1 FROM place_group_membership m WHERE m.group_id = g.id)
+        ORDER BY g.deleted_at
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      ), moved AS (
+        DELETE FROM place_groups g
+        USING batch b
+        WHERE g.id = b.id
+        RETURNING g.id, g.name, g.description, g.place_count, g.deleted_at, g.created_at, g.updated_at
+      )
+      INSERT INTO place_groups_archive (id, name, description, place_count, deleted_at, created_at, updated_at)
+      SELECT * FROM moved
+      ON CONFLICT (id) DO NOTHING
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final PurgeProperties properties;
+
+  public SoftDeletePurgeJob(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      PurgeProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+  }
+
+  @Scheduled(
+      initialDelayString = "${places.purge.initial-delay:5m}",
+      fixedDelayString = "${places.purge.interval:1h}")
+  public void purge() {
+    if (!properties.enabled()) {
+      return;
+    }
+    Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.retention()));
+    long started = System.nanoTime();
+    long memberships = archive("place_group_membership", ARCHIVE_PLACE_MEMBERSHIPS_SQL, cutoff)
+        + archive("place_group_membership", ARCHIVE_GROUP_MEMBERSHIPS_SQL, cutoff);
+    long places = archive("places", ARCHIVE_PLACES_SQL, cutoff);
+    long groups = archive("place_groups", ARCHIVE_GROUPS_SQL, cutoff);
+    if (memberships + places + groups > 0) {
+      log.info("Archived {} places, {} groups and {} memberships deleted before {} in {} ms",
+          places, groups, memberships, cutoff.toInstant(), (System.nanoTime() - started) / 1_000_000);
+    }
+  }
+
+  private long archive(String table, String sql, Timestamp cutoff) {
+    int batchSize = Math.max(1, properties.batchSize());
+    Timer batchTimer = Timer.builder("places.purge.batch")
+        .description("Time to archive one batch of soft-deleted rows")
+        .tag("table", table)
+        .register(meterRegistry);
+    long total = 0;
+    while (!Thread.currentThread().isInterrupted()) {
+      Integer moved = batchTimer.record(() -> transactionTemplate.execute(
+          status -> jdbcTemplate.update(sql, cutoff, batchSize)));
+      int rows = moved != null ? moved : 0;
+      meterRegistry.counter("places.purge.rows", "table", table).increment(rows);
+      total += rows;
+      if (rows < batchSize) {
+        return total;
+      }
+      pause();
+    }
+    return total;
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(properties.pauseBetweenBatches());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
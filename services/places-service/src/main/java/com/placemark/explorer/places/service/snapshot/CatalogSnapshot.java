@@ -0,0 +1,132 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped view of a snapshot file. Opening only maps the columns, so it takes
+ * milliseconds regardless of size; pages are loaded by the OS as they are read. Instances are safe
+ * to share between threads.
+ */
+public final class CatalogSnapshot {
+
+  private final Instant createdAt;
+  private final ChangeCursor changeCursor;
+  private final int size;
+  private final PlaceCategory[] categories;
+  private final LongBuffer idMsb;
+  private final LongBuffer idLsb;
+  private final IntBuffer latitude;
+  private final IntBuffer longitude;
+  private final IntBuffer visitRadius;
+  private final ByteBuffer category;
+  private final IntBuffer groupStart;
+  private final LongBuffer groupMsb;
+  private final LongBuffer groupLsb;
+
+  private CatalogSnapshot(FileChannel channel) throws IOException {
+    if (channel.size() < SnapshotLayout.HEADER_BYTES) {
+      throw new IOException("Not a catalog snapshot");
+    }
+    ByteBuffer header = map(channel, 0, SnapshotLayout.HEADER_BYTES);
+    if (header.getInt(0) != SnapshotLayout.MAGIC) {
+      throw new IOException("Not a catalog snapshot");
+    }
+    if (header.getShort(4) != SnapshotLayout.VERSION) {
+      throw new IOException("Unsupported catalog snapshot version " + header.getShort(4));
+    }
+    this.createdAt = Instant.ofEpochMilli(header.getLong(8));
+    this.changeCursor = new ChangeCursor(header.getLong(16), header.getLong(24));
+    this.size = header.getInt(32);
+    SnapshotLayout layout = new SnapshotLayout(header.getLong(40), size, header.getInt(36));
+    if (channel.size() < layout.fileSize()) {
+      throw new IOException("Truncated catalog snapshot");
+    }
+
+    ByteBuffer names = map(channel, SnapshotLayout.HEADER_BYTES, layout.dataOffset() - SnapshotLayout.HEADER_BYTES);
+    this.categories = new PlaceCategory[header.getShort(6)];
+    for (int i = 0; i < categories.length; i++) {
+      byte[] name = new byte[names.get() & 0xff];
+      names.get(name);
+      categories[i] = PlaceCategory.valueOf(new String(name, StandardCharsets.UTF_8));
+    }
+
+    this.idMsb = map(channel, layout.idMsbOffset(), 8L * size).asLongBuffer();
+    this.idLsb = map(channel, layout.idLsbOffset(), 8L * size).asLongBuffer();
+    this.latitude = map(channel, layout.latitudeOffset(), 4L * size).asIntBuffer();
+    this.longitude = map(channel, layout.longitudeOffset(), 4L * size).asIntBuffer();
+    this.visitRadius = map(channel, layout.visitRadiusOffset(), 4L * size).asIntBuffer();
+    this.category = map(channel, layout.categoryOffset(), size);
+    this.groupStart = map(channel, layout.groupStartOffset(), 4L * (size + 1)).asIntBuffer();
+    this.groupMsb = map(channel, layout.groupMsbOffset(), 8L * layout.membershipCount()).asLongBuffer();
+    this.groupLsb = map(channel, layout.groupLsbOffset(), 8L * layout.membershipCount()).asLongBuffer();
+  }
+
+  public static CatalogSnapshot open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new CatalogSnapshot(channel);
+    } catch (IllegalArgumentException ex) {
+      throw new IOException("Corrupt catalog snapshot: " + path, ex);
+    }
+  }
+
+  public Instant createdAt() {
+    return createdAt;
+  }
+
+  /** Change feed position the snapshot is consistent with; read {@code /changes} from here on. */
+  public ChangeCursor changeCursor() {
+    return changeCursor;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public UUID id(int index) {
+    return new UUID(idMsb.get(index), idLsb.get(index));
+  }
+
+  public PlaceCategory category(int index) {
+    return categories[category.get(index)];
+  }
+
+  public double latitude(int index) {
+    return latitude.get(index) / SnapshotLayout.COORDINATE_SCALE;
+  }
+
+  public double longitude(int index) {
+    return longitude.get(index) / SnapshotLayout.COORDINATE_SCALE;
+  }
+
+  public int visitRadiusMeters(int index) {
+    return visitRadius.get(index);
+  }
+
+  public List<UUID> groupIds(int index) {
+    int from = groupStart.get(index);
+    int to = groupStart.get(index + 1);
+    List<UUID> groupIds = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      groupIds.add(new UUID(groupMsb.get(i), groupLsb.get(i)));
+    }
+    return groupIds;
+  }
+
+  private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
@@ -0,0 +1,36 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.config.SnapshotProperties;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline export: started with {@code places.snapshot.export-path} set, the application writes one
+ * snapshot to that path and exits instead of serving requests.
+ */
+@Component
+public class CatalogSnapshotExporter implements ApplicationRunner {
+
+  private final CatalogSnapshotService snapshotService;
+  private final SnapshotProperties properties;
+  private final ConfigurableApplicationContext context;
+
+  public CatalogSnapshotExporter(
+      CatalogSnapshotService snapshotService, SnapshotProperties properties, ConfigurableApplicationContext context) {
+    this.snapshotService = snapshotService;
+    this.properties = properties;
+    this.context = context;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (properties.exportPath() == null) {
+      return;
+    }
+    snapshotService.export(properties.exportPath());
+    System.exit(SpringApplication.exit(context));
+  }
+}
@@ -0,0 +1,213 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.config.SnapshotProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.exception.ServiceUnavailableException;
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Array;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes all live places into a {@link CatalogSnapshot} file. Counts, rows and the change cursor
+ * are read in one repeatable-read transaction, so the file is consistent with the cursor: every
+ * change before it is included, and replaying the feed from it only repeats changes the file may
+ * already contain.
+ *
+ * <p>{@link #current()} never builds on the caller's thread: a stale snapshot is rebuilt in the
+ * background into a new file while the previous one keeps being served.
+ */
+@Service
+public class CatalogSnapshotService implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+  static final String FILE_NAME = "catalog.snapshot";
+  private static final String FILE_PREFIX = "catalog-";
+  private static final String FILE_SUFFIX = ".snapshot";
+
+  private static final String SNAPSHOT_XMIN_SQL =
+      "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)";
+
+  private static final String COUNT_PLACES_SQL = "SELECT COUNT(*) FROM places p WHERE p.deleted = false";
+
+  private static final String COUNT_MEMBERSHIPS_SQL = """
+      SELECT COUNT(*)
+      FROM place_group_membership m
+      JOIN places p ON p.id = m.place_id AND p.deleted = false
+      JOIN place_groups g ON g.id = m.group_id AND g.deleted = false
+      """;
+
+  private static final String LOAD_SQL = """
+      SELECT p.id,
+             p.category,
+             ST_Y(p.location::geometry) AS latitude,
+             ST_X(p.location::geometry) AS longitude,
+             p.visit_radius_meters,
+             ARRAY(
+               SELECT m.group_id
+               FROM place_group_membership m
+               JOIN place_groups g ON g.id = m.group_id AND g.deleted = false
+               WHERE m.place_id = p.id
+               ORDER BY m.group_id
+             ) AS group_ids
+      FROM places p
+      WHERE p.deleted = false
+      ORDER BY p.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final SnapshotProperties properties;
+  private final ExecutorService builder =
+      Executors.newSingleThreadExecutor(Thread.ofPlatform().name("snapshot-build").daemon().factory());
+  private final AtomicBoolean building = new AtomicBoolean();
+  private volatile SnapshotFile latest;
+  private SnapshotFile previous;
+
+  public CatalogSnapshotService(
+      DataSource dataSource, PlatformTransactionManager transactionManager, SnapshotProperties properties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(properties.fetchSize());
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.properties = properties;
+  }
+
+  /**
+   * Returns the last snapshot written by this instance and starts a background rebuild once it is
+   * older than the max age.
+   *
+   * @throws ServiceUnavailableException while the first snapshot is being built
+   */
+  public SnapshotFile current() {
+    SnapshotFile snapshot = latest;
+    if ((snapshot == null || snapshot.createdAt().isBefore(Instant.now().minus(properties.maxAge())))
+        && building.compareAndSet(false, true)) {
+      try {
+        builder.execute(this::rebuild);
+      } catch (RejectedExecutionException ex) {
+        building.set(false);
+      }
+    }
+    if (snapshot == null) {
+      throw new ServiceUnavailableException("Catalog snapshot is being built, retry later");
+    }
+    return snapshot;
+  }
+
+  // Each build gets its own file, so a download that started on the previous file keeps reading
+  // it; the one before that is deleted.
+  private void rebuild() {
+    try {
+      if (latest == null) {
+        deleteFilesOfEarlierRuns();
+      }
+      Path target = properties.directory().resolve(FILE_PREFIX + System.currentTimeMillis() + FILE_SUFFIX);
+      SnapshotFile built = export(target);
+      SnapshotFile obsolete = previous;
+      previous = latest;
+      latest = built;
+      if (obsolete != null) {
+        Files.deleteIfExists(obsolete.path());
+      }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Catalog snapshot build failed, serving the previous snapshot", ex);
+    } finally {
+      building.set(false);
+    }
+  }
+
+  private void deleteFilesOfEarlierRuns() throws IOException {
+    if (!Files.isDirectory(properties.directory())) {
+      return;
+    }
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(properties.directory(), FILE_PREFIX + "*" + FILE_SUFFIX)) {
+      for (Path file : files) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    builder.shutdownNow();
+  }
+
+  public SnapshotFile export(Path target) {
+    long started = System.nanoTime();
+    Instant createdAt = Instant.now();
+    Path directory = target.toAbsolutePath().getParent();
+    Path temp = null;
+    try {
+      Files.createDirectories(directory);
+      temp = Files.createTempFile(directory, FILE_NAME, ".tmp");
+      Path file = temp;
+      SnapshotFile snapshot = transactionTemplate.execute(status -> write(file, target, createdAt));
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.info("Catalog snapshot with {} places written to {} in {} ms",
+          snapshot.placeCount(), target, (System.nanoTime() - started) / 1_000_000);
+      return snapshot;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ex) {
+          log.warn("Could not delete {}", temp, ex);
+        }
+      }
+    }
+  }
+
+  private SnapshotFile write(Path file, Path target, Instant createdAt) {
+    // The first statement fixes the transaction's snapshot; everything below xmin is visible in it.
+    ChangeCursor cursor = new ChangeCursor(jdbcTemplate.queryForObject(SNAPSHOT_XMIN_SQL, Long.class), 0);
+    int placeCount = Math.toIntExact(jdbcTemplate.queryForObject(COUNT_PLACES_SQL, Long.class));
+    int membershipCount = Math.toIntExact(jdbcTemplate.queryForObject(COUNT_MEMBERSHIPS_SQL, Long.class));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      CatalogSnapshotWriter writer = new CatalogSnapshotWriter(channel, placeCount, membershipCount, cursor, createdAt);
+      jdbcTemplate.query(LOAD_SQL, rs -> {
+        try {
+          Array groupIds = rs.getArray("group_ids");
+          writer.append(
+              rs.getObject("id", UUID.class),
+              PlaceCategory.valueOf(rs.getString("category")),
+              rs.getDouble("latitude"),
+              rs.getDouble("longitude"),
+              rs.getInt("visit_radius_meters"),
+              (UUID[]) groupIds.getArray());
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      });
+      writer.finish();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return new SnapshotFile(target, cursor, createdAt, placeCount);
+  }
+}
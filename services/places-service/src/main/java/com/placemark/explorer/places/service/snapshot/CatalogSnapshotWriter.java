@@ -0,0 +1,162 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Writes a snapshot in {@link SnapshotLayout} order. The counts are fixed up front, so every column
+ * is written straight to its final position through a small buffer; the header goes last, which
+ * leaves an unfinished file without a valid magic number.
+ */
+final class CatalogSnapshotWriter {
+
+  private static final int BUFFER_BYTES = 64 * 1024;
+
+  private final FileChannel channel;
+  private final SnapshotLayout layout;
+  private final ChangeCursor cursor;
+  private final Instant createdAt;
+  private final byte[][] categoryNames;
+  private final Column idMsb;
+  private final Column idLsb;
+  private final Column latitude;
+  private final Column longitude;
+  private final Column visitRadius;
+  private final Column category;
+  private final Column groupStart;
+  private final Column groupMsb;
+  private final Column groupLsb;
+  private int places;
+  private int memberships;
+
+  CatalogSnapshotWriter(
+      FileChannel channel, int placeCount, int membershipCount, ChangeCursor cursor, Instant createdAt)
+      throws IOException {
+    this.channel = channel;
+    this.cursor = cursor;
+    this.createdAt = createdAt;
+    PlaceCategory[] categories = PlaceCategory.values();
+    this.categoryNames = new byte[categories.length][];
+    long dataOffset = SnapshotLayout.HEADER_BYTES;
+    for (PlaceCategory value : categories) {
+      categoryNames[value.ordinal()] = value.name().getBytes(StandardCharsets.UTF_8);
+      dataOffset += 1 + categoryNames[value.ordinal()].length;
+    }
+    this.layout = new SnapshotLayout(SnapshotLayout.align(dataOffset), placeCount, membershipCount);
+    this.idMsb = new Column(layout.idMsbOffset());
+    this.idLsb = new Column(layout.idLsbOffset());
+    this.latitude = new Column(layout.latitudeOffset());
+    this.longitude = new Column(layout.longitudeOffset());
+    this.visitRadius = new Column(layout.visitRadiusOffset());
+    this.category = new Column(layout.categoryOffset());
+    this.groupStart = new Column(layout.groupStartOffset());
+    this.groupMsb = new Column(layout.groupMsbOffset());
+    this.groupLsb = new Column(layout.groupLsbOffset());
+    channel.truncate(0);
+  }
+
+  void append(UUID id, PlaceCategory placeCategory, double lat, double lon, int radiusMeters, UUID[] groupIds)
+      throws IOException {
+    if (places == layout.placeCount() || memberships + groupIds.length > layout.membershipCount()) {
+      throw new IllegalStateException("Catalog changed while writing the snapshot");
+    }
+    idMsb.putLong(id.getMostSignificantBits());
+    idLsb.putLong(id.getLeastSignificantBits());
+    latitude.putInt((int) Math.round(lat * SnapshotLayout.COORDINATE_SCALE));
+    longitude.putInt((int) Math.round(lon * SnapshotLayout.COORDINATE_SCALE));
+    visitRadius.putInt(radiusMeters);
+    category.put((byte) placeCategory.ordinal());
+    groupStart.putInt(memberships);
+    for (UUID groupId : groupIds) {
+      groupMsb.putLong(groupId.getMostSignificantBits());
+      groupLsb.putLong(groupId.getLeastSignificantBits());
+    }
+    memberships += groupIds.length;
+    places++;
+  }
+
+  void finish() throws IOException {
+    if (places != layout.placeCount() || memberships != layout.membershipCount()) {
+      throw new IllegalStateException("Catalog changed while writing the snapshot");
+    }
+    groupStart.putInt(memberships);
+    for (Column column : new Column[] {
+        idMsb, idLsb, latitude, longitude, visitRadius, category, groupStart, groupMsb, groupLsb}) {
+      column.flush();
+    }
+    long written = channel.size();
+    if (written < layout.fileSize()) {
+      write(ByteBuffer.allocate((int) (layout.fileSize() - written)), written);
+    }
+
+    ByteBuffer header = ByteBuffer.allocate((int) layout.dataOffset()).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(SnapshotLayout.MAGIC)
+        .putShort(SnapshotLayout.VERSION)
+        .putShort((short) categoryNames.length)
+        .putLong(createdAt.toEpochMilli())
+        .putLong(cursor.txid())
+        .putLong(cursor.seq())
+        .putInt(layout.placeCount())
+        .putInt(layout.membershipCount())
+        .putLong(layout.dataOffset());
+    header.position(SnapshotLayout.HEADER_BYTES);
+    for (byte[] name : categoryNames) {
+      header.put((byte) name.length).put(name);
+    }
+    header.clear();
+    write(header, 0);
+    channel.force(true);
+  }
+
+  private void write(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private final class Column {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long position;
+
+    private Column(long position) {
+      this.position = position;
+    }
+
+    void putLong(long value) throws IOException {
+      reserve(Long.BYTES);
+      buffer.putLong(value);
+    }
+
+    void putInt(int value) throws IOException {
+      reserve(Integer.BYTES);
+      buffer.putInt(value);
+    }
+
+    void put(byte value) throws IOException {
+      reserve(1);
+      buffer.put(value);
+    }
+
+    void flush() throws IOException {
+      buffer.flip();
+      long start = position;
+      position += buffer.remaining();
+      write(buffer, start);
+      buffer.clear();
+    }
+
+    private void reserve(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+        flush();
+      }
+    }
+  }
+}
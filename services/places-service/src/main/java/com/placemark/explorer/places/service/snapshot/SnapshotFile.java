@@ -0,0 +1,7 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.nio.file.Path;
+import java.time.Instant;
+
+public record SnapshotFile(Path path, ChangeCursor changeCursor, Instant createdAt, int placeCount) {}
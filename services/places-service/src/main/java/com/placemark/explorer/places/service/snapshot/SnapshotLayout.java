@@ -0,0 +1,70 @@
+package com.placemark.explorer.places.service.snapshot;
+
+/**
+ * Byte layout of a catalog snapshot file. All values are little-endian and every column starts on
+ * an 8-byte boundary:
+ *
+ * <pre>
+ * header       64 bytes: magic, format version, category count, created-at millis, change cursor
+ *              (txid, seq), place count, membership count, data offset
+ * categories   category names (length byte + UTF-8), indexed by the category column
+ * id_msb       long[places]    id_lsb    long[places]
+ * latitude     int[places]     longitude int[places]   (degrees * 10^7)
+ * visit_radius int[places]     category  byte[places]
+ * group_start  int[places + 1] offsets into the group columns
+ * group_msb    long[memberships]  group_lsb long[memberships]
+ * </pre>
+ *
+ * Places are sorted by ID and each place's group IDs are sorted too.
+ */
+record SnapshotLayout(long dataOffset, int placeCount, int membershipCount) {
+
+  static final int MAGIC = 0x53434d50; // "PMCS"
+  static final short VERSION = 1;
+  static final int HEADER_BYTES = 64;
+  static final double COORDINATE_SCALE = 1e7;
+
+  long idMsbOffset() {
+    return dataOffset;
+  }
+
+  long idLsbOffset() {
+    return idMsbOffset() + 8L * placeCount;
+  }
+
+  long latitudeOffset() {
+    return idLsbOffset() + 8L * placeCount;
+  }
+
+  long longitudeOffset() {
+    return align(latitudeOffset() + 4L * placeCount);
+  }
+
+  long visitRadiusOffset() {
+    return align(longitudeOffset() + 4L * placeCount);
+  }
+
+  long categoryOffset() {
+    return align(visitRadiusOffset() + 4L * placeCount);
+  }
+
+  long groupStartOffset() {
+    return align(categoryOffset() + placeCount);
+  }
+
+  long groupMsbOffset() {
+    return align(groupStartOffset() + 4L * (placeCount + 1));
+  }
+
+  long groupLsbOffset() {
+    return groupMsbOffset() + 8L * membershipCount;
+  }
+
+  long fileSize() {
+    return groupLsbOffset() + 8L * membershipCount;
+  }
+
+  static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+}
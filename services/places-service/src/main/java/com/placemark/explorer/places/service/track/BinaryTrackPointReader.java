@@ -0,0 +1,45 @@
+package com.placemark.explorer.places.service.track;
+
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads 8-byte big-endian records: latitude and longitude as signed 32-bit integers in units of
+ * 1e-7 degrees (the same fixed-point encoding used by OSM).
+ */
+class BinaryTrackPointReader implements TrackPointReader {
+
+  static final double DEGREES_PER_UNIT = 1e-7;
+
+  private static final int RECORD_BYTES = 8;
+
+  private final InputStream input;
+  private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+
+  BinaryTrackPointReader(InputStream input) {
+    this.input = new BufferedInputStream(input);
+  }
+
+  @Override
+  public TrackPointRequest next() throws IOException {
+    // readNBytes only returns short at the end of the stream, so a short read is a truncated record.
+    int read = input.readNBytes(record.array(), 0, RECORD_BYTES);
+    if (read == 0) {
+      return null;
+    }
+    if (read < RECORD_BYTES) {
+      throw new BadRequestException(
+          "Binary track length must be a multiple of 8 bytes, found " + read + " trailing bytes");
+    }
+    return new TrackPointRequest(record.getInt(0) * DEGREES_PER_UNIT, record.getInt(4) * DEGREES_PER_UNIT);
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+}
@@ -0,0 +1,81 @@
+package com.placemark.explorer.places.service.track;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams positions out of every {@code coordinates} member of a GeoJSON document (LineString,
+ * Feature or FeatureCollection) in document order, without materializing the document.
+ */
+class GeoJsonTrackPointReader implements TrackPointReader {
+
+  private final JsonParser parser;
+  private int coordinatesDepth = -1;
+  private int depth;
+
+  GeoJsonTrackPointReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+    this.parser = objectMapper.getFactory().createParser(input);
+  }
+
+  @Override
+  public TrackPointRequest next() throws IOException {
+    try {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        if (token == JsonToken.FIELD_NAME) {
+          if (coordinatesDepth < 0 && "coordinates".equals(parser.currentName())) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+              coordinatesDepth = depth++;
+            } else {
+              parser.skipChildren();
+            }
+          }
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+          depth++;
+        } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+          closeContainer();
+        } else if (token.isNumeric() && coordinatesDepth >= 0) {
+          return readPosition();
+        }
+      }
+      return null;
+    } catch (JsonProcessingException ex) {
+      throw new BadRequestException("Malformed GeoJSON track: " + ex.getOriginalMessage());
+    }
+  }
+
+  private TrackPointRequest readPosition() throws IOException {
+    double longitude = parser.getDoubleValue();
+    JsonToken token = parser.nextToken();
+    if (token == null || !token.isNumeric()) {
+      throw new BadRequestException("GeoJSON positions must be [longitude, latitude]");
+    }
+    double latitude = parser.getDoubleValue();
+    // Skip optional elevation/measure values.
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == null) {
+        throw new BadRequestException("Unexpected end of GeoJSON track");
+      }
+    }
+    closeContainer();
+    return new TrackPointRequest(latitude, longitude);
+  }
+
+  private void closeContainer() {
+    depth--;
+    if (depth == coordinatesDepth) {
+      coordinatesDepth = -1;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
@@ -0,0 +1,32 @@
+package com.placemark.explorer.places.service.track;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+
+class NdjsonTrackPointReader implements TrackPointReader {
+
+  private final MappingIterator<TrackPointRequest> iterator;
+
+  NdjsonTrackPointReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+    this.iterator = objectMapper.readerFor(TrackPointRequest.class).readValues(input);
+  }
+
+  @Override
+  public TrackPointRequest next() throws IOException {
+    try {
+      return iterator.hasNextValue() ? iterator.nextValue() : null;
+    } catch (JsonProcessingException ex) {
+      throw new BadRequestException("Malformed NDJSON track point: " + ex.getOriginalMessage());
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    iterator.close();
+  }
+}
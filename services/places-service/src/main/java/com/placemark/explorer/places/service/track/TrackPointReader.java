@@ -0,0 +1,11 @@
+package com.placemark.explorer.places.service.track;
+
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface TrackPointReader extends Closeable {
+
+  /** Returns the next point of the track, or {@code null} once the stream is exhausted. */
+  TrackPointRequest next() throws IOException;
+}
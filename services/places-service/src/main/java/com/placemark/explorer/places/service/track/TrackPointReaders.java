@@ -0,0 +1,30 @@
+package com.placemark.explorer.places.service.track;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public final class TrackPointReaders {
+
+  public static final String GEO_JSON_VALUE = "application/geo+json";
+
+  private static final MediaType GEO_JSON = MediaType.parseMediaType(GEO_JSON_VALUE);
+
+  private TrackPointReaders() {}
+
+  public static TrackPointReader open(MediaType contentType, InputStream input, ObjectMapper objectMapper)
+      throws IOException {
+    if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+      return new NdjsonTrackPointReader(input, objectMapper);
+    }
+    if (GEO_JSON.isCompatibleWith(contentType)) {
+      return new GeoJsonTrackPointReader(input, objectMapper);
+    }
+    if (MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(contentType)) {
+      return new BinaryTrackPointReader(input);
+    }
+    throw new BadRequestException("Unsupported track content type: " + contentType);
+  }
+}
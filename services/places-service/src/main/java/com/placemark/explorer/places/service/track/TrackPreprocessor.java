@@ -0,0 +1,164 @@
+package com.placemark.explorer.places.service.track;
+
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.geo.GeoMath;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.locationtech.jts.geom.Point;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shrinks a raw GPS track before spatial matching: drops isolated outlier fixes, collapses jitter
+ * and simplifies with Douglas-Peucker. Places are matched against the reduced track, so the result
+ * is not exact: a place can be gained as well as lost. Jitter removal and simplification together
+ * move the track by at most the tolerance, capped by a fraction of the smallest visit radius in the
+ * catalog, so they only reclassify places whose distance to the raw track lies within that
+ * tolerance of their own radius. Outlier removal is not bounded: a place only the dropped fix
+ * passed is lost.
+ */
+@Component
+public class TrackPreprocessor {
+
+  // Bounds the quadratic worst case of Douglas-Peucker on pathological (e.g. spiral) tracks.
+  private static final int SIMPLIFICATION_BLOCK_POINTS = 10_000;
+
+  private final PlaceRepository placeRepository;
+  private final TrackProperties.Preprocessing properties;
+  private volatile int cachedMinRadius = -1;
+  private volatile long cachedMinRadiusExpiresAt;
+
+  public TrackPreprocessor(PlaceRepository placeRepository, TrackProperties properties) {
+    this.placeRepository = placeRepository;
+    this.properties = properties.preprocessing();
+    if (this.properties.segmentMaxPoints() < 2) {
+      throw new IllegalArgumentException("places.track.preprocessing.segment-max-points must be at least 2");
+    }
+  }
+
+  public List<Point> preprocess(List<Point> points) {
+    if (!properties.enabled() || points.size() <= 2) {
+      return points;
+    }
+
+    List<Point> result = properties.outlierJumpMeters() > 0 ? removeOutliers(points) : points;
+    double tolerance = effectiveToleranceMeters();
+    if (tolerance > 0) {
+      // Each stage may move the track by at most half of the tolerance.
+      result = removeJitter(result, tolerance / 2);
+      result = simplify(result, tolerance / 2);
+    }
+    return result;
+  }
+
+  public List<List<Point>> segment(List<Point> points) {
+    if (!properties.enabled() || points.size() <= properties.segmentMaxPoints()) {
+      return List.of(points);
+    }
+
+    List<List<Point>> segments = new ArrayList<>();
+    int step = properties.segmentMaxPoints() - 1;
+    for (int from = 0; from < points.size() - 1; from += step) {
+      segments.add(points.subList(from, Math.min(from + properties.segmentMaxPoints(), points.size())));
+    }
+    return segments;
+  }
+
+  double effectiveToleranceMeters() {
+    Integer minRadius = minVisitRadiusMeters();
+    if (minRadius == null) {
+      return 0;
+    }
+    return Math.min(properties.toleranceMeters(), properties.maxToleranceRadiusRatio() * minRadius);
+  }
+
+  private Integer minVisitRadiusMeters() {
+    long now = System.nanoTime();
+    if (cachedMinRadius < 0 || now - cachedMinRadiusExpiresAt > 0) {
+      Integer minRadius = placeRepository.findMinVisitRadiusMeters();
+      cachedMinRadius = minRadius != null ? minRadius : 0;
+      cachedMinRadiusExpiresAt = now + properties.minRadiusCacheTtl().toNanos();
+    }
+    return cachedMinRadius > 0 ? cachedMinRadius : null;
+  }
+
+  private List<Point> removeOutliers(List<Point> points) {
+    double jump = properties.outlierJumpMeters();
+    List<Point> result = new ArrayList<>(points.size());
+    result.add(points.get(0));
+    for (int i = 1; i < points.size() - 1; i++) {
+      Point previous = result.get(result.size() - 1);
+      Point current = points.get(i);
+      Point next = points.get(i + 1);
+      boolean spike = distance(previous, current) > jump
+          && distance(current, next) > jump
+          && distance(previous, next) <= jump;
+      if (!spike) {
+        result.add(current);
+      }
+    }
+    result.add(points.get(points.size() - 1));
+    return result;
+  }
+
+  private static List<Point> removeJitter(List<Point> points, double minSpacingMeters) {
+    List<Point> result = new ArrayList<>(points.size());
+    result.add(points.get(0));
+    for (int i = 1; i < points.size() - 1; i++) {
+      if (distance(result.get(result.size() - 1), points.get(i)) > minSpacingMeters) {
+        result.add(points.get(i));
+      }
+    }
+    result.add(points.get(points.size() - 1));
+    return result;
+  }
+
+  static List<Point> simplify(List<Point> points, double toleranceMeters) {
+    int n = points.size();
+    boolean[] keep = new boolean[n];
+    keep[n - 1] = true;
+    for (int blockStart = 0; blockStart < n - 1; blockStart += SIMPLIFICATION_BLOCK_POINTS) {
+      keep[blockStart] = true;
+      simplifyBlock(points, blockStart, Math.min(blockStart + SIMPLIFICATION_BLOCK_POINTS, n - 1), toleranceMeters, keep);
+    }
+
+    List<Point> result = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      if (keep[i]) {
+        result.add(points.get(i));
+      }
+    }
+    return result;
+  }
+
+  private static void simplifyBlock(List<Point> points, int first, int last, double toleranceMeters, boolean[] keep) {
+    Deque<int[]> ranges = new ArrayDeque<>();
+    ranges.push(new int[] {first, last});
+    while (!ranges.isEmpty()) {
+      int[] range = ranges.pop();
+      Point a = points.get(range[0]);
+      Point b = points.get(range[1]);
+      double maxDistance = -1;
+      int farthest = -1;
+      for (int i = range[0] + 1; i < range[1]; i++) {
+        Point p = points.get(i);
+        double d = GeoMath.distanceToSegmentMeters(p.getY(), p.getX(), a.getY(), a.getX(), b.getY(), b.getX());
+        if (d > maxDistance) {
+          maxDistance = d;
+          farthest = i;
+        }
+      }
+      if (maxDistance > toleranceMeters) {
+        keep[farthest] = true;
+        ranges.push(new int[] {range[0], farthest});
+        ranges.push(new int[] {farthest, range[1]});
+      }
+    }
+  }
+
+  private static double distance(Point a, Point b) {
+    return GeoMath.distanceMeters(a.getY(), a.getX(), b.getY(), b.getX());
+  }
+}
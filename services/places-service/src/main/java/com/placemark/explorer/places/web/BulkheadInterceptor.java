@@ -0,0 +1,57 @@
+package com.placemark.explorer.places.web;
+
+import com.placemark.explorer.places.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Caps the number of geo queries running at once. Requests beyond the limit wait in FIFO order for
+ * up to {@code maxWait} (cheap on virtual threads) and are then rejected with 503, so a burst queues
+ * in front of the connection pool instead of timing out inside it while holding a transaction.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+  private final Semaphore permits;
+  private final long maxWaitNanos;
+
+  public BulkheadInterceptor(int maxConcurrentCalls, Duration maxWait) {
+    this.permits = new Semaphore(Math.max(1, maxConcurrentCalls), true);
+    this.maxWaitNanos = maxWait.toNanos();
+  }
+
+  int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+      return true;
+    }
+    try {
+      if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+        throw new ServiceUnavailableException("Too many concurrent geo queries, retry later");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while waiting for a geo query slot");
+    }
+    request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+      request.removeAttribute(PERMIT_ATTRIBUTE);
+      permits.release();
+    }
+  }
+}
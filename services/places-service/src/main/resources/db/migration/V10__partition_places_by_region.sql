@@ -0,0 +1,155 @@
+-- Places are list-partitioned by region: the first geohash character of their location, i.e. one of
+-- 32 cells of 45 x 45 degrees. Near and track queries add `p.region = ANY(...)` for the cells their
+-- bounding box touches, and the planner skips every other partition.
+--
+-- The move runs online, in four migrations:
+--   V10  creates the partitioned table next to `places` and mirrors every write into it
+--   V11  copies the existing rows in committed batches, outside a transaction
+--   V12  swaps the tables in one short transaction
+--   V13  validates the membership foreign key and analyzes the new table
+-- Only V12 takes an exclusive lock on `places`, and only for the renames.
+SET LOCAL lock_timeout = '10s';
+
+CREATE FUNCTION place_region(location GEOGRAPHY) RETURNS TEXT
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE AS $$
+  SELECT ST_GeoHash(location::geometry, 1)
+$$;
+
+-- A unique key on a partitioned table must contain the partition key, so the primary key becomes
+-- (region, id). place_keys holds one row per place ID across all partitions: its primary key keeps
+-- IDs unique and memberships reference it (from V12 on).
+CREATE TABLE place_keys (
+  id UUID PRIMARY KEY,
+  region TEXT NOT NULL
+);
+
+CREATE TABLE places_partitioned (
+  LIKE places INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED,
+  region TEXT NOT NULL,
+  PRIMARY KEY (region, id)
+) PARTITION BY LIST (region);
+
+-- The copy gets a corrected visit_envelope. The V6 box clamps the latitude at 89 degrees, which is
+-- too narrow for circles that reach past it, and misses that a circle reaching close to a pole
+-- spans every longitude: such circles now get a box over all longitudes up to the pole. The 10 m on
+-- top of the 1% covers the densified track, whose 1 km planar chords stray about a metre from the
+-- great circle below 89 degrees; near the poles a chord can stray up to its length, so the polar
+-- boxes reach 1 km further. Track queries test the box against the track shifted by 360 degrees
+-- both ways as well, for boxes that extend past the antimeridian.
+ALTER TABLE places_partitioned
+  DROP COLUMN visit_envelope,
+  ADD COLUMN visit_envelope GEOMETRY GENERATED ALWAYS AS (
+    CASE
+      WHEN ST_Y(location::geometry) + (1.01 * visit_radius_meters + 10) / 110574.0 >= 89 THEN ST_MakeEnvelope(
+        -180, ST_Y(location::geometry) - (1.01 * visit_radius_meters + 1010) / 110574.0, 180, 90, 4326)
+      WHEN ST_Y(location::geometry) - (1.01 * visit_radius_meters + 10) / 110574.0 <= -89 THEN ST_MakeEnvelope(
+        -180, -90, 180, ST_Y(location::geometry) + (1.01 * visit_radius_meters + 1010) / 110574.0, 4326)
+      ELSE ST_Expand(
+        location::geometry,
+        (1.01 * visit_radius_meters + 10) / (111320.0
+          * cos(radians(abs(ST_Y(location::geometry)) + (1.01 * visit_radius_meters + 10) / 110574.0))),
+        (1.01 * visit_radius_meters + 10) / 110574.0)
+    END
+  ) STORED;
+
+DO $$
+DECLARE
+  region TEXT;
+BEGIN
+  FOREACH region IN ARRAY string_to_array('0123456789bcdefghjkmnpqrstuvwxyz', NULL) LOOP
+    EXECUTE format('CREATE TABLE %I PARTITION OF places_partitioned FOR VALUES IN (%L)', 'places_' || region, region);
+  END LOOP;
+END
+$$;
+
+-- Every inserted place claims its ID first; an ID that another row holds raises unique_violation.
+-- A key without a row may be taken: the inserting transaction claimed it ahead of the row (imports
+-- and the V11 backfill do, to skip IDs that exist), or the row is moving. PostgreSQL runs an UPDATE
+-- that changes the region as a DELETE from the old partition followed by an INSERT into the new
+-- one, and the old row is already gone when the INSERT triggers fire. The table is looked up
+-- through the partition's root, so the functions survive the rename in V12.
+CREATE FUNCTION claim_place_key() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  taken BOOLEAN;
+BEGIN
+  INSERT INTO place_keys (id, region) VALUES (NEW.id, NEW.region) ON CONFLICT (id) DO NOTHING;
+  IF NOT FOUND THEN
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE id = $1)', pg_partition_root(TG_RELID))
+      INTO taken USING NEW.id;
+    IF taken THEN
+      RAISE unique_violation USING
+        MESSAGE = format('place id %s already exists', NEW.id),
+        CONSTRAINT = 'place_keys_pkey';
+    END IF;
+    UPDATE place_keys SET region = NEW.region WHERE id = NEW.id AND region <> NEW.region;
+  END IF;
+  RETURN NEW;
+END
+$$;
+
+-- Deleted rows release their ID, except when the row moved to another partition: AFTER triggers run
+-- at the end of the statement, once the new row is in place.
+CREATE FUNCTION release_place_key() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  moved BOOLEAN;
+BEGIN
+  EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE id = $1)', pg_partition_root(TG_RELID))
+    INTO moved USING OLD.id;
+  IF NOT moved THEN
+    DELETE FROM place_keys WHERE id = OLD.id;
+  END IF;
+  RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_places_claim_key BEFORE INSERT ON places_partitioned
+  FOR EACH ROW EXECUTE FUNCTION claim_place_key();
+CREATE TRIGGER trg_places_release_key AFTER DELETE ON places_partitioned
+  FOR EACH ROW EXECUTE FUNCTION release_place_key();
+
+-- Same indexes as before, created on the parent so every partition gets its own. They are built
+-- while the table is empty and maintained row by row during the backfill. Names that the old table
+-- still uses get their final name in V12. Lookups by ID carry no region, so they probe the (id)
+-- index of each of the 32 partitions.
+CREATE INDEX idx_places_partitioned_location_gist ON places_partitioned USING GIST (location)
+  WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_visit_envelope_gist ON places_partitioned USING GIST (visit_envelope)
+  WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_category_location_gist ON places_partitioned USING GIST (category, location)
+  WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_category_visit_envelope_gist
+  ON places_partitioned USING GIST (category, visit_envelope) WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_mercator_gist ON places_partitioned USING GIST (place_mercator(location))
+  WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_category_id ON places_partitioned (category, id) WHERE deleted = false;
+CREATE INDEX idx_places_partitioned_deleted_at ON places_partitioned (deleted_at) WHERE deleted = true;
+CREATE INDEX idx_places_id ON places_partitioned (id);
+
+-- Track routing widens the track's box by the largest visit radius; MAX() reads one entry per partition.
+CREATE INDEX idx_places_live_visit_radius ON places_partitioned (visit_radius_meters) WHERE deleted = false;
+
+-- Until V12, every committed write to `places` is repeated on the partitioned copy: an update
+-- replaces the copy, which also moves it when the region changes. Rows the backfill has not reached
+-- yet are copied by their first update, and the backfill skips them.
+CREATE FUNCTION mirror_place() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    DELETE FROM places_partitioned WHERE region = place_region(OLD.location) AND id = OLD.id;
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    INSERT INTO places_partitioned (
+      id, name, description, category, location, visit_radius_meters, deleted, deleted_at, created_at,
+      updated_at, region)
+    VALUES (
+      NEW.id, NEW.name, NEW.description, NEW.category, NEW.location, NEW.visit_radius_meters, NEW.deleted,
+      NEW.deleted_at, NEW.created_at, NEW.updated_at, place_region(NEW.location));
+  END IF;
+  RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_places_mirror AFTER INSERT OR UPDATE OR DELETE ON places
+  FOR EACH ROW EXECUTE FUNCTION mirror_place();
@@ -0,0 +1,47 @@
+-- Copies the rows of `places` into the partitioned table in batches of 10000 IDs, committing after
+-- each, so writes continue throughout (see the .conf file next to this script). Each batch share-
+-- locks its rows: a concurrent update either finishes first and the batch copies its result, or
+-- waits and is then mirrored onto the copy. IDs are claimed in place_keys first, which skips rows
+-- that a write has already mirrored. If the migration fails, run `flyway repair` and migrate again:
+-- the copy resumes, since rows that are already in place are skipped.
+CREATE OR REPLACE PROCEDURE backfill_partitioned_places(batch_size INTEGER)
+LANGUAGE plpgsql AS $$
+DECLARE
+  from_id UUID := '00000000-0000-0000-0000-000000000000';
+  to_id UUID;
+BEGIN
+  LOOP
+    SELECT MAX(b.id) INTO to_id
+    FROM (SELECT id FROM places WHERE id >= from_id ORDER BY id LIMIT batch_size) b;
+    EXIT WHEN to_id IS NULL;
+
+    WITH batch AS (
+      SELECT id, name, description, category, location, visit_radius_meters, deleted, deleted_at, created_at,
+             updated_at
+      FROM places
+      WHERE id >= from_id AND id <= to_id
+      FOR SHARE
+    ), claimed AS (
+      INSERT INTO place_keys (id, region)
+      SELECT id, place_region(location) FROM batch
+      ON CONFLICT (id) DO NOTHING
+      RETURNING id
+    )
+    INSERT INTO places_partitioned (
+      id, name, description, category, location, visit_radius_meters, deleted, deleted_at, created_at,
+      updated_at, region)
+    SELECT b.id, b.name, b.description, b.category, b.location, b.visit_radius_meters, b.deleted, b.deleted_at,
+           b.created_at, b.updated_at, place_region(b.location)
+    FROM batch b
+    JOIN claimed c ON c.id = b.id;
+    COMMIT;
+
+    SELECT MIN(id) INTO from_id FROM places WHERE id > to_id;
+    EXIT WHEN from_id IS NULL;
+  END LOOP;
+END
+$$;
+
+CALL backfill_partitioned_places(10000);
+
+DROP PROCEDURE backfill_partitioned_places(INTEGER);
@@ -0,0 +1,27 @@
+-- Replaces `places` with the partitioned copy that V10 and V11 built. Nothing is copied here: the
+-- exclusive lock on `places` is held for the renames and the drop only. The lock wait is bounded,
+-- so a long-running transaction on `places` makes the migration fail instead of queueing every
+-- query behind it; migrate again once it is gone.
+SET LOCAL lock_timeout = '10s';
+
+LOCK TABLE places, place_group_membership IN ACCESS EXCLUSIVE MODE;
+
+DROP TRIGGER trg_places_mirror ON places;
+DROP FUNCTION mirror_place();
+
+-- Checked against existing rows in V13, which does not block writes.
+ALTER TABLE place_group_membership DROP CONSTRAINT fk_membership_place;
+ALTER TABLE place_group_membership
+  ADD CONSTRAINT fk_membership_place FOREIGN KEY (place_id) REFERENCES place_keys (id) NOT VALID;
+
+DROP TABLE places;
+
+ALTER TABLE places_partitioned RENAME TO places;
+ALTER TABLE places RENAME CONSTRAINT places_partitioned_pkey TO places_pkey;
+ALTER INDEX idx_places_partitioned_location_gist RENAME TO idx_places_location_gist;
+ALTER INDEX idx_places_partitioned_visit_envelope_gist RENAME TO idx_places_visit_envelope_gist;
+ALTER INDEX idx_places_partitioned_category_location_gist RENAME TO idx_places_category_location_gist;
+ALTER INDEX idx_places_partitioned_category_visit_envelope_gist RENAME TO idx_places_category_visit_envelope_gist;
+ALTER INDEX idx_places_partitioned_mercator_gist RENAME TO idx_places_mercator_gist;
+ALTER INDEX idx_places_partitioned_category_id RENAME TO idx_places_category_id;
+ALTER INDEX idx_places_partitioned_deleted_at RENAME TO idx_places_deleted_at;
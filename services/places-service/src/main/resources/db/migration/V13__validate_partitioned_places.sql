@@ -0,0 +1,4 @@
+-- VALIDATE only takes locks that let reads and writes continue while existing memberships are checked.
+ALTER TABLE place_group_membership VALIDATE CONSTRAINT fk_membership_place;
+
+ANALYZE places;
@@ -0,0 +1,13 @@
+ALTER TABLE place_groups ADD COLUMN place_count INTEGER NOT NULL DEFAULT 0 CHECK (place_count >= 0);
+
+UPDATE place_groups g
+SET place_count = (
+  SELECT COUNT(*)
+  FROM place_group_membership m
+  JOIN places p ON p.id = m.place_id
+  WHERE m.group_id = g.id
+    AND p.deleted = false
+);
+
+CREATE INDEX idx_membership_group_place ON place_group_membership (group_id, place_id);
+DROP INDEX idx_membership_group_id;
@@ -0,0 +1,15 @@
+CREATE TABLE place_import_jobs (
+  id UUID PRIMARY KEY,
+  source VARCHAR(1000) NOT NULL,
+  format VARCHAR(32) NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  rows_read BIGINT NOT NULL DEFAULT 0,
+  rows_imported BIGINT NOT NULL DEFAULT 0,
+  rows_rejected BIGINT NOT NULL DEFAULT 0,
+  run_started_at TIMESTAMPTZ NOT NULL,
+  run_start_offset BIGINT NOT NULL DEFAULT 0,
+  error TEXT,
+  finished_at TIMESTAMPTZ,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,13 @@
+-- Web Mercator position of a place, clamped to the latitude range Mercator can represent.
+CREATE FUNCTION place_mercator(location GEOGRAPHY) RETURNS GEOMETRY
+LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE AS $$
+  SELECT ST_Transform(
+    ST_SetSRID(
+      ST_MakePoint(
+        ST_X(location::geometry),
+        GREATEST(-85.0511, LEAST(85.0511, ST_Y(location::geometry)))),
+      4326),
+    3857)
+$$;
+
+CREATE INDEX idx_places_mercator_gist ON places USING GIST (place_mercator(location)) WHERE deleted = false;
@@ -0,0 +1,12 @@
+-- Lat/lon box that contains the whole visit circle of a place, so track queries can find candidate
+-- places through a GIST index before the exact ST_DWithin check. The longitude half-width uses the
+-- highest latitude the circle reaches; 1.01 leaves headroom for the spheroid versus the constants.
+ALTER TABLE places ADD COLUMN visit_envelope GEOMETRY GENERATED ALWAYS AS (
+  ST_Expand(
+    location::geometry,
+    1.01 * visit_radius_meters / (111320.0 * GREATEST(0.01,
+      cos(radians(LEAST(89.0, abs(ST_Y(location::geometry)) + visit_radius_meters / 110574.0))))),
+    1.01 * visit_radius_meters / 110574.0)
+) STORED;
+
+CREATE INDEX idx_places_visit_envelope_gist ON places USING GIST (visit_envelope);
@@ -0,0 +1,36 @@
+-- Every query reads live rows only (`deleted = false`, also added by the entities' @Where), so the
+-- indexes cover live rows only: soft-deleted places no longer take space in them or get visited
+-- and rechecked during scans, and the boolean b-tree indexes become unnecessary.
+--
+-- Runs outside a transaction (see the .conf file next to this script) so every index is built and
+-- dropped CONCURRENTLY: reads and writes continue, no downtime is needed. Each replaced index is
+-- built under a temporary name first, so queries always have one. If the migration fails, drop any
+-- index left INVALID (`\d places`), run `flyway repair` and migrate again; IF [NOT] EXISTS lets the
+-- statements that already ran be skipped.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_live_location_gist ON places USING GIST (location)
+  WHERE deleted = false;
+DROP INDEX CONCURRENTLY IF EXISTS idx_places_location_gist;
+ALTER INDEX IF EXISTS idx_places_live_location_gist RENAME TO idx_places_location_gist;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_live_visit_envelope_gist ON places USING GIST (visit_envelope)
+  WHERE deleted = false;
+DROP INDEX CONCURRENTLY IF EXISTS idx_places_visit_envelope_gist;
+ALTER INDEX IF EXISTS idx_places_live_visit_envelope_gist RENAME TO idx_places_visit_envelope_gist;
+
+-- Category-filtered near, nearest (KNN) and track queries match category and geometry in one index
+-- scan instead of fetching every nearby row to test its category.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_category_location_gist ON places USING GIST (category, location)
+  WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_category_visit_envelope_gist
+  ON places USING GIST (category, visit_envelope) WHERE deleted = false;
+
+-- Keyset listing (`ORDER BY id`) with and without a category filter.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_category_id ON places (category, id) WHERE deleted = false;
+DROP INDEX CONCURRENTLY IF EXISTS idx_places_category;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_places_live_id ON places (id) WHERE deleted = false;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_places_deleted;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_groups_live_id ON place_groups (id) WHERE deleted = false;
+DROP INDEX CONCURRENTLY IF EXISTS idx_groups_deleted;
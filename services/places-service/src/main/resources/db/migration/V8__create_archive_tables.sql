@@ -0,0 +1,34 @@
+-- Soft-deleted rows are moved here by the purge job once they are older than the retention window.
+CREATE TABLE places_archive (
+  id UUID PRIMARY KEY,
+  name VARCHAR(200) NOT NULL,
+  description TEXT,
+  category VARCHAR(64) NOT NULL,
+  location GEOGRAPHY(Point, 4326) NOT NULL,
+  visit_radius_meters INTEGER NOT NULL,
+  deleted_at TIMESTAMPTZ,
+  created_at TIMESTAMPTZ NOT NULL,
+  updated_at TIMESTAMPTZ NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE place_groups_archive (
+  id UUID PRIMARY KEY,
+  name VARCHAR(200) NOT NULL,
+  description TEXT,
+  place_count INTEGER NOT NULL,
+  deleted_at TIMESTAMPTZ,
+  created_at TIMESTAMPTZ NOT NULL,
+  updated_at TIMESTAMPTZ NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE place_group_membership_archive (
+  place_id UUID NOT NULL,
+  group_id UUID NOT NULL,
+  archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (place_id, group_id)
+);
+
+CREATE INDEX idx_places_deleted_at ON places (deleted_at) WHERE deleted = true;
+CREATE INDEX idx_groups_deleted_at ON place_groups (deleted_at) WHERE deleted = true;
@@ -0,0 +1,15 @@
+-- Transactional outbox of catalog mutations. Rows are read in (txid, seq) order and only once
+-- txid is below the oldest running transaction, so a reader never skips an event that commits
+-- after it has moved past it.
+CREATE TABLE place_change_events (
+  seq BIGINT GENERATED ALWAYS AS IDENTITY,
+  txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+  change_type VARCHAR(32) NOT NULL,
+  place_id UUID,
+  group_id UUID,
+  payload JSONB,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (txid, seq)
+);
+
+CREATE INDEX idx_place_change_events_created_at ON place_change_events (created_at);
@@ -0,0 +1,137 @@
+package com.placemark.explorer.places.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.placemark.explorer.places.config.ChangeFeedProperties;
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.domain.ChangeType;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.dto.group.PlaceGroupResponse;
+import com.placemark.explorer.places.dto.place.PlaceResponse;
+import com.placemark.explorer.places.event.GroupMembershipChangedEvent;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class CatalogCacheTest {
+
+  private final PlaceChangeRepository changeRepository = mock(PlaceChangeRepository.class);
+  private final ReadReplicas readReplicas = mock(ReadReplicas.class);
+  private final CatalogCache cache = new CatalogCache(
+      new ConcurrentMapCacheManager(CatalogCache.PLACES, CatalogCache.GROUPS),
+      new ChangeFeedService(changeRepository, new ChangeFeedProperties(Duration.ofDays(7), 10_000)),
+      readReplicas);
+
+  private final UUID placeId = UUID.randomUUID();
+  private final UUID groupId = UUID.randomUUID();
+  private final UUID otherGroupId = UUID.randomUUID();
+  private final AtomicInteger placeLoads = new AtomicInteger();
+  private final AtomicInteger groupLoads = new AtomicInteger();
+
+  @Test
+  void shouldEvictPlaceWhenItIsCreated() {
+    load();
+    cache.onPlaceCreated(new PlaceCreatedEvent(place()));
+    load();
+
+    assertThat(placeLoads).hasValue(2);
+    assertThat(groupLoads).hasValue(1);
+  }
+
+  @Test
+  void shouldEvictPlaceAndGroupCountsWhenPlaceIsDeleted() {
+    load();
+    cache.getGroup(otherGroupId, () -> group(otherGroupId));
+    cache.onPlaceDeleted(new PlaceDeletedEvent(place(), Set.of(groupId)));
+    load();
+    cache.getGroup(otherGroupId, () -> group(otherGroupId));
+
+    assertThat(placeLoads).hasValue(2);
+    assertThat(groupLoads).hasValue(3);
+  }
+
+  @Test
+  void shouldEvictBothSidesWhenMembershipAndCountChange() {
+    load();
+    cache.onMembershipChanged(new GroupMembershipChangedEvent(groupId, placeId));
+    load();
+
+    assertThat(placeLoads).hasValue(2);
+    assertThat(groupLoads).hasValue(2);
+  }
+
+  @Test
+  void shouldClearOnFirstPollAndThenEvictChangesOfOtherInstances() {
+    when(changeRepository.findHorizon()).thenReturn(100L);
+    load();
+    cache.pollChanges();
+    load();
+    assertThat(placeLoads).hasValue(2);
+    verify(readReplicas, never()).holdPrimary();
+
+    when(changeRepository.findAfter(eq(100L), eq(0L), anyInt())).thenReturn(List.of(
+        change(101, ChangeType.GROUP_PLACE_ADDED, placeId, groupId)));
+    cache.pollChanges();
+    load();
+    assertThat(placeLoads).hasValue(3);
+    assertThat(groupLoads).hasValue(3);
+    verify(readReplicas).holdPrimary();
+
+    when(changeRepository.findAfter(eq(101L), eq(1L), anyInt())).thenReturn(List.of(
+        change(102, ChangeType.PLACE_DELETED, placeId, null)));
+    cache.pollChanges();
+    load();
+    assertThat(placeLoads).hasValue(4);
+    assertThat(groupLoads).hasValue(4);
+
+    when(changeRepository.findAfter(eq(102L), eq(1L), anyInt())).thenReturn(List.of(
+        change(103, ChangeType.PLACE_CREATED, UUID.randomUUID(), null)));
+    cache.pollChanges();
+    load();
+    assertThat(placeLoads).hasValue(4);
+    assertThat(groupLoads).hasValue(4);
+    verify(readReplicas, times(3)).holdPrimary();
+  }
+
+  private void load() {
+    cache.getPlace(placeId, () -> {
+      placeLoads.incrementAndGet();
+      return new PlaceResponse(placeId, "Place", null, PlaceCategory.PARK, 52.52, 13.405, 100, Set.of(groupId),
+          Instant.EPOCH, Instant.EPOCH);
+    });
+    cache.getGroup(groupId, () -> group(groupId));
+  }
+
+  private PlaceGroupResponse group(UUID id) {
+    groupLoads.incrementAndGet();
+    return new PlaceGroupResponse(id, "Group", null, 1, Instant.EPOCH, Instant.EPOCH);
+  }
+
+  private Place place() {
+    Place place = mock(Place.class);
+    when(place.getId()).thenReturn(placeId);
+    return place;
+  }
+
+  private static PlaceChange change(long txid, ChangeType type, UUID placeId, UUID groupId) {
+    return new PlaceChange(txid, 1, type, placeId, groupId, null, Instant.now());
+  }
+}
@@ -0,0 +1,110 @@
+package com.placemark.explorer.places.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.TileCacheProperties;
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.index.IndexedPlace;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Checks that the tile a place is loaded into by {@code findTilePlaces} is the tile the cache
+ * computes for it, so that evicting that tile drops the place.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class NearbyTileCacheIntegrationTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceRepository placeRepository;
+
+  @Autowired
+  private ChangeFeedService changeFeed;
+
+  @Autowired
+  private ReadReplicas readReplicas;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+  }
+
+  // 0.7 and 7 divide neither 180 nor 360, so the last row and column are partial.
+  @ParameterizedTest
+  @ValueSource(doubles = {0.02, 0.7, 7})
+  void shouldLoadEachPlaceIntoTheTileTheCacheComputesForIt(double tileSize) {
+    NearbyTileCache cache = new NearbyTileCache(
+        new TileCacheProperties(true, tileSize, 36, 1000, Duration.ofMinutes(10)),
+        placeRepository, changeFeed, readReplicas, new ObjectMapper(), new SimpleMeterRegistry());
+
+    List<double[]> locations = new ArrayList<>(List.of(
+        new double[] {90, 180}, new double[] {90, -180}, new double[] {-90, 180}, new double[] {-90, -180},
+        new double[] {0, 180}, new double[] {0, -180}, new double[] {0, 0}, new double[] {89.999, 179.999},
+        new double[] {-89.999, -179.999}, new double[] {45, 179.9999}));
+    Random random = new Random(7);
+    for (int i = 0; i < 50; i++) {
+      // Exact tile edges, computed the way a client would.
+      int row = random.nextInt((int) Math.ceil(180 / tileSize));
+      int column = random.nextInt((int) Math.ceil(360 / tileSize));
+      locations.add(new double[] {Math.min(90, row * tileSize - 90), Math.min(180, column * tileSize - 180)});
+    }
+    for (int i = 0; i < 100; i++) {
+      locations.add(new double[] {-90 + 180 * random.nextDouble(), -180 + 360 * random.nextDouble()});
+    }
+
+    for (double[] location : locations) {
+      UUID id = insert(location[0], location[1]);
+      long tile = cache.tileOf(location[0], location[1]);
+      assertThat(cache.load(tile)).as("tile %s of %s, %s", tile, location[0], location[1])
+          .extracting(IndexedPlace::id)
+          .containsExactly(id);
+      jdbcTemplate.update("DELETE FROM places WHERE id = ?", id);
+    }
+  }
+
+  private UUID insert(double lat, double lon) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("""
+        INSERT INTO places (id, name, category, location, visit_radius_meters, region)
+        SELECT ?, 'Fixture', 'LANDMARK', g, 100, place_region(g)
+        FROM (SELECT ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography AS g) s
+        """, id, lon, lat);
+    return id;
+  }
+}
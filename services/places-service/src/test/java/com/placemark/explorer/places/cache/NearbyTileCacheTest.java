@@ -0,0 +1,136 @@
+package com.placemark.explorer.places.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ChangeFeedProperties;
+import com.placemark.explorer.places.config.TileCacheProperties;
+import com.placemark.explorer.places.datasource.ReadReplicas;
+import com.placemark.explorer.places.domain.ChangeType;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.event.PlaceCreatedEvent;
+import com.placemark.explorer.places.event.PlaceDeletedEvent;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.repository.TilePlace;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+class NearbyTileCacheTest {
+
+  private static final double LATITUDE = 52.5210;
+  private static final double LONGITUDE = 13.4050;
+
+  private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+  private final PlaceChangeRepository changeRepository = mock(PlaceChangeRepository.class);
+  private final ReadReplicas readReplicas = mock(ReadReplicas.class);
+  private final NearbyTileCache cache = new NearbyTileCache(
+      new TileCacheProperties(true, 0.02, 36, 1000, Duration.ofMinutes(10)),
+      placeRepository,
+      new ChangeFeedService(changeRepository, new ChangeFeedProperties(Duration.ofDays(7), 10_000)),
+      readReplicas,
+      new ObjectMapper(),
+      new SimpleMeterRegistry());
+  private final UUID placeId = UUID.randomUUID();
+
+  @BeforeEach
+  void stubTiles() {
+    long tile = cache.tileOf(LATITUDE, LONGITUDE);
+    TilePlace place = mock(TilePlace.class);
+    when(place.getId()).thenReturn(placeId);
+    when(place.getCategory()).thenReturn("PARK");
+    when(place.getLatitude()).thenReturn(LATITUDE);
+    when(place.getLongitude()).thenReturn(LONGITUDE);
+    when(place.getVisitRadiusMeters()).thenReturn(100);
+    when(placeRepository.findTilePlaces(
+        anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt(), anyInt(), anyInt()))
+        .thenAnswer(invocation -> {
+          long key = (long) invocation.<Integer>getArgument(7) * invocation.<Integer>getArgument(6)
+              + invocation.<Integer>getArgument(8);
+          return key == tile ? List.of(place) : List.of();
+        });
+  }
+
+  @Test
+  void shouldLoadEachTileOnceUntilItIsEvicted() {
+    assertThat(cache.findWithin(LATITUDE, LONGITUDE, 100, null)).contains(List.of(placeId));
+    assertThat(cache.findWithin(LATITUDE, LONGITUDE, 100, null)).contains(List.of(placeId));
+
+    assertTileLoads(9);
+  }
+
+  @Test
+  void shouldEvictOnlyTheTileOfACreatedPlace() {
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    cache.onPlaceCreated(new PlaceCreatedEvent(place(LATITUDE + 0.0001, LONGITUDE)));
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+
+    assertTileLoads(10);
+  }
+
+  @Test
+  void shouldEvictOnlyTheTileOfADeletedPlace() {
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    cache.onPlaceDeleted(new PlaceDeletedEvent(place(LATITUDE, LONGITUDE), Set.of()));
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+
+    assertTileLoads(10);
+  }
+
+  @Test
+  void shouldClearOnFirstPollAndThenEvictTilesChangedByOtherInstances() {
+    when(changeRepository.findHorizon()).thenReturn(100L);
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    cache.pollChanges();
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    assertTileLoads(18);
+    verify(readReplicas, never()).holdPrimary();
+
+    when(changeRepository.findAfter(eq(100L), eq(0L), anyInt())).thenReturn(List.of(new PlaceChange(
+        101, 1, ChangeType.PLACE_CREATED, UUID.randomUUID(), null, """
+            {"category": "PARK", "latitude": 52.5211, "longitude": 13.4050, "visitRadiusMeters": 50}
+            """, Instant.now())));
+    cache.pollChanges();
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    assertTileLoads(19);
+    verify(readReplicas).holdPrimary();
+
+    when(changeRepository.findAfter(eq(101L), eq(1L), anyInt())).thenReturn(List.of(new PlaceChange(
+        102, 1, ChangeType.PLACE_DELETED, placeId, null, null, Instant.now())));
+    cache.pollChanges();
+    cache.findWithin(LATITUDE, LONGITUDE, 100, null);
+    assertTileLoads(20);
+    verify(readReplicas, times(2)).holdPrimary();
+  }
+
+  private void assertTileLoads(int loads) {
+    verify(placeRepository, times(loads)).findTilePlaces(
+        anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  private static Place place(double latitude, double longitude) {
+    Place place = mock(Place.class);
+    when(place.getLocation()).thenReturn(new GeometryFactory(new PrecisionModel(), 4326)
+        .createPoint(new Coordinate(longitude, latitude)));
+    return place;
+  }
+}
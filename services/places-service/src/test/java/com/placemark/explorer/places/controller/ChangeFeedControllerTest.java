@@ -0,0 +1,64 @@
+package com.placemark.explorer.places.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.placemark.explorer.places.domain.ChangeType;
+import com.placemark.explorer.places.exception.GlobalExceptionHandler;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class ChangeFeedControllerTest {
+
+  private final ChangeFeedService changeFeedService = mock(ChangeFeedService.class);
+  private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(changeFeedService))
+      .setControllerAdvice(new GlobalExceptionHandler())
+      .build();
+
+  @Test
+  void shouldRejectMalformedCursor() throws Exception {
+    mockMvc.perform(get("/api/v1/changes").param("since", "not a cursor"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(changeFeedService);
+  }
+
+  @Test
+  void shouldReturnCursorOfLastChange() throws Exception {
+    ChangeCursor since = new ChangeCursor(700, 3);
+    PlaceChange first = new PlaceChange(700, 4, ChangeType.PLACE_DELETED, UUID.randomUUID(), null, null, Instant.now());
+    PlaceChange last = new PlaceChange(705, 9, ChangeType.GROUP_DELETED, null, UUID.randomUUID(), null, Instant.now());
+    when(changeFeedService.readChanges(any(), anyInt())).thenReturn(List.of(first, last));
+
+    mockMvc.perform(get("/api/v1/changes").param("since", since.encode()).param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").value(new ChangeCursor(705, 9).encode()));
+
+    verify(changeFeedService).readChanges(since, 2);
+  }
+
+  @Test
+  void shouldKeepCursorWhenNoChangesAreVisible() throws Exception {
+    ChangeCursor since = new ChangeCursor(700, 3);
+    when(changeFeedService.readChanges(any(), anyInt())).thenReturn(List.of());
+
+    mockMvc.perform(get("/api/v1/changes").param("since", since.encode()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextCursor").value(since.encode()));
+  }
+}
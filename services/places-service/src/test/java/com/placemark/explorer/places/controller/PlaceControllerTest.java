@@ -0,0 +1,125 @@
+package com.placemark.explorer.places.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.cache.CatalogCache;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.exception.GlobalExceptionHandler;
+import com.placemark.explorer.places.mapper.PlaceMapper;
+import com.placemark.explorer.places.observability.PlaceMetrics;
+import com.placemark.explorer.places.service.BatchTrackMatches;
+import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.TrackStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class PlaceControllerTest {
+
+  private static final GeometryFactory GEOMETRY = new GeometryFactory(new PrecisionModel(), 4326);
+
+  private final PlaceService placeService = mock(PlaceService.class);
+  private final MockMvc mockMvc = MockMvcBuilders
+      .standaloneSetup(new PlaceController(placeService, mock(TrackStreamService.class), new PlaceMapper(),
+          mock(CatalogCache.class), new ObjectMapper(),
+          new PlaceMetrics(ObservationRegistry.create(), new SimpleMeterRegistry())))
+      .setControllerAdvice(new GlobalExceptionHandler())
+      .build();
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldKeyBatchMatchesByTrackId() throws Exception {
+    when(placeService.toPoint(anyDouble(), anyDouble()))
+        .thenAnswer(invocation -> point(invocation.getArgument(0), invocation.getArgument(1)));
+    Place place = place();
+    Map<String, List<UUID>> matches = new LinkedHashMap<>();
+    matches.put("morning", List.of(place.getId()));
+    matches.put("evening", List.of());
+    when(placeService.findPlacesIntersectingTracks(any(), eq(PlaceCategory.MUSEUM)))
+        .thenReturn(new BatchTrackMatches(matches, List.of(place)));
+    when(placeService.findGroupIdsByPlace(anyCollection())).thenReturn(Map.of());
+
+    mockMvc.perform(post("/api/v1/places/intersections/batch")
+            .param("category", "MUSEUM")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"tracks": [
+                  {"trackId": "morning", "points": [{"latitude": 52.52, "longitude": 13.40},
+                                                    {"latitude": 52.53, "longitude": 13.41}]},
+                  {"trackId": "evening", "points": [{"latitude": 48.85, "longitude": 2.35}]}
+                ]}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.matches.morning", hasSize(1)))
+        .andExpect(jsonPath("$.matches.morning[0]").value(place.getId().toString()))
+        .andExpect(jsonPath("$.matches.evening", hasSize(0)))
+        .andExpect(jsonPath("$.places", hasSize(1)))
+        .andExpect(jsonPath("$.places[0].id").value(place.getId().toString()));
+
+    ArgumentCaptor<Map<String, List<Point>>> tracks = ArgumentCaptor.forClass(Map.class);
+    verify(placeService).findPlacesIntersectingTracks(tracks.capture(), eq(PlaceCategory.MUSEUM));
+    assertThat(tracks.getValue()).containsOnlyKeys("morning", "evening");
+    assertThat(tracks.getValue().get("morning")).extracting(Point::getY).containsExactly(52.52, 52.53);
+    assertThat(tracks.getValue().get("evening")).extracting(Point::getX).containsExactly(2.35);
+  }
+
+  @Test
+  void shouldRejectDuplicateTrackId() throws Exception {
+    when(placeService.toPoint(anyDouble(), anyDouble()))
+        .thenAnswer(invocation -> point(invocation.getArgument(0), invocation.getArgument(1)));
+
+    mockMvc.perform(post("/api/v1/places/intersections/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"tracks": [
+                  {"trackId": "a", "points": [{"latitude": 52.52, "longitude": 13.40}]},
+                  {"trackId": "a", "points": [{"latitude": 48.85, "longitude": 2.35}]}
+                ]}
+                """))
+        .andExpect(status().isBadRequest());
+
+    verify(placeService, never()).findPlacesIntersectingTracks(any(), any());
+  }
+
+  private static Point point(double lat, double lon) {
+    return GEOMETRY.createPoint(new Coordinate(lon, lat));
+  }
+
+  private static Place place() {
+    UUID id = UUID.randomUUID();
+    Point location = point(52.525, 13.405);
+    Place place = mock(Place.class);
+    when(place.getId()).thenReturn(id);
+    when(place.getName()).thenReturn("Museum");
+    when(place.getCategory()).thenReturn(PlaceCategory.MUSEUM);
+    when(place.getLocation()).thenReturn(location);
+    when(place.getVisitRadiusMeters()).thenReturn(100);
+    return place;
+  }
+}
@@ -0,0 +1,55 @@
+package com.placemark.explorer.places.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.placemark.explorer.places.config.TileProperties;
+import com.placemark.explorer.places.exception.GlobalExceptionHandler;
+import com.placemark.explorer.places.service.TileService;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class TileControllerTest {
+
+  private static final String ETAG = "W/\"0123456789abcdef\"";
+
+  private final TileService tileService = mock(TileService.class);
+  private final MockMvc mockMvc = MockMvcBuilders
+      .standaloneSetup(new TileController(tileService, new TileProperties(12, 64, Duration.ofSeconds(60))))
+      .setControllerAdvice(new GlobalExceptionHandler())
+      .build();
+
+  @Test
+  void shouldRenderTileWithItsETag() throws Exception {
+    when(tileService.tileETag(14, 8800, 5373, null)).thenReturn(ETAG);
+    when(tileService.renderTile(14, 8800, 5373, null)).thenReturn(new byte[] {1, 2, 3});
+
+    mockMvc.perform(get("/api/v1/tiles/14/8800/5373.mvt"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+        .andExpect(content().bytes(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  void shouldAnswerMatchingETagWithoutRendering() throws Exception {
+    when(tileService.tileETag(14, 8800, 5373, null)).thenReturn(ETAG);
+
+    mockMvc.perform(get("/api/v1/tiles/14/8800/5373.mvt").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+    verify(tileService, never()).renderTile(anyInt(), anyInt(), anyInt(), any());
+  }
+}
@@ -0,0 +1,133 @@
+package com.placemark.explorer.places.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection firstConnection = mock(Connection.class);
+  private final Connection secondConnection = mock(Connection.class);
+  private final DataSource primary = dataSource(primaryConnection);
+  private final DataSource first = dataSource(firstConnection);
+  private final DataSource second = dataSource(secondConnection);
+  private final ReadReplicas replicas = new ReadReplicas(
+      primary, replicaMap(), Duration.ofSeconds(1), new SimpleMeterRegistry());
+  private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+
+  @AfterEach
+  void clearRouting() {
+    ReplicaRoutingDataSource.setReadFromReplica(false);
+  }
+
+  @Test
+  void shouldUsePrimaryOutsideReplicaReads() throws SQLException {
+    recordLag(0.0, 0.0);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void shouldSpreadReplicaReadsRoundRobin() throws SQLException {
+    recordLag(0.0, 0.5);
+    ReplicaRoutingDataSource.setReadFromReplica(true);
+
+    assertThat(routing.getConnection()).isSameAs(firstConnection);
+    assertThat(routing.getConnection()).isSameAs(secondConnection);
+    assertThat(routing.getConnection()).isSameAs(firstConnection);
+  }
+
+  @Test
+  void shouldSkipReplicasBehindMaxLagOrNotChecked() throws SQLException {
+    recordLag(2.5, null);
+    ReplicaRoutingDataSource.setReadFromReplica(true);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+    recordLag(2.5, 0.2);
+    assertThat(routing.getConnection()).isSameAs(secondConnection);
+  }
+
+  @Test
+  void shouldFallBackToPrimaryWhenReplicaFailsToConnect() throws SQLException {
+    recordLag(0.0, null);
+    when(first.getConnection()).thenThrow(new SQLException("connection refused"));
+    ReplicaRoutingDataSource.setReadFromReplica(true);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    assertThat(replicas.select()).isNull();
+  }
+
+  @Test
+  void shouldReadFromPrimaryRightAfterLocalWrite() throws SQLException {
+    recordLag(0.0, 0.0);
+    replicas.onCatalogChanged();
+    ReplicaRoutingDataSource.setReadFromReplica(true);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void shouldRestoreRoutingAfterNestedReplicaReads() {
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Reader());
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new ReplicaRoutingAspect());
+    Reader reader = factory.getProxy();
+
+    assertThat(reader.readTwice(reader)).isTrue();
+    assertThat(ReplicaRoutingDataSource.isReadFromReplica()).isFalse();
+    assertThat(reader.unmarked()).isFalse();
+  }
+
+  private void recordLag(Double firstLag, Double secondLag) {
+    replicas.record(replicas.replicas().get(0), firstLag, null);
+    replicas.record(replicas.replicas().get(1), secondLag, null);
+  }
+
+  private Map<String, DataSource> replicaMap() {
+    Map<String, DataSource> replicaMap = new LinkedHashMap<>();
+    replicaMap.put("replica-0", first);
+    replicaMap.put("replica-1", second);
+    return replicaMap;
+  }
+
+  private static DataSource dataSource(Connection connection) {
+    DataSource dataSource = mock(DataSource.class);
+    try {
+      when(dataSource.getConnection()).thenReturn(connection);
+    } catch (SQLException ex) {
+      throw new IllegalStateException(ex);
+    }
+    return dataSource;
+  }
+
+  public static class Reader {
+
+    @ReadFromReplica
+    public boolean readTwice(Reader self) {
+      boolean inner = self.read();
+      return inner && ReplicaRoutingDataSource.isReadFromReplica();
+    }
+
+    @ReadFromReplica
+    public boolean read() {
+      return ReplicaRoutingDataSource.isReadFromReplica();
+    }
+
+    public boolean unmarked() {
+      return ReplicaRoutingDataSource.isReadFromReplica();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.placemark.explorer.places.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class GeoRegionsTest {
+
+  @Test
+  void shouldMatchGeohashPrefix() {
+    assertThat(GeoRegions.covering(52.52, 13.405, 52.52, 13.405, 1000)).containsExactly("u");
+    assertThat(GeoRegions.covering(37.77, -122.42, 37.77, -122.42, 1000)).containsExactly("9");
+    assertThat(GeoRegions.covering(-33.87, 151.21, -33.87, 151.21, 1000)).containsExactly("r");
+  }
+
+  @Test
+  void shouldPlaceLocationInItsGeohashCell() {
+    assertThat(GeoRegions.of(52.52, 13.405)).isEqualTo("u");
+    assertThat(GeoRegions.of(-33.87, 151.21)).isEqualTo("r");
+    assertThat(GeoRegions.of(90, 180)).isEqualTo("z");
+    assertThat(GeoRegions.of(-90, -180)).isEqualTo("0");
+  }
+
+  @Test
+  void shouldIncludeNeighboursWithinMargin() {
+    assertThat(GeoRegions.covering(44.999, 0.001, 44.999, 0.001, 1000)).containsExactlyInAnyOrder("s", "e", "u", "g");
+  }
+
+  @Test
+  void shouldWrapAroundAntimeridian() {
+    assertThat(GeoRegions.covering(10, 179.99, 10, 179.99, 5000)).containsExactlyInAnyOrder("x", "8");
+  }
+
+  @Test
+  void shouldCoverAllRegionsForGlobalBox() {
+    assertThat(GeoRegions.covering(-90, -180, 90, 180, 0)).hasSize(GeoRegions.COUNT);
+  }
+}
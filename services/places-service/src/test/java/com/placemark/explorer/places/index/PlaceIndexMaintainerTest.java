@@ -0,0 +1,99 @@
+package com.placemark.explorer.places.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ChangeFeedProperties;
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.ChangeType;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.snapshot.CatalogSnapshots;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class PlaceIndexMaintainerTest {
+
+  @TempDir
+  Path directory;
+
+  private final PlaceChangeRepository changeRepository = mock(PlaceChangeRepository.class);
+
+  @Test
+  void shouldWarmUpFromSnapshotAndReplayChangesAfterItsCursor() throws IOException {
+    IndexedPlace kept = new IndexedPlace(UUID.randomUUID(), PlaceCategory.PARK, 52.5200, 13.4050, 100);
+    IndexedPlace deleted = new IndexedPlace(UUID.randomUUID(), PlaceCategory.PARK, 52.5201, 13.4051, 100);
+    UUID created = UUID.randomUUID();
+    Path file = directory.resolve("catalog.snapshot");
+    CatalogSnapshots.write(file, new ChangeCursor(100, 3), Instant.now(), List.of(kept, deleted));
+
+    when(changeRepository.findAfter(eq(100L), eq(3L), anyInt())).thenReturn(List.of(
+        new PlaceChange(101, 0, ChangeType.PLACE_CREATED, created, null, """
+            {"category": "MUSEUM", "latitude": 52.5202, "longitude": 13.4052, "visitRadiusMeters": 50}
+            """, Instant.now()),
+        new PlaceChange(102, 0, ChangeType.PLACE_DELETED, deleted.id(), null, null, Instant.now())));
+
+    SpatialIndexProperties properties = new SpatialIndexProperties(true, 0.01, 1000, 10_000, file.toString());
+    PlaceSpatialIndex index = new PlaceSpatialIndex(properties);
+    maintainer(index, properties).warmUp();
+
+    assertThat(index.isReady()).isTrue();
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.findWithin(52.5200, 13.4050, 500, null)).get().asList()
+        .containsExactlyInAnyOrder(kept.id(), created)
+        .doesNotContain(deleted.id());
+    assertThat(index.findWithin(52.5200, 13.4050, 500, PlaceCategory.MUSEUM)).contains(List.of(created));
+  }
+
+  @Test
+  void shouldApplyChangesOfOtherInstancesFromTheFeedAfterWarmUp() throws IOException {
+    IndexedPlace deleted = new IndexedPlace(UUID.randomUUID(), PlaceCategory.PARK, 52.5200, 13.4050, 100);
+    UUID created = UUID.randomUUID();
+    Path file = directory.resolve("catalog.snapshot");
+    CatalogSnapshots.write(file, new ChangeCursor(100, 3), Instant.now(), List.of(deleted));
+
+    when(changeRepository.findAfter(eq(100L), eq(3L), anyInt())).thenReturn(List.of(), List.of(
+        new PlaceChange(101, 0, ChangeType.PLACE_CREATED, created, null, """
+            {"category": "MUSEUM", "latitude": 52.5202, "longitude": 13.4052, "visitRadiusMeters": 50}
+            """, Instant.now()),
+        new PlaceChange(102, 0, ChangeType.PLACE_DELETED, deleted.id(), null, null, Instant.now())));
+
+    SpatialIndexProperties properties = new SpatialIndexProperties(true, 0.01, 1000, 10_000, file.toString());
+    PlaceSpatialIndex index = new PlaceSpatialIndex(properties);
+    PlaceIndexMaintainer maintainer = maintainer(index, properties);
+    maintainer.warmUp();
+    assertThat(index.findWithin(52.5200, 13.4050, 500, null)).contains(List.of(deleted.id()));
+
+    maintainer.pollChanges();
+    assertThat(index.findWithin(52.5200, 13.4050, 500, null)).contains(List.of(created));
+
+    maintainer.pollChanges();
+    verify(changeRepository).findAfter(eq(102L), eq(0L), anyInt());
+  }
+
+  private PlaceIndexMaintainer maintainer(PlaceSpatialIndex index, SpatialIndexProperties properties) {
+    return new PlaceIndexMaintainer(
+        index,
+        mock(DataSource.class),
+        mock(PlatformTransactionManager.class),
+        changeRepository,
+        new ObjectMapper(),
+        properties,
+        new ChangeFeedProperties(Duration.ofDays(7), 10_000));
+  }
+}
@@ -0,0 +1,111 @@
+package com.placemark.explorer.places.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.service.PlaceCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+class PlaceSpatialIndexTest {
+
+  private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+  private final PlaceSpatialIndex index = new PlaceSpatialIndex(new SpatialIndexProperties(true, 0.01, 1000, 10_000, null));
+
+  @Test
+  void shouldFindPlacesNearPoint() {
+    UUID near = place(52.5200, 13.4050, 100, PlaceCategory.LANDMARK);
+    UUID far = place(48.8566, 2.3522, 100, PlaceCategory.LANDMARK);
+
+    assertThat(index.findWithin(52.5200, 13.4050, 500, null)).get().asList().contains(near).doesNotContain(far);
+    assertThat(index.findWithin(52.5200, 13.4050, 500, PlaceCategory.PARK)).contains(List.of());
+  }
+
+  @Test
+  void shouldFindPlacesIntersectingTrack() {
+    UUID onTrack = place(52.5202, 13.4052, 150, PlaceCategory.PARK);
+    UUID offTrack = place(52.5300, 13.4200, 50, PlaceCategory.PARK);
+    List<Point> track = List.of(point(52.5200, 13.4050), point(52.5203, 13.4053), point(52.5206, 13.4056));
+
+    assertThat(index.findIntersectingTrack(track, null)).get().asList().contains(onTrack).doesNotContain(offTrack);
+  }
+
+  @Test
+  void shouldDetectPlaceBetweenDistantTrackPoints() {
+    UUID midway = place(52.5000, 13.5000, 200, PlaceCategory.CITY);
+    List<Point> track = List.of(point(52.5000, 13.0000), point(52.5000, 14.0000));
+
+    assertThat(index.findIntersectingTrack(track, PlaceCategory.CITY)).contains(List.of(midway));
+  }
+
+  @Test
+  void shouldForgetRemovedPlaces() {
+    UUID removed = place(52.5200, 13.4050, 100, PlaceCategory.MUSEUM);
+    index.remove(removed);
+
+    assertThat(index.findWithin(52.5200, 13.4050, 500, null)).contains(List.of());
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void shouldDeclineQueriesCoveringTooManyCells() {
+    place(52.5200, 13.4050, 100, PlaceCategory.PARK);
+
+    assertThat(index.findWithin(52.5200, 13.4050, Integer.MAX_VALUE, null)).isEmpty();
+    assertThat(index.findNearby(89.9, 0, 50_000, null)).isEmpty();
+    assertThat(index.findNearbyAfter(89.9, 0, 50_000, null, null, 10)).isEmpty();
+    assertThat(index.findWithin(52.5200, 13.4050, 40_000, null)).isPresent();
+  }
+
+  @Test
+  void shouldDeclineTracksWhenVisitRadiusCoversTooManyCells() {
+    place(52.5200, 13.4050, 20_000_000, PlaceCategory.PARK);
+    List<Point> track = List.of(point(52.5200, 13.4050), point(52.5203, 13.4053));
+
+    assertThat(index.findIntersectingTrack(track, null)).isEmpty();
+  }
+
+  @Test
+  void shouldPageNearbyPlacesWithoutLosingOrRepeatingAny() {
+    for (int i = 0; i < 30; i++) {
+      place(52.5200 + (i % 7) * 0.001, 13.4050 + (i % 5) * 0.001, 10, PlaceCategory.PARK);
+    }
+    for (int i = 0; i < 6; i++) {
+      place(52.5230, 13.4080, 10, PlaceCategory.PARK);
+    }
+    List<NearbyPlace> all = index.findNearby(52.5200, 13.4050, 2_000, null).orElseThrow();
+
+    List<NearbyPlace> paged = new ArrayList<>();
+    NearbyPlace after = null;
+    List<NearbyPlace> page;
+    do {
+      page = index.findNearbyAfter(52.5200, 13.4050, 2_000, null, after, 4).orElseThrow();
+      paged.addAll(page);
+      if (!page.isEmpty()) {
+        NearbyPlace last = page.getLast();
+        PlaceCursor cursor = PlaceCursor.decode(new PlaceCursor(last.distanceMeters(), last.id()).encode());
+        after = new NearbyPlace(cursor.id(), cursor.distanceMeters());
+      }
+    } while (page.size() == 4);
+
+    assertThat(all).hasSize(36);
+    assertThat(paged).containsExactlyElementsOf(all);
+  }
+
+  private UUID place(double lat, double lon, int radius, PlaceCategory category) {
+    UUID id = UUID.randomUUID();
+    index.put(new IndexedPlace(id, category, lat, lon, radius));
+    return id;
+  }
+
+  private Point point(double lat, double lon) {
+    return geometryFactory.createPoint(new Coordinate(lon, lat));
+  }
+}
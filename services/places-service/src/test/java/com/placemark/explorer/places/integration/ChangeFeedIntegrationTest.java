@@ -0,0 +1,141 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.placemark.explorer.places.domain.ChangeType;
+import com.placemark.explorer.places.repository.PlaceChange;
+import com.placemark.explorer.places.service.ChangeCursor;
+import com.placemark.explorer.places.service.ChangeFeedService;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"places.changes.retention=1d", "places.changes.trim-batch-size=2"})
+class ChangeFeedIntegrationTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private ChangeFeedService changeFeedService;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_change_events");
+  }
+
+  @Test
+  void shouldReadChangesInCommitOrderAcrossPages() throws SQLException {
+    List<UUID> recorded = new ArrayList<>();
+    for (int transaction = 0; transaction < 4; transaction++) {
+      try (Connection connection = transaction()) {
+        for (int change = 0; change < 3; change++) {
+          recorded.add(record(connection));
+        }
+        connection.commit();
+      }
+    }
+
+    List<UUID> read = new ArrayList<>();
+    ChangeCursor cursor = ChangeCursor.decode(null);
+    List<PlaceChange> page;
+    do {
+      page = changeFeedService.readChanges(cursor, 5);
+      page.forEach(change -> read.add(change.placeId()));
+      if (!page.isEmpty()) {
+        PlaceChange last = page.getLast();
+        cursor = ChangeCursor.decode(new ChangeCursor(last.txid(), last.seq()).encode());
+      }
+    } while (page.size() == 5);
+
+    assertThat(read).containsExactlyElementsOf(recorded);
+  }
+
+  @Test
+  void shouldNotSkipChangeOfTransactionThatCommitsLater() throws SQLException {
+    try (Connection earlier = transaction(); Connection later = transaction()) {
+      // `earlier` takes the lower transaction ID but commits after `later`.
+      UUID earlierChange = record(earlier);
+      UUID laterChange = record(later);
+      later.commit();
+
+      // Neither change is visible while `earlier` is in flight, so the cursor cannot move past it.
+      assertThat(changeFeedService.readChanges(ChangeCursor.decode(null), 10)).isEmpty();
+
+      earlier.commit();
+
+      assertThat(changeFeedService.readChanges(ChangeCursor.decode(null), 10))
+          .extracting(PlaceChange::placeId)
+          .containsExactly(earlierChange, laterChange);
+    }
+  }
+
+  @Test
+  void shouldTrimChangesOlderThanRetention() throws SQLException {
+    List<UUID> expired = new ArrayList<>();
+    UUID recent;
+    try (Connection connection = transaction()) {
+      for (int change = 0; change < 5; change++) {
+        expired.add(record(connection));
+      }
+      recent = record(connection);
+      connection.commit();
+    }
+    jdbcTemplate.update(
+        "UPDATE place_change_events SET created_at = NOW() - INTERVAL '2 days' WHERE place_id <> ?", recent);
+
+    changeFeedService.trim();
+
+    assertThat(jdbcTemplate.queryForList("SELECT place_id FROM place_change_events", UUID.class))
+        .containsExactly(recent)
+        .doesNotContainAnyElementsOf(expired);
+  }
+
+  private Connection transaction() throws SQLException {
+    Connection connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    return connection;
+  }
+
+  private UUID record(Connection connection) throws SQLException {
+    UUID placeId = UUID.randomUUID();
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO place_change_events (change_type, place_id) VALUES (?, ?)")) {
+      statement.setString(1, ChangeType.PLACE_DELETED.name());
+      statement.setObject(2, placeId);
+      statement.executeUpdate();
+    }
+    return placeId;
+  }
+}
@@ -0,0 +1,127 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.domain.PlaceGroup;
+import com.placemark.explorer.places.dto.group.CreateGroupRequest;
+import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.exception.NotFoundException;
+import com.placemark.explorer.places.service.PlaceService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class GroupMembershipIntegrationTest {
+
+  private static final String LIVE_MEMBERS_SQL = """
+      SELECT COUNT(*)
+      FROM place_group_membership m
+      JOIN places p ON p.id = m.place_id
+      WHERE m.group_id = ?
+        AND p.deleted = false
+      """;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+    jdbcTemplate.update("DELETE FROM place_groups");
+  }
+
+  @Test
+  void shouldKeepGroupCountWhenPlacesAreDeletedWhileBeingAdded() throws Exception {
+    PlaceGroup group = placeService.createGroup(new CreateGroupRequest("Tour", null));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < 50; i++) {
+        UUID placeId = place(52.52 + i * 0.001, 13.405);
+        CyclicBarrier start = new CyclicBarrier(2);
+        Future<?> add = executor.submit(() -> {
+          start.await();
+          try {
+            placeService.addPlaceToGroup(group.getId(), placeId);
+          } catch (NotFoundException ex) {
+            // The delete won.
+          }
+          return null;
+        });
+        Future<?> delete = executor.submit(() -> {
+          start.await();
+          placeService.deletePlace(placeId);
+          return null;
+        });
+        add.get();
+        delete.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(placeService.getGroup(group.getId()).getPlaceCount()).isZero();
+    assertThat(jdbcTemplate.queryForObject(LIVE_MEMBERS_SQL, Long.class, group.getId())).isZero();
+  }
+
+  @Test
+  void shouldNotAddDeletedPlaceOrCountForDeletedGroup() {
+    PlaceGroup group = placeService.createGroup(new CreateGroupRequest("Tour", null));
+    UUID deleted = place(52.52, 13.405);
+    placeService.deletePlace(deleted);
+    assertThatThrownBy(() -> placeService.addPlaceToGroup(group.getId(), deleted))
+        .isInstanceOf(NotFoundException.class);
+
+    List<UUID> members = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      members.add(place(52.53 + i * 0.001, 13.405));
+      placeService.addPlaceToGroup(group.getId(), members.get(i));
+    }
+    placeService.addPlaceToGroup(group.getId(), members.get(0));
+    assertThat(placeService.getGroup(group.getId()).getPlaceCount()).isEqualTo(3);
+
+    placeService.deleteGroup(group.getId());
+    placeService.deletePlace(members.get(1));
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT place_count FROM place_groups WHERE id = ?", Integer.class, group.getId())).isEqualTo(3);
+  }
+
+  private UUID place(double lat, double lon) {
+    return placeService.createPlace(
+        new CreatePlaceRequest("Place " + lat, null, PlaceCategory.LANDMARK, lat, lon, 100)).getId();
+  }
+}
@@ -4,15 +4,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.placemark.explorer.places.domain.Place;
 import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.index.PlaceSpatialIndex;
 import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.service.CountMode;
+import com.placemark.explorer.places.service.NearestPlace;
 import com.placemark.explorer.places.service.PlaceService;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -65,7 +72,8 @@ class PlaceGeoIntegrationTest {
 
     placeRepository.saveAll(List.of(near, far));
 
-    Page<Place> result = placeService.findPlacesNear(52.5200, 13.4050, 500, null, PageRequest.of(0, 20));
+    Slice<Place> result = placeService.findPlacesNear(
+        52.5200, 13.4050, 500, null, PageRequest.of(0, 20), CountMode.EXACT);
 
     assertThat(result.getContent()).extracting(Place::getName).contains("Near").doesNotContain("Far");
   }
@@ -88,14 +96,72 @@ class PlaceGeoIntegrationTest {
 
     placeRepository.saveAll(List.of(onTrack, offTrack));
 
-    List<org.locationtech.jts.geom.Point> trackPoints = List.of(
+    List<Point> trackPoints = List.of(
         placeService.toPoint(52.5200, 13.4050),
         placeService.toPoint(52.5203, 13.4053),
         placeService.toPoint(52.5206, 13.4056)
     );
 
-    Page<Place> result = placeService.findPlacesIntersectingTrack(trackPoints, null, PageRequest.of(0, 20));
+    Slice<Place> result = placeService.findPlacesIntersectingTrack(
+        trackPoints, null, PageRequest.of(0, 20), CountMode.EXACT);
 
     assertThat(result.getContent()).extracting(Place::getName).contains("OnTrack").doesNotContain("OffTrack");
   }
+
+  @Test
+  void shouldFindNearestPlacesInDistanceOrder() {
+    Place closest = new Place();
+    closest.setName("Closest");
+    closest.setCategory(PlaceCategory.MUSEUM);
+    closest.setVisitRadiusMeters(50);
+    closest.setLocation(placeService.toPoint(52.5201, 13.4051));
+
+    Place second = new Place();
+    second.setName("Second");
+    second.setCategory(PlaceCategory.MUSEUM);
+    second.setVisitRadiusMeters(50);
+    second.setLocation(placeService.toPoint(52.5300, 13.4200));
+
+    Place farthest = new Place();
+    farthest.setName("Farthest");
+    farthest.setCategory(PlaceCategory.MUSEUM);
+    farthest.setVisitRadiusMeters(50);
+    farthest.setLocation(placeService.toPoint(48.8566, 2.3522));
+
+    placeRepository.saveAll(List.of(farthest, second, closest));
+
+    List<NearestPlace> result = placeService.findNearestPlaces(52.5200, 13.4050, 2, null);
+
+    assertThat(result).extracting(nearest -> nearest.place().getName()).containsExactly("Closest", "Second");
+    assertThat(result.get(0).distanceMeters()).isLessThan(result.get(1).distanceMeters());
+  }
+
+  @Test
+  void shouldPageNearAndTrackResultsInIdOrder() {
+    List<Place> places = IntStream.range(0, 7).mapToObj(i -> {
+      Place place = new Place();
+      place.setName("Place " + i);
+      place.setCategory(PlaceCategory.LANDMARK);
+      place.setVisitRadiusMeters(100);
+      place.setLocation(placeService.toPoint(52.5200 + i * 0.0001, 13.4050));
+      return place;
+    }).toList();
+    List<UUID> ids = placeRepository.saveAll(places).stream()
+        .map(Place::getId)
+        .sorted(PlaceSpatialIndex.ID_ORDER)
+        .toList();
+    List<Point> track = List.of(placeService.toPoint(52.5200, 13.4050), placeService.toPoint(52.5206, 13.4050));
+
+    List<UUID> near = new ArrayList<>();
+    List<UUID> onTrack = new ArrayList<>();
+    for (int page = 0; page < 3; page++) {
+      placeService.findPlacesNear(52.5203, 13.4050, 500, null, PageRequest.of(page, 3), CountMode.NONE)
+          .forEach(place -> near.add(place.getId()));
+      placeService.findPlacesIntersectingTrack(track, null, PageRequest.of(page, 3), CountMode.NONE)
+          .forEach(place -> onTrack.add(place.getId()));
+    }
+
+    assertThat(near).containsExactlyElementsOf(ids);
+    assertThat(onTrack).containsExactlyElementsOf(ids);
+  }
 }
@@ -0,0 +1,208 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.domain.PlaceGroup;
+import com.placemark.explorer.places.dto.group.CreateGroupRequest;
+import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.geo.GeoRegions;
+import com.placemark.explorer.places.service.CountMode;
+import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.purge.SoftDeletePurgeJob;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "places.purge.retention=30d")
+class PlacePartitioningIntegrationTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private SoftDeletePurgeJob purgeJob;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+    jdbcTemplate.update("DELETE FROM place_groups");
+    jdbcTemplate.update("TRUNCATE places_archive, place_groups_archive, place_group_membership_archive");
+  }
+
+  @Test
+  void shouldRouteEachPlaceToThePartitionOfItsRegion() {
+    UUID southWest = place(44.9995, -0.0005, 100);
+    UUID southEast = place(44.9995, 0.0005, 100);
+    UUID northWest = place(45.0005, -0.0005, 100);
+    UUID northEast = place(45.0005, 0.0005, 100);
+
+    List<UUID> ids = List.of(southWest, southEast, northWest, northEast);
+    assertThat(ids).extracting(this::region).doesNotHaveDuplicates();
+    for (UUID id : ids) {
+      String region = region(id);
+      assertThat(region).isEqualTo(placeService.getPlace(id).getRegion());
+      assertThat(jdbcTemplate.queryForObject(
+          "SELECT tableoid::regclass::text FROM places WHERE id = ?", String.class, id))
+          .isEqualTo("places_" + region);
+      assertThat(jdbcTemplate.queryForObject("SELECT region FROM place_keys WHERE id = ?", String.class, id))
+          .isEqualTo(region);
+    }
+  }
+
+  @Test
+  void shouldFindPlacesAcrossRegionBoundaries() {
+    UUID southWest = place(44.9995, -0.0005, 100);
+    UUID southEast = place(44.9995, 0.0005, 100);
+    UUID northWest = place(45.0005, -0.0005, 100);
+    UUID northEast = place(45.0005, 0.0005, 100);
+    UUID outside = place(45.01, 0.01, 100);
+
+    assertThat(near(45, 0, 200)).containsExactlyInAnyOrder(southWest, southEast, northWest, northEast);
+    assertThat(track(point(44.999, -0.001), point(45.001, 0.001)))
+        .containsExactlyInAnyOrder(southWest, southEast, northWest, northEast)
+        .doesNotContain(outside);
+  }
+
+  @Test
+  void shouldFindPlacesAcrossTheAntimeridian() {
+    UUID east = place(10.0005, 179.999, 200);
+    UUID west = place(10.0005, -179.999, 200);
+    UUID elsewhere = place(10, 170, 200);
+    assertThat(region(east)).isNotEqualTo(region(west));
+
+    assertThat(near(10, 179.9995, 500)).containsExactlyInAnyOrder(east, west);
+    assertThat(near(10, -179.9995, 500)).containsExactlyInAnyOrder(east, west);
+    assertThat(track(point(10, 179.995), point(10, -179.995)))
+        .containsExactlyInAnyOrder(east, west)
+        .doesNotContain(elsewhere);
+  }
+
+  @Test
+  void shouldRejectDuplicateIdInAnyPartition() {
+    UUID id = place(52.52, 13.405, 100);
+
+    assertThatThrownBy(() -> insert(id, -33.86, 151.21)).isInstanceOf(DuplicateKeyException.class);
+    assertThatThrownBy(() -> insert(id, 52.53, 13.41)).isInstanceOf(DuplicateKeyException.class);
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places WHERE id = ?", Long.class, id)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldKeepIdAndMembershipsWhenLocationMovesRowToAnotherPartition() {
+    PlaceGroup group = placeService.createGroup(new CreateGroupRequest("Tour", null));
+    UUID id = place(52.52, 13.405, 100);
+    placeService.addPlaceToGroup(group.getId(), id);
+    String before = region(id);
+
+    jdbcTemplate.update("""
+        UPDATE places
+        SET location = ST_SetSRID(ST_MakePoint(151.21, -33.86), 4326)::geography,
+            region = place_region(ST_SetSRID(ST_MakePoint(151.21, -33.86), 4326)::geography)
+        WHERE id = ?
+        """, id);
+
+    String after = GeoRegions.of(-33.86, 151.21);
+    assertThat(after).isNotEqualTo(before);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT tableoid::regclass::text FROM places WHERE id = ?", String.class, id)).isEqualTo("places_" + after);
+    assertThat(jdbcTemplate.queryForObject("SELECT region FROM place_keys WHERE id = ?", String.class, id))
+        .isEqualTo(after);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM place_group_membership WHERE place_id = ?", Long.class, id)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldKeepMembershipsPointingAtRegisteredPlaceIds() {
+    PlaceGroup group = placeService.createGroup(new CreateGroupRequest("Tour", null));
+    UUID id = place(52.52, 13.405, 100);
+    placeService.addPlaceToGroup(group.getId(), id);
+
+    assertThatThrownBy(() -> jdbcTemplate.update(
+        "INSERT INTO place_group_membership (place_id, group_id) VALUES (?, ?)", UUID.randomUUID(), group.getId()))
+        .isInstanceOf(DataIntegrityViolationException.class);
+    assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM places WHERE id = ?", id))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  void shouldReleaseIdWhenPurgeArchivesSoftDeletedPlace() {
+    UUID purged = place(52.52, 13.405, 100);
+    UUID kept = place(52.53, 13.41, 100);
+    placeService.deletePlace(purged);
+    jdbcTemplate.update("UPDATE places SET deleted_at = NOW() - INTERVAL '31 days' WHERE id = ?", purged);
+
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM place_keys", UUID.class)).contains(purged);
+    purgeJob.purge();
+
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM place_keys", UUID.class)).containsExactly(kept);
+    insert(purged, -33.86, 151.21);
+    assertThat(region(purged)).isEqualTo(GeoRegions.of(-33.86, 151.21));
+  }
+
+  private UUID place(double lat, double lon, int radius) {
+    Place place = placeService.createPlace(
+        new CreatePlaceRequest("Place " + lat + "," + lon, null, PlaceCategory.LANDMARK, lat, lon, radius));
+    return place.getId();
+  }
+
+  private void insert(UUID id, double lat, double lon) {
+    jdbcTemplate.update("""
+        INSERT INTO places (id, name, category, location, visit_radius_meters, region)
+        SELECT ?, 'Inserted', 'LANDMARK', g, 100, place_region(g)
+        FROM (SELECT ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography AS g) s
+        """, id, lon, lat);
+  }
+
+  private String region(UUID id) {
+    return jdbcTemplate.queryForObject("SELECT region FROM places WHERE id = ?", String.class, id);
+  }
+
+  private List<UUID> near(double lat, double lon, int radius) {
+    return placeService.findPlacesNear(lat, lon, radius, null, PageRequest.of(0, 50), CountMode.NONE)
+        .map(Place::getId)
+        .getContent();
+  }
+
+  private List<UUID> track(Point... points) {
+    return placeService.findPlacesIntersectingTrack(List.of(points), null, PageRequest.of(0, 50), CountMode.NONE)
+        .map(Place::getId)
+        .getContent();
+  }
+
+  private Point point(double lat, double lon) {
+    return placeService.toPoint(lat, lon);
+  }
+}
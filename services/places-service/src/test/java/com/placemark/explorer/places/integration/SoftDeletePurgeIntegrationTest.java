@@ -0,0 +1,111 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.domain.PlaceGroup;
+import com.placemark.explorer.places.dto.group.CreateGroupRequest;
+import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.purge.SoftDeletePurgeJob;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"places.purge.retention=30d", "places.purge.batch-size=2"})
+class SoftDeletePurgeIntegrationTest {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private SoftDeletePurgeJob purgeJob;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+    jdbcTemplate.update("DELETE FROM place_groups");
+    jdbcTemplate.update("TRUNCATE places_archive, place_groups_archive, place_group_membership_archive");
+  }
+
+  @Test
+  void shouldArchiveRowsDeletedBeforeRetention() {
+    PlaceGroup group = placeService.createGroup(new CreateGroupRequest("Old tour", null));
+    PlaceGroup liveGroup = placeService.createGroup(new CreateGroupRequest("Live tour", null));
+    UUID expired = place("Expired");
+    UUID expiredInGroups = place("Expired member");
+    UUID recent = place("Recently deleted");
+    UUID live = place("Live");
+    placeService.addPlaceToGroup(group.getId(), expiredInGroups);
+    placeService.addPlaceToGroup(liveGroup.getId(), expiredInGroups);
+    placeService.addPlaceToGroup(group.getId(), live);
+
+    placeService.deletePlace(expired);
+    placeService.deletePlace(expiredInGroups);
+    placeService.deletePlace(recent);
+    placeService.deleteGroup(group.getId());
+    // Move the deletions past the 30 day retention; `recent` stays inside it.
+    jdbcTemplate.update("UPDATE places SET deleted_at = NOW() - INTERVAL '31 days' WHERE id IN (?, ?)",
+        expired, expiredInGroups);
+    jdbcTemplate.update("UPDATE place_groups SET deleted_at = NOW() - INTERVAL '31 days' WHERE id = ?",
+        group.getId());
+
+    purgeJob.purge();
+
+    assertThat(ids("SELECT id FROM places_archive")).containsExactlyInAnyOrder(expired, expiredInGroups);
+    assertThat(ids("SELECT id FROM places")).containsExactlyInAnyOrder(recent, live);
+    assertThat(ids("SELECT id FROM place_keys")).containsExactlyInAnyOrder(recent, live);
+    assertThat(ids("SELECT id FROM place_groups_archive")).containsExactly(group.getId());
+    assertThat(ids("SELECT id FROM place_groups")).containsExactly(liveGroup.getId());
+    assertThat(jdbcTemplate.queryForList(
+        "SELECT place_id || '/' || group_id FROM place_group_membership_archive", String.class))
+        .containsExactlyInAnyOrder(
+            expiredInGroups + "/" + group.getId(),
+            expiredInGroups + "/" + liveGroup.getId(),
+            live + "/" + group.getId());
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM place_group_membership", Long.class)).isZero();
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT place_count FROM place_groups_archive WHERE id = ?", Integer.class, group.getId())).isEqualTo(1);
+
+    purgeJob.purge();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM places_archive", Long.class)).isEqualTo(2);
+  }
+
+  private UUID place(String name) {
+    Place place = placeService.createPlace(
+        new CreatePlaceRequest(name, null, PlaceCategory.LANDMARK, 52.52, 13.405, 100));
+    return place.getId();
+  }
+
+  private List<UUID> ids(String sql) {
+    return jdbcTemplate.queryForList(sql, UUID.class);
+  }
+}
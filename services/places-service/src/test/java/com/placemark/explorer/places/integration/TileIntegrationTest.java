@@ -0,0 +1,275 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.TileService;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {"places.tiles.cluster-max-zoom=12", "places.tiles.cluster-grid-size=64"})
+class TileIntegrationTest {
+
+  private static final int CLUSTERED_ZOOM = 10;
+  private static final int POINT_ZOOM = 16;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private TileService tileService;
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  // The zoom 10 tile around Berlin's Alexanderplatz. With a 64 x 64 grid, its cluster cells are
+  // zoom 16 tiles, and ST_SnapToGrid rounds each place to the nearest zoom 16 tile corner.
+  private final int clusteredX = tileX(13.4133, CLUSTERED_ZOOM);
+  private final int clusteredY = tileY(52.5219, CLUSTERED_ZOOM);
+  private final int x = clusteredX * 64 + 32;
+  private final int y = clusteredY * 64 + 32;
+  private final double longitude = lon(x + 0.5, POINT_ZOOM);
+  private final double latitude = lat(y + 0.5, POINT_ZOOM);
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+  }
+
+  @Test
+  void shouldRenderEveryPlaceAsItsOwnFeatureAboveClusterMaxZoom() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      ids.add(place(latitude + (i % 5 - 2) * 0.0004, longitude + (i / 5 - 0.5) * 0.002, PlaceCategory.LANDMARK));
+    }
+    place(lat(y - 1.5, POINT_ZOOM), longitude, PlaceCategory.LANDMARK);
+
+    List<Map<String, Object>> features = features(tileService.renderTile(POINT_ZOOM, x, y, null));
+
+    assertThat(features).hasSize(10);
+    assertThat(features).extracting(feature -> UUID.fromString((String) feature.get("id")))
+        .containsExactlyInAnyOrderElementsOf(ids);
+    assertThat(features).allSatisfy(feature -> assertThat(feature)
+        .containsEntry("category", "LANDMARK")
+        .hasEntrySatisfying("point_count", count -> assertThat(((Number) count).longValue()).isEqualTo(1)));
+  }
+
+  @Test
+  void shouldMergeNearbyPlacesIntoClustersUpToClusterMaxZoom() {
+    // Ten places within a fifth of a cell around one grid point, and one three cells away.
+    double cornerLatitude = lat(y, POINT_ZOOM);
+    double cornerLongitude = lon(x, POINT_ZOOM);
+    for (int i = 0; i < 10; i++) {
+      place(cornerLatitude + (i % 5 - 2) * 0.0003, cornerLongitude + (i / 5 - 0.5) * 0.002,
+          i == 0 ? PlaceCategory.MUSEUM : PlaceCategory.LANDMARK);
+    }
+    UUID alone = place(lat(y + 3, POINT_ZOOM), lon(x + 3, POINT_ZOOM), PlaceCategory.PARK);
+
+    List<Map<String, Object>> features = features(tileService.renderTile(CLUSTERED_ZOOM, clusteredX, clusteredY, null));
+
+    assertThat(features).hasSize(2);
+    Map<String, Object> cluster = features.stream()
+        .filter(feature -> ((Number) feature.get("point_count")).longValue() == 10)
+        .findFirst()
+        .orElseThrow();
+    assertThat(cluster).doesNotContainKeys("id", "name", "category");
+    Map<String, Object> single = features.stream()
+        .filter(feature -> feature != cluster)
+        .findFirst()
+        .orElseThrow();
+    assertThat(single)
+        .containsEntry("id", alone.toString())
+        .containsEntry("category", "PARK");
+    assertThat(((Number) single.get("point_count")).longValue()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldChangeETagOnlyWhenThePlacesOfTheTileChange() {
+    UUID first = place(latitude, longitude, PlaceCategory.LANDMARK);
+    String etag = tileService.tileETag(POINT_ZOOM, x, y, null);
+    assertThat(tileService.tileETag(POINT_ZOOM, x, y, null)).isEqualTo(etag);
+
+    place(latitude + 10, longitude, PlaceCategory.LANDMARK);
+    assertThat(tileService.tileETag(POINT_ZOOM, x, y, null)).isEqualTo(etag);
+
+    UUID second = place(latitude + 0.0005, longitude, PlaceCategory.LANDMARK);
+    String afterCreate = tileService.tileETag(POINT_ZOOM, x, y, null);
+    assertThat(afterCreate).isNotEqualTo(etag);
+    assertThat(tileService.tileETag(POINT_ZOOM, x, y, PlaceCategory.PARK)).isNotEqualTo(afterCreate);
+
+    placeService.deletePlace(second);
+    String afterDelete = tileService.tileETag(POINT_ZOOM, x, y, null);
+    assertThat(afterDelete).isNotEqualTo(afterCreate);
+
+    placeService.deletePlace(first);
+    assertThat(tileService.tileETag(POINT_ZOOM, x, y, null)).isNotEqualTo(afterDelete);
+  }
+
+  private UUID place(double lat, double lon, PlaceCategory category) {
+    Place place = placeService.createPlace(new CreatePlaceRequest("Place", null, category, lat, lon, 50));
+    return place.getId();
+  }
+
+  private static int tileX(double lon, int z) {
+    return (int) Math.floor((lon + 180) / 360 * (1 << z));
+  }
+
+  private static int tileY(double lat, int z) {
+    double radians = Math.toRadians(lat);
+    return (int) Math.floor((1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2 * (1 << z));
+  }
+
+  private static double lon(double tileX, int z) {
+    return tileX / (1 << z) * 360 - 180;
+  }
+
+  private static double lat(double tileY, int z) {
+    return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * tileY / (1 << z)))));
+  }
+
+  /** Properties of the features of every layer of a Mapbox vector tile. */
+  private static List<Map<String, Object>> features(byte[] tile) {
+    List<Map<String, Object>> features = new ArrayList<>();
+    Protobuf message = new Protobuf(tile);
+    while (message.hasNext()) {
+      int key = message.key();
+      if (key >>> 3 == 3) {
+        features.addAll(layerFeatures(message.bytes()));
+      } else {
+        message.skip(key & 7);
+      }
+    }
+    return features;
+  }
+
+  private static List<Map<String, Object>> layerFeatures(byte[] layer) {
+    List<String> keys = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    List<byte[]> encodedFeatures = new ArrayList<>();
+    Protobuf message = new Protobuf(layer);
+    while (message.hasNext()) {
+      int key = message.key();
+      switch (key >>> 3) {
+        case 2 -> encodedFeatures.add(message.bytes());
+        case 3 -> keys.add(new String(message.bytes(), StandardCharsets.UTF_8));
+        case 4 -> values.add(value(message.bytes()));
+        default -> message.skip(key & 7);
+      }
+    }
+
+    List<Map<String, Object>> features = new ArrayList<>();
+    for (byte[] encoded : encodedFeatures) {
+      Map<String, Object> properties = new HashMap<>();
+      Protobuf feature = new Protobuf(encoded);
+      while (feature.hasNext()) {
+        int key = feature.key();
+        if (key >>> 3 == 2) {
+          Protobuf tags = new Protobuf(feature.bytes());
+          while (tags.hasNext()) {
+            properties.put(keys.get((int) tags.varint()), values.get((int) tags.varint()));
+          }
+        } else {
+          feature.skip(key & 7);
+        }
+      }
+      features.add(properties);
+    }
+    return features;
+  }
+
+  private static Object value(byte[] encoded) {
+    Protobuf message = new Protobuf(encoded);
+    int key = message.key();
+    return switch (key >>> 3) {
+      case 1 -> new String(message.bytes(), StandardCharsets.UTF_8);
+      case 2 -> message.buffer.getFloat();
+      case 3 -> message.buffer.getDouble();
+      case 4, 5 -> message.varint();
+      case 6 -> {
+        long zigzag = message.varint();
+        yield (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+      case 7 -> message.varint() != 0;
+      default -> throw new IllegalStateException("Unknown MVT value field " + (key >>> 3));
+    };
+  }
+
+  private static final class Protobuf {
+
+    private final ByteBuffer buffer;
+
+    Protobuf(byte[] bytes) {
+      this.buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    boolean hasNext() {
+      return buffer.hasRemaining();
+    }
+
+    int key() {
+      return (int) varint();
+    }
+
+    long varint() {
+      long result = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buffer.get();
+        result |= (long) (b & 0x7f) << shift;
+        shift += 7;
+      } while (b < 0);
+      return result;
+    }
+
+    byte[] bytes() {
+      byte[] bytes = new byte[(int) varint()];
+      buffer.get(bytes);
+      return bytes;
+    }
+
+    void skip(int wireType) {
+      switch (wireType) {
+        case 0 -> varint();
+        case 1 -> buffer.position(buffer.position() + 8);
+        case 2 -> bytes();
+        case 5 -> buffer.position(buffer.position() + 4);
+        default -> throw new IllegalStateException("Unknown protobuf wire type " + wireType);
+      }
+    }
+  }
+}
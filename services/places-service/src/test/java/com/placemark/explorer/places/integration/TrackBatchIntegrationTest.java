@@ -0,0 +1,161 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.SpatialIndexProperties;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.dto.place.CreatePlaceRequest;
+import com.placemark.explorer.places.index.IndexedPlace;
+import com.placemark.explorer.places.index.PlaceSpatialIndex;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.repository.TrackMatch;
+import com.placemark.explorer.places.service.PlaceService;
+import com.placemark.explorer.places.service.track.TrackPreprocessor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Checks that the three ways a batch of tracks is matched agree with a plain {@code ST_DWithin}: the
+ * in-memory index, the query for a single track and the jsonb query for many, which the service
+ * runs in batches of seven tracks here.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "places.track.batch-query-tracks=7")
+class TrackBatchIntegrationTest {
+
+  private static final String EXPECTED_SQL = """
+      SELECT id
+      FROM places
+      WHERE deleted = false
+        AND (CAST(? AS VARCHAR) IS NULL OR category = ?)
+        AND ST_DWithin(location, ST_GeogFromText(?), visit_radius_meters)
+      """;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private PlaceRepository placeRepository;
+
+  @Autowired
+  private TrackPreprocessor trackPreprocessor;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final PlaceSpatialIndex spatialIndex =
+      new PlaceSpatialIndex(new SpatialIndexProperties(true, 0.01, 1000, 10_000, null));
+  private final Random random = new Random(7);
+
+  @Test
+  void shouldMatchTheSamePlacesOnTheIndexAndBothDatabasePaths() throws Exception {
+    PlaceCategory[] categories = PlaceCategory.values();
+    for (int i = 0; i < 300; i++) {
+      Place place = placeService.createPlace(new CreatePlaceRequest("Place " + i, null,
+          categories[i % categories.length], 52.46 + 0.12 * random.nextDouble(), 13.30 + 0.2 * random.nextDouble(),
+          25 + random.nextInt(2000)));
+      spatialIndex.put(IndexedPlace.of(place));
+    }
+
+    Map<String, List<Point>> tracks = new LinkedHashMap<>();
+    for (int i = 0; i < 30; i++) {
+      List<Point> track = new ArrayList<>();
+      double lat = 52.46 + 0.12 * random.nextDouble();
+      double lon = 13.30 + 0.2 * random.nextDouble();
+      for (int j = 1 + random.nextInt(6); j > 0; j--) {
+        track.add(placeService.toPoint(lat, lon));
+        lat += 0.01 * random.nextGaussian();
+        lon += 0.01 * random.nextGaussian();
+      }
+      tracks.put("track-" + i, track);
+    }
+    tracks.put("far-away", List.of(placeService.toPoint(-33.86, 151.21), placeService.toPoint(-33.87, 151.22)));
+
+    assertSamePlaces(tracks, null);
+    assertSamePlaces(tracks, PlaceCategory.MUSEUM);
+  }
+
+  private void assertSamePlaces(Map<String, List<Point>> tracks, PlaceCategory category) throws Exception {
+    String categoryName = category != null ? category.name() : null;
+    Map<String, List<UUID>> serviced = placeService.findPlacesIntersectingTracks(tracks, category).placeIdsByTrack();
+    assertThat(serviced.keySet()).containsExactlyElementsOf(tracks.keySet());
+
+    List<Map<String, String>> rows = new ArrayList<>();
+    Map<String, List<UUID>> batched = new LinkedHashMap<>();
+    tracks.forEach((trackId, points) -> {
+      rows.add(Map.of("track_id", trackId, "wkt", wkt(trackPreprocessor.preprocess(points))));
+      batched.put(trackId, new ArrayList<>());
+    });
+    for (TrackMatch match : placeRepository.findPlacesIntersectingTracks(
+        objectMapper.writeValueAsString(rows), categoryName, null)) {
+      batched.get(match.getTrackId()).add(match.getPlaceId());
+    }
+
+    int matched = 0;
+    for (Map<String, String> row : rows) {
+      String trackId = row.get("track_id");
+      List<UUID> expected = jdbcTemplate.queryForList(EXPECTED_SQL, UUID.class, categoryName, categoryName,
+          row.get("wkt"));
+      matched += expected.size();
+
+      assertThat(spatialIndex.findIntersectingTrack(trackPreprocessor.preprocess(tracks.get(trackId)), category))
+          .as("index, %s", trackId)
+          .hasValueSatisfying(ids -> assertThat(ids).containsExactlyInAnyOrderElementsOf(expected));
+      assertThat(serviced.get(trackId))
+          .as("service, %s", trackId)
+          .isSortedAccordingTo(PlaceSpatialIndex.ID_ORDER)
+          .containsExactlyInAnyOrderElementsOf(expected);
+      assertThat(placeRepository.findPlaceIdsIntersectingTrack(row.get("wkt"), categoryName, null))
+          .as("single track query, %s", trackId)
+          .containsExactlyInAnyOrderElementsOf(expected);
+      assertThat(batched.get(trackId))
+          .as("batched query, %s", trackId)
+          .containsExactlyInAnyOrderElementsOf(expected);
+    }
+    assertThat(matched).as("fixtures must produce matches").isPositive();
+    assertThat(serviced.get("far-away")).isEmpty();
+  }
+
+  private static String wkt(List<Point> track) {
+    if (track.size() == 1) {
+      return "SRID=4326;POINT(" + track.get(0).getX() + " " + track.get(0).getY() + ")";
+    }
+    StringBuilder sb = new StringBuilder("SRID=4326;LINESTRING(");
+    for (int i = 0; i < track.size(); i++) {
+      sb.append(i > 0 ? "," : "").append(track.get(i).getX()).append(' ').append(track.get(i).getY());
+    }
+    return sb.append(')').toString();
+  }
+}
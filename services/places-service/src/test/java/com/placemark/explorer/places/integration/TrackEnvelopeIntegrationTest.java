@@ -0,0 +1,208 @@
+package com.placemark.explorer.places.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.service.PlaceService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Checks the visit_envelope prefilter of the track queries against a plain {@code ST_DWithin} over
+ * every place, on fixtures where a lat/lon box is easy to get wrong.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class TrackEnvelopeIntegrationTest {
+
+  private static final String EXPECTED_SQL = """
+      SELECT id
+      FROM places
+      WHERE deleted = false
+        AND ST_DWithin(location, ST_GeogFromText(?), visit_radius_meters)
+      """;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired
+  private PlaceRepository placeRepository;
+
+  @Autowired
+  private PlaceService placeService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final Random random = new Random(42);
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM place_group_membership");
+    jdbcTemplate.update("DELETE FROM places");
+  }
+
+  @Test
+  void shouldMatchPlainDistanceCheckNearThePoles() {
+    insert(89.5, 0, 100);
+    insert(89.95, 120, 25);
+    insert(89.999, -60, 10);
+    insert(88.9, 45, 15_000);
+    insert(-89.5, 170, 500);
+    insert(-89.9, -10, 50);
+    for (int i = 0; i < 300; i++) {
+      double lat = 88 + 2 * random.nextDouble();
+      insert(random.nextBoolean() ? lat : -lat, lon(), 25 + random.nextInt(20_000));
+    }
+
+    List<List<Point>> tracks = new ArrayList<>();
+    tracks.add(List.of(point(89.5, -90), point(89.5, 90)));
+    tracks.add(List.of(point(89.9, 30), point(89.9, 150), point(89.9, -90)));
+    tracks.add(List.of(point(-89.6, 0), point(-89.6, 180)));
+    tracks.add(List.of(point(89.4999, 0.01)));
+    for (int i = 0; i < 40; i++) {
+      double lat = 88 + 2 * random.nextDouble();
+      double sign = random.nextBoolean() ? 1 : -1;
+      double lon = lon();
+      tracks.add(List.of(
+          point(sign * lat, lon),
+          point(sign * (88 + 2 * random.nextDouble()), wrap(lon + 60 + 120 * random.nextDouble()))));
+    }
+
+    assertSameAsPlainDistanceCheck(tracks);
+  }
+
+  @Test
+  void shouldMatchPlainDistanceCheckForLargeVisitRadius() {
+    insert(60, 10, 200_000);
+    insert(0, 0, 1_500_000);
+    insert(75, -100, 900_000);
+    for (int i = 0; i < 200; i++) {
+      insert(-70 + 140 * random.nextDouble(), lon(), 100_000 + random.nextInt(1_400_000));
+    }
+
+    List<List<Point>> tracks = new ArrayList<>();
+    tracks.add(List.of(point(61.9, 10), point(61.9, 14)));
+    tracks.add(List.of(point(13.5, 0)));
+    tracks.add(List.of(point(82, -60), point(82, -140)));
+    for (int i = 0; i < 40; i++) {
+      double lat = -80 + 160 * random.nextDouble();
+      double lon = lon();
+      tracks.add(List.of(point(lat, lon), point(clampLat(lat + 20 * random.nextGaussian()), wrap(lon + 30))));
+    }
+
+    assertSameAsPlainDistanceCheck(tracks);
+  }
+
+  @Test
+  void shouldMatchPlainDistanceCheckAcrossTheAntimeridian() {
+    insert(10, 179.999, 200);
+    insert(10, -179.999, 200);
+    insert(70, 179.9, 20_000);
+    insert(-45, -179.5, 80_000);
+    for (int i = 0; i < 300; i++) {
+      double lon = 179 + random.nextDouble();
+      insert(-80 + 160 * random.nextDouble(), random.nextBoolean() ? lon : -lon, 25 + random.nextInt(50_000));
+    }
+
+    List<List<Point>> tracks = new ArrayList<>();
+    tracks.add(List.of(point(10, 179.995), point(10, -179.995)));
+    tracks.add(List.of(point(10.001, -179.9985)));
+    tracks.add(List.of(point(70, -179.6), point(70.1, -179.4)));
+    tracks.add(List.of(point(-45.2, 179.4), point(-44.8, 179.8)));
+    for (int i = 0; i < 40; i++) {
+      double lat = -80 + 160 * random.nextDouble();
+      double lon = 178 + 2 * random.nextDouble();
+      tracks.add(List.of(
+          point(lat, lon),
+          point(clampLat(lat + random.nextGaussian()), -(178 + 2 * random.nextDouble()))));
+    }
+
+    assertSameAsPlainDistanceCheck(tracks);
+  }
+
+  private void assertSameAsPlainDistanceCheck(List<List<Point>> tracks) {
+    Map<String, List<Point>> byId = new LinkedHashMap<>();
+    Set<UUID> matched = new HashSet<>();
+    for (int i = 0; i < tracks.size(); i++) {
+      List<Point> track = tracks.get(i);
+      String wkt = wkt(track);
+      Set<UUID> expected = new HashSet<>(jdbcTemplate.queryForList(EXPECTED_SQL, UUID.class, wkt));
+      matched.addAll(expected);
+
+      assertThat(placeRepository.findPlaceIdsIntersectingTrack(wkt, null, null))
+          .as("track %s", wkt)
+          .doesNotHaveDuplicates()
+          .containsExactlyInAnyOrderElementsOf(expected);
+      byId.put("t" + i, track);
+    }
+    assertThat(matched).as("fixtures must produce matches").isNotEmpty();
+
+    Map<String, List<UUID>> batched = placeService.findPlacesIntersectingTracks(byId, null).placeIdsByTrack();
+    byId.forEach((trackId, track) -> assertThat(batched.get(trackId))
+        .as("batched track %s", wkt(track))
+        .containsExactlyInAnyOrderElementsOf(jdbcTemplate.queryForList(EXPECTED_SQL, UUID.class, wkt(track))));
+  }
+
+  private void insert(double lat, double lon, int radius) {
+    jdbcTemplate.update("""
+        INSERT INTO places (id, name, category, location, visit_radius_meters, region)
+        SELECT ?, 'Fixture', 'LANDMARK', g, ?, place_region(g)
+        FROM (SELECT ST_SetSRID(ST_MakePoint(?, ?), 4326)::geography AS g) s
+        """, UUID.randomUUID(), radius, lon, lat);
+  }
+
+  private double lon() {
+    return -180 + 360 * random.nextDouble();
+  }
+
+  private static double wrap(double lon) {
+    return lon > 180 ? lon - 360 : lon;
+  }
+
+  private static double clampLat(double lat) {
+    return Math.max(-89.99, Math.min(89.99, lat));
+  }
+
+  private Point point(double lat, double lon) {
+    return placeService.toPoint(lat, lon);
+  }
+
+  private static String wkt(List<Point> track) {
+    if (track.size() == 1) {
+      return "SRID=4326;POINT(" + track.get(0).getX() + " " + track.get(0).getY() + ")";
+    }
+    StringBuilder sb = new StringBuilder("SRID=4326;LINESTRING(");
+    for (int i = 0; i < track.size(); i++) {
+      sb.append(i > 0 ? "," : "").append(track.get(i).getX()).append(' ').append(track.get(i).getY());
+    }
+    return sb.append(')').toString();
+  }
+}
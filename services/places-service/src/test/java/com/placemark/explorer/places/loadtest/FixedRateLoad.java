@@ -0,0 +1,110 @@
+package com.placemark.explorer.places.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule whether or not earlier ones
+ * have completed, and latency is measured from the scheduled start, so a stalled server shows up
+ * in the percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+final class FixedRateLoad {
+
+  private final HttpClient client;
+
+  FixedRateLoad(HttpClient client) {
+    this.client = client;
+  }
+
+  Result run(String endpoint, LongFunction<HttpRequest> requests, int ratePerSecond, Duration warmUp, Duration duration) {
+    drive(requests, ratePerSecond, warmUp, null);
+    Recorder recorder = new Recorder();
+    long elapsed = drive(requests, ratePerSecond, duration, recorder);
+    return recorder.result(endpoint, ratePerSecond, elapsed);
+  }
+
+  private long drive(LongFunction<HttpRequest> requests, int ratePerSecond, Duration duration, Recorder recorder) {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+    long total = duration.toNanos() / intervalNanos;
+    List<CompletableFuture<?>> inFlight = new ArrayList<>();
+    long started = System.nanoTime();
+    for (long i = 0; i < total; i++) {
+      long scheduled = started + i * intervalNanos;
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      CompletableFuture<?> response = client.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+          .handle((result, failure) -> {
+            if (recorder != null) {
+              recorder.record(System.nanoTime() - scheduled, failure == null && result.statusCode() < 400);
+            }
+            return null;
+          });
+      inFlight.add(response);
+    }
+    CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+    return System.nanoTime() - started;
+  }
+
+  record Result(
+      String endpoint,
+      int targetRatePerSecond,
+      long requests,
+      long errors,
+      double throughputPerSecond,
+      double p50Millis,
+      double p99Millis,
+      double p999Millis,
+      double maxMillis) {}
+
+  private static final class Recorder {
+
+    private long errors;
+    private long[] latencies = new long[1 << 16];
+    private int count;
+
+    synchronized void record(long latencyNanos, boolean success) {
+      if (!success) {
+        errors++;
+      }
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+    }
+
+    synchronized Result result(String endpoint, int ratePerSecond, long elapsedNanos) {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      long succeeded = count - errors;
+      return new Result(
+          endpoint,
+          ratePerSecond,
+          count,
+          errors,
+          succeeded * 1e9 / Math.max(1, elapsedNanos),
+          percentileMillis(sorted, 0.50),
+          percentileMillis(sorted, 0.99),
+          percentileMillis(sorted, 0.999),
+          sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+      return sorted[Math.max(0, rank)] / 1e6;
+    }
+  }
+}
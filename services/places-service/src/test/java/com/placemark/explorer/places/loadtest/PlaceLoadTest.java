@@ -0,0 +1,228 @@
+package com.placemark.explorer.places.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.placemark.explorer.places.dto.place.TrackIntersectionRequest;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Seeds a synthetic catalog into PostGIS and drives the geo endpoints at a fixed arrival rate.
+ * Run with {@code ./gradlew loadTest}; sizes and rates come from {@code -Ploadtest.*} properties
+ * and the percentiles are written to {@code load-tests/results/places-service-<version>.json}, with
+ * the active Spring profiles appended to the name, so runs with and without virtual threads can be
+ * kept side by side.
+ */
+@Tag("load")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlaceLoadTest {
+
+  private static final Logger log = LoggerFactory.getLogger(PlaceLoadTest.class);
+
+  // Places are spread over roughly the area of Germany.
+  private static final double MIN_LATITUDE = 47.5;
+  private static final double LATITUDE_SPAN = 7.0;
+  private static final double MIN_LONGITUDE = 6.0;
+  private static final double LONGITUDE_SPAN = 9.0;
+
+  private static final int PLACES = Integer.getInteger("loadtest.places", 100_000);
+  private static final int GROUPS = Integer.getInteger("loadtest.groups", 1_000);
+  private static final int GROUPS_PER_PLACE = Integer.getInteger("loadtest.groupsPerPlace", 2);
+  private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+  private static final int TRACK_POINTS = Integer.getInteger("loadtest.trackPoints", 500);
+  private static final Duration WARM_UP = Duration.parse(System.getProperty("loadtest.warmUp", "PT10S"));
+  private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgis/postgis:16-3.4")
+      .withDatabaseName("places")
+      .withUsername("places")
+      .withPassword("places");
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private Environment environment;
+
+  @BeforeAll
+  void seed() {
+    long started = System.nanoTime();
+    jdbcTemplate.update("""
+        INSERT INTO places (id, name, description, category, location, visit_radius_meters, region)
+        SELECT id, name, description, category, location, visit_radius_meters, place_region(location)
+        FROM (
+          SELECT gen_random_uuid() AS id, 'Place ' || i AS name, 'Synthetic load test place' AS description,
+                 (ARRAY['LANDMARK', 'MUSEUM', 'PARK', 'RESTAURANT', 'CITY', 'OTHER'])[1 + i % 6] AS category,
+                 ST_SetSRID(ST_MakePoint(? + random() * ?, ? + random() * ?), 4326)::geography AS location,
+                 25 + i % 475 AS visit_radius_meters
+          FROM generate_series(1, ?) AS i
+          OFFSET 0
+        ) s
+        """, MIN_LONGITUDE, LONGITUDE_SPAN, MIN_LATITUDE, LATITUDE_SPAN, PLACES);
+    jdbcTemplate.update("""
+        INSERT INTO place_groups (id, name)
+        SELECT gen_random_uuid(), 'Group ' || i FROM generate_series(1, ?) AS i
+        """, GROUPS);
+    jdbcTemplate.update("""
+        INSERT INTO place_group_membership (place_id, group_id)
+        SELECT p.id, g.ids[1 + floor(random() * cardinality(g.ids))::int]
+        FROM places p, generate_series(1, ?) AS k, (SELECT array_agg(id) AS ids FROM place_groups) g
+        ON CONFLICT DO NOTHING
+        """, GROUPS_PER_PLACE);
+    jdbcTemplate.update("""
+        UPDATE place_groups g SET place_count = c.places
+        FROM (SELECT group_id, COUNT(*) AS places FROM place_group_membership GROUP BY group_id) c
+        WHERE g.id = c.group_id
+        """);
+    jdbcTemplate.execute("ANALYZE");
+    log.info("Seeded {} places, {} groups, {} groups per place in {} ms",
+        PLACES, GROUPS, GROUPS_PER_PLACE, (System.nanoTime() - started) / 1_000_000);
+  }
+
+  @Test
+  void measureGeoEndpoints() throws IOException {
+    SplittableRandom random = new SplittableRandom(42);
+    List<byte[]> tracks = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      tracks.add(objectMapper.writeValueAsBytes(track(random)));
+    }
+
+    Map<String, LongFunction<HttpRequest>> endpoints = new LinkedHashMap<>();
+    endpoints.put("GET /places/near", i -> get(
+        "/api/v1/places/near?radiusMeters=2000&" + randomPoint(random)));
+    endpoints.put("GET /places/nearest", i -> get(
+        "/api/v1/places/nearest?k=10&" + randomPoint(random)));
+    endpoints.put("GET /places/near/scroll", i -> get(
+        "/api/v1/places/near/scroll?radiusMeters=2000&" + randomPoint(random)));
+    endpoints.put("POST /places/intersections", i -> post(
+        "/api/v1/places/intersections", tracks.get((int) (i % tracks.size()))));
+    endpoints.put("GET /tiles (z12)", i -> get(
+        "/api/v1/tiles/12/" + (2130 + i % 16) + "/" + (1360 + i / 16 % 16) + ".mvt"));
+
+    List<FixedRateLoad.Result> results = new ArrayList<>();
+    try (HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build()) {
+      FixedRateLoad load = new FixedRateLoad(client);
+      endpoints.forEach((name, requests) -> {
+        FixedRateLoad.Result result = load.run(name, requests, RATE, WARM_UP, DURATION);
+        log.info("{}: {} req, {} errors, {} req/s, p50 {} ms, p99 {} ms, p99.9 {} ms",
+            name, result.requests(), result.errors(), Math.round(result.throughputPerSecond()),
+            result.p50Millis(), result.p99Millis(), result.p999Millis());
+        results.add(result);
+      });
+    }
+
+    writeResults(results);
+    assertThat(results).allSatisfy(result -> assertThat(result.requests()).isPositive());
+  }
+
+  private void writeResults(List<FixedRateLoad.Result> results) throws IOException {
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("version", System.getProperty("loadtest.version", "dev"));
+    report.put("profiles", List.of(environment.getActiveProfiles()));
+    report.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+    report.put("poolSize", environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+    report.put("recordedAt", Instant.now().toString());
+    // PostGIS runs on the same machine, so this describes the database host too.
+    report.put("machine", Map.of(
+        "processors", Runtime.getRuntime().availableProcessors(),
+        "maxHeapBytes", Runtime.getRuntime().maxMemory(),
+        "os", System.getProperty("os.name") + " " + System.getProperty("os.version") + " " + System.getProperty("os.arch"),
+        "java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version")));
+    report.put("catalog", Map.of("places", PLACES, "groups", GROUPS, "groupsPerPlace", GROUPS_PER_PLACE));
+    report.put("ratePerSecond", RATE);
+    report.put("warmUp", WARM_UP.toString());
+    report.put("duration", DURATION.toString());
+    report.put("trackPoints", TRACK_POINTS);
+    report.put("results", results);
+
+    Path directory = Path.of(System.getProperty("loadtest.resultsDir", "load-tests/results"));
+    Files.createDirectories(directory);
+    String profiles = String.join("+", environment.getActiveProfiles());
+    Path file = directory.resolve(
+        "places-service-" + report.get("version") + (profiles.isEmpty() ? "" : "-" + profiles) + ".json");
+    objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    log.info("Load test results written to {}", file.toAbsolutePath());
+  }
+
+  private String randomPoint(SplittableRandom random) {
+    return "lat=" + (MIN_LATITUDE + random.nextDouble() * LATITUDE_SPAN)
+        + "&lon=" + (MIN_LONGITUDE + random.nextDouble() * LONGITUDE_SPAN);
+  }
+
+  // A 1 Hz cycling track: TRACK_POINTS fixes about 5 m apart.
+  private static TrackIntersectionRequest track(SplittableRandom random) {
+    double lat = MIN_LATITUDE + 1 + random.nextDouble() * (LATITUDE_SPAN - 2);
+    double lon = MIN_LONGITUDE + 1 + random.nextDouble() * (LONGITUDE_SPAN - 2);
+    double heading = random.nextDouble() * 2 * Math.PI;
+    List<TrackPointRequest> points = new ArrayList<>(TRACK_POINTS);
+    for (int i = 0; i < TRACK_POINTS; i++) {
+      points.add(new TrackPointRequest(lat, lon));
+      heading += (random.nextDouble() - 0.5) * 0.4;
+      lat += 5 * Math.cos(heading) / 111_320.0;
+      lon += 5 * Math.sin(heading) / (111_320.0 * Math.cos(Math.toRadians(lat)));
+    }
+    return new TrackIntersectionRequest(points);
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+  }
+
+  private HttpRequest post(String path, byte[] body) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+        .build();
+  }
+}
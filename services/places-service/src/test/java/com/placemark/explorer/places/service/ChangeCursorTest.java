@@ -0,0 +1,38 @@
+package com.placemark.explorer.places.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class ChangeCursorTest {
+
+  @Test
+  void shouldRoundTripCursor() {
+    ChangeCursor cursor = new ChangeCursor(Long.MAX_VALUE, 42);
+
+    assertThat(ChangeCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void shouldStartFromBeginningWithoutCursor() {
+    assertThat(ChangeCursor.decode(null)).isEqualTo(ChangeCursor.START);
+    assertThat(ChangeCursor.decode("")).isEqualTo(ChangeCursor.START);
+  }
+
+  @Test
+  void shouldRejectMalformedCursor() {
+    assertThatThrownBy(() -> ChangeCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> ChangeCursor.decode(token("12"))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> ChangeCursor.decode(token("12:x"))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> ChangeCursor.decode(token("12:3:4"))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> ChangeCursor.decode(token("-1:3"))).isInstanceOf(BadRequestException.class);
+  }
+
+  private static String token(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
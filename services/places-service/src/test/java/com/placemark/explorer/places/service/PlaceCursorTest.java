@@ -0,0 +1,48 @@
+package com.placemark.explorer.places.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PlaceCursorTest {
+
+  @Test
+  void shouldRoundTripDistanceCursor() {
+    PlaceCursor cursor = new PlaceCursor(0.1 + 0.2, UUID.randomUUID());
+
+    assertThat(PlaceCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void shouldRoundTripIdOnlyCursor() {
+    PlaceCursor cursor = new PlaceCursor(null, UUID.randomUUID());
+
+    assertThat(PlaceCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void shouldTreatMissingCursorAsStart() {
+    assertThat(PlaceCursor.decode(null)).isNull();
+    assertThat(PlaceCursor.decode(" ")).isNull();
+  }
+
+  @Test
+  void shouldRejectMalformedCursor() {
+    UUID id = UUID.randomUUID();
+
+    assertThatThrownBy(() -> PlaceCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> PlaceCursor.decode(token("not-a-uuid"))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> PlaceCursor.decode(token("far:" + id))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> PlaceCursor.decode(token("NaN:" + id))).isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> PlaceCursor.decode(token("-1.0:" + id))).isInstanceOf(BadRequestException.class);
+  }
+
+  private static String token(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
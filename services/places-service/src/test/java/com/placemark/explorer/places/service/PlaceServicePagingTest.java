@@ -0,0 +1,198 @@
+package com.placemark.explorer.places.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.cache.NearbyTileCache;
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.index.PlaceSpatialIndex;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.repository.PlaceCountEstimator;
+import com.placemark.explorer.places.repository.PlaceGroupRepository;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import com.placemark.explorer.places.service.track.TrackPreprocessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+class PlaceServicePagingTest {
+
+  private static final double LAT = 52.52;
+  private static final double LON = 13.405;
+  private static final int RADIUS = 1000;
+
+  private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+  private final PlaceCountEstimator countEstimator = mock(PlaceCountEstimator.class);
+  private final PlaceSpatialIndex spatialIndex = mock(PlaceSpatialIndex.class);
+  private PlaceService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new PlaceService(
+        placeRepository,
+        countEstimator,
+        mock(PlaceGroupRepository.class),
+        mock(PlaceChangeRepository.class),
+        spatialIndex,
+        mock(NearbyTileCache.class),
+        mock(TrackPreprocessor.class),
+        mock(ApplicationEventPublisher.class),
+        new ObjectMapper(),
+        new TrackProperties(1000, 200, null));
+    when(countEstimator.estimatePlacesNear(anyDouble(), anyDouble(), anyInt(), any())).thenReturn(1000L);
+    when(placeRepository.countPlacesNear(anyDouble(), anyDouble(), anyInt(), any(), any())).thenReturn(57L);
+  }
+
+  @Test
+  void shouldReturnSliceWithoutCountingInNoneMode() {
+    PageRequest pageable = PageRequest.of(0, 10);
+    databaseReturns(pageable, 10, true);
+
+    Slice<Place> result = service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.NONE);
+
+    assertThat(result).isNotInstanceOf(Page.class);
+    assertThat(result.getNumberOfElements()).isEqualTo(10);
+    assertThat(result.hasNext()).isTrue();
+    verifyNoCounts();
+  }
+
+  @Test
+  void shouldSkipCountOnShortLastPage() {
+    PageRequest pageable = PageRequest.of(2, 10);
+    databaseReturns(pageable, 4, false);
+
+    for (CountMode mode : List.of(CountMode.EXACT, CountMode.ESTIMATED)) {
+      Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, mode);
+
+      assertThat(page.getTotalElements()).isEqualTo(24);
+      assertThat(page.hasNext()).isFalse();
+    }
+    verifyNoCounts();
+  }
+
+  @Test
+  void shouldSkipCountOnEmptyFirstPage() {
+    PageRequest pageable = PageRequest.of(0, 10);
+    databaseReturns(pageable, 0, false);
+
+    Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.EXACT);
+
+    assertThat(page.getTotalElements()).isZero();
+    verifyNoCounts();
+  }
+
+  @Test
+  void shouldCountExactlyWhenMorePagesFollow() {
+    PageRequest pageable = PageRequest.of(1, 10);
+    databaseReturns(pageable, 10, true);
+
+    Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.EXACT);
+
+    assertThat(page.getTotalElements()).isEqualTo(57);
+    verify(placeRepository).countPlacesNear(eq(LAT), eq(LON), eq(RADIUS), any(), any());
+    verify(countEstimator, never()).estimatePlacesNear(anyDouble(), anyDouble(), anyInt(), any());
+  }
+
+  @Test
+  void shouldCountEmptyPagePastTheEnd() {
+    PageRequest pageable = PageRequest.of(9, 10);
+    databaseReturns(pageable, 0, false);
+
+    Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.EXACT);
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getTotalElements()).isEqualTo(57);
+    assertThat(page.hasNext()).isFalse();
+  }
+
+  @Test
+  void shouldUseEstimateWhenMorePagesFollow() {
+    PageRequest pageable = PageRequest.of(1, 10);
+    databaseReturns(pageable, 10, true);
+
+    Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.ESTIMATED);
+
+    assertThat(page.getTotalElements()).isEqualTo(1000);
+    verify(placeRepository, never()).countPlacesNear(anyDouble(), anyDouble(), anyInt(), any(), any());
+  }
+
+  @Test
+  void shouldClampEstimateToRowsThePageProves() {
+    when(countEstimator.estimatePlacesNear(anyDouble(), anyDouble(), anyInt(), any())).thenReturn(3L);
+    PageRequest pageable = PageRequest.of(4, 10);
+    databaseReturns(pageable, 10, true);
+
+    Page<Place> page = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, pageable, CountMode.ESTIMATED);
+
+    // 50 rows up to this page plus at least one on the next.
+    assertThat(page.getTotalElements()).isEqualTo(51);
+    assertThat(page.hasNext()).isTrue();
+  }
+
+  @Test
+  void shouldPageInMemoryIndexResultsInEveryMode() {
+    List<UUID> ids = IntStream.range(0, 25).mapToObj(i -> new UUID(0, i)).toList();
+    when(spatialIndex.isReady()).thenReturn(true);
+    when(spatialIndex.findWithin(LAT, LON, RADIUS, null)).thenReturn(Optional.of(ids));
+    when(placeRepository.findAllById(any())).thenAnswer(invocation -> places(invocation.getArgument(0)));
+
+    Slice<Place> none = service.findPlacesNear(LAT, LON, RADIUS, null, PageRequest.of(1, 10), CountMode.NONE);
+    assertThat(none).isNotInstanceOf(Page.class);
+    assertThat(none.getContent()).extracting(Place::getId).isEqualTo(ids.subList(10, 20));
+    assertThat(none.hasNext()).isTrue();
+
+    for (CountMode mode : List.of(CountMode.EXACT, CountMode.ESTIMATED)) {
+      Page<Place> last = (Page<Place>) service.findPlacesNear(LAT, LON, RADIUS, null, PageRequest.of(2, 10), mode);
+      assertThat(last.getContent()).extracting(Place::getId).isEqualTo(ids.subList(20, 25));
+      assertThat(last.getTotalElements()).isEqualTo(25);
+      assertThat(last.hasNext()).isFalse();
+    }
+
+    Slice<Place> pastEnd = service.findPlacesNear(LAT, LON, RADIUS, null, PageRequest.of(5, 10), CountMode.NONE);
+    assertThat(pastEnd.getContent()).isEmpty();
+    assertThat(pastEnd.hasNext()).isFalse();
+    verify(placeRepository, never()).findPlacesNear(anyDouble(), anyDouble(), anyInt(), any(), any(), any());
+    verifyNoCounts();
+  }
+
+  private void databaseReturns(Pageable pageable, int rows, boolean hasNext) {
+    List<Place> places = places(IntStream.range(0, rows).mapToObj(i -> UUID.randomUUID()).toList());
+    when(placeRepository.findPlacesNear(eq(LAT), eq(LON), eq(RADIUS), any(), any(), eq(pageable)))
+        .thenReturn(new SliceImpl<>(places, pageable, hasNext));
+  }
+
+  private void verifyNoCounts() {
+    verify(placeRepository, never()).countPlacesNear(anyDouble(), anyDouble(), anyInt(), any(), any());
+    verify(countEstimator, never()).estimatePlacesNear(anyDouble(), anyDouble(), anyInt(), any());
+  }
+
+  private static List<Place> places(Collection<UUID> ids) {
+    List<Place> places = new ArrayList<>();
+    for (UUID id : ids) {
+      Place place = mock(Place.class);
+      when(place.getId()).thenReturn(id);
+      places.add(place);
+    }
+    return places;
+  }
+}
@@ -0,0 +1,83 @@
+package com.placemark.explorer.places.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.domain.Place;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import com.placemark.explorer.places.service.track.TrackPointReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+class TrackStreamServiceTest {
+
+  private final PlaceService placeService = mock(PlaceService.class);
+  private final TrackStreamService service = new TrackStreamService(placeService, new TrackProperties(
+      2, 200, new TrackProperties.Preprocessing(false, 25, 0.1, 0, 500, Duration.ofSeconds(60))));
+  private final List<List<Place>> written = new ArrayList<>();
+
+  @BeforeEach
+  void stubPlaceService() {
+    GeometryFactory geometryFactory = new GeometryFactory();
+    when(placeService.toPoint(anyDouble(), anyDouble())).thenAnswer(invocation ->
+        geometryFactory.createPoint(new Coordinate(invocation.<Double>getArgument(1), invocation.<Double>getArgument(0))));
+    when(placeService.findMaxVisitRadiusMeters()).thenReturn(500);
+    when(placeService.findNewPlacesIntersectingTrack(anyList(), any(), anySet(), eq(500)))
+        .thenAnswer(invocation -> List.of(mock(Place.class)));
+  }
+
+  @Test
+  void shouldReadMaxVisitRadiusOncePerStream() throws IOException {
+    service.streamPlacesIntersectingTrack(
+        reader(point(52.50, 13.40), point(52.51, 13.41), point(52.52, 13.42), point(52.53, 13.43), point(52.54, 13.44)),
+        null, written::add);
+
+    verify(placeService, times(4)).findNewPlacesIntersectingTrack(anyList(), any(), anySet(), eq(500));
+    verify(placeService, times(1)).findMaxVisitRadiusMeters();
+  }
+
+  @Test
+  void shouldThrowForInvalidPointAfterEarlierChunksWereWritten() {
+    assertThatThrownBy(() -> service.streamPlacesIntersectingTrack(
+        reader(point(52.50, 13.40), point(52.51, 13.41), point(95.0, 13.42)), null, written::add))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("out of range");
+    assertThat(written).hasSize(1);
+  }
+
+  private static TrackPointRequest point(double lat, double lon) {
+    return new TrackPointRequest(lat, lon);
+  }
+
+  private static TrackPointReader reader(TrackPointRequest... points) {
+    Iterator<TrackPointRequest> iterator = List.of(points).iterator();
+    return new TrackPointReader() {
+      @Override
+      public TrackPointRequest next() {
+        return iterator.hasNext() ? iterator.next() : null;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
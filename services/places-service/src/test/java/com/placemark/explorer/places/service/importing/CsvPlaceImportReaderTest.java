@@ -0,0 +1,84 @@
+package com.placemark.explorer.places.service.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class CsvPlaceImportReaderTest {
+
+  private static final String HEADER = "name,description,category,latitude,longitude,visitRadiusMeters,groupIds\r\n";
+
+  @Test
+  void shouldReadQuotedFieldsWithCommasNewlinesAndEscapedQuotes() throws IOException {
+    CsvPlaceImportReader reader = reader(HEADER
+        + "\"Museum, Island\",\"Line one\r\nline \"\"two\"\"\",MUSEUM,52.52,13.40,150,\r\n"
+        + "Park,,PARK,48.85,2.35,20,\"a;b\"");
+
+    PlaceImportRecord first = reader.next();
+    assertThat(first.name()).isEqualTo("Museum, Island");
+    assertThat(first.description()).isEqualTo("Line one\r\nline \"two\"");
+    assertThat(first.category()).isEqualTo("MUSEUM");
+    assertThat(first.visitRadiusMeters()).isEqualTo("150");
+    assertThat(first.groupIds()).isEmpty();
+
+    PlaceImportRecord second = reader.next();
+    assertThat(second.name()).isEqualTo("Park");
+    assertThat(second.description()).isNull();
+    assertThat(second.groupIds()).containsExactly("a", "b");
+    assertThat(reader.next()).isNull();
+  }
+
+  @Test
+  void shouldMatchColumnsByNameAndSkipBlankLines() throws IOException {
+    CsvPlaceImportReader reader = reader("\uFEFFvisitRadiusMeters,longitude,latitude,category,name\n"
+        + "\n"
+        + "30,13.40,52.52,RESTAURANT,Corner\n"
+        + "\n");
+
+    PlaceImportRecord record = reader.next();
+    assertThat(record.name()).isEqualTo("Corner");
+    assertThat(record.latitude()).isEqualTo("52.52");
+    assertThat(record.longitude()).isEqualTo("13.40");
+    assertThat(record.id()).isNull();
+    assertThat(reader.next()).isNull();
+  }
+
+  @Test
+  void shouldPassShortRowsToValidation() throws IOException {
+    CsvPlaceImportReader reader = reader(HEADER + "Lonely,,PARK\n");
+
+    PlaceImportRecord record = reader.next();
+    assertThat(record.name()).isEqualTo("Lonely");
+    assertThat(record.latitude()).isNull();
+    assertThat(record.visitRadiusMeters()).isNull();
+  }
+
+  @Test
+  void shouldRejectMissingRequiredColumn() {
+    assertThatThrownBy(() -> reader("name,category,latitude,longitude\nA,PARK,1,2\n"))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("visitRadiusMeters");
+  }
+
+  @Test
+  void shouldRejectUnterminatedQuote() throws IOException {
+    CsvPlaceImportReader reader = reader(HEADER + "\"Open,,PARK,1,2,3,\n");
+
+    assertThatThrownBy(reader::next).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void shouldReturnNoRecordsForEmptyInput() throws IOException {
+    assertThat(reader("").next()).isNull();
+    assertThat(reader(HEADER).next()).isNull();
+  }
+
+  private static CsvPlaceImportReader reader(String csv) throws IOException {
+    return new CsvPlaceImportReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+  }
+}
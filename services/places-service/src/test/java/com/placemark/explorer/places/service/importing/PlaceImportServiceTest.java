@@ -0,0 +1,145 @@
+package com.placemark.explorer.places.service.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.config.ImportProperties;
+import com.placemark.explorer.places.domain.PlaceImportFormat;
+import com.placemark.explorer.places.domain.PlaceImportJob;
+import com.placemark.explorer.places.domain.PlaceImportStatus;
+import com.placemark.explorer.places.repository.PlaceChangeRepository;
+import com.placemark.explorer.places.repository.PlaceGroupRepository;
+import com.placemark.explorer.places.repository.PlaceImportJobRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class PlaceImportServiceTest {
+
+  private static final String HEADER = "name,category,latitude,longitude,visitRadiusMeters\n";
+
+  private final PlaceImportJobRepository jobRepository = mock(PlaceImportJobRepository.class);
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final List<String> insertedNames = new ArrayList<>();
+  private final PlaceImportJob job = new PlaceImportJob();
+  private PlaceImportService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() throws Exception {
+    job.setStatus(PlaceImportStatus.RUNNING);
+    job.setFormat(PlaceImportFormat.CSV);
+    when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+
+    // Runs the insert statement against a connection that records the bound arrays: ids, then names.
+    when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+      List<Object[]> arrays = new ArrayList<>();
+      Connection connection = mock(Connection.class);
+      when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+      when(connection.createArrayOf(anyString(), any())).thenAnswer(call -> {
+        arrays.add(call.getArgument(1));
+        return null;
+      });
+      invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+      insertedNames.addAll(Arrays.stream(arrays.get(1)).map(String.class::cast).toList());
+      return Arrays.stream(arrays.get(0)).map(UUID.class::cast).toList();
+    });
+
+    service = new PlaceImportService(
+        jobRepository,
+        mock(PlaceGroupRepository.class),
+        mock(PlaceChangeRepository.class),
+        jdbcTemplate,
+        mock(PlatformTransactionManager.class),
+        new SimpleAsyncTaskExecutor(),
+        mock(ApplicationEventPublisher.class),
+        new ImportProperties(2, 2, Duration.ofSeconds(10), Path.of("imports"), Duration.ofMinutes(5), null, null, null),
+        new ObjectMapper());
+  }
+
+  @Test
+  void shouldImportEveryRowInBatches() throws IOException {
+    PlaceImportJob result = service.run(UUID.randomUUID(), csv("A", "B", "C", "D", "E"));
+
+    assertThat(result.getStatus()).isEqualTo(PlaceImportStatus.COMPLETED);
+    assertThat(insertedNames).containsExactly("A", "B", "C", "D", "E");
+    assertThat(result.getRowsRead()).isEqualTo(5);
+    assertThat(result.getRowsImported()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldResumeAfterCommittedOffset() throws IOException {
+    job.setRowsRead(3);
+    job.setRowsImported(3);
+
+    PlaceImportJob result = service.run(UUID.randomUUID(), csv("A", "B", "C", "D", "E"));
+
+    assertThat(result.getStatus()).isEqualTo(PlaceImportStatus.COMPLETED);
+    assertThat(insertedNames).containsExactly("D", "E");
+    assertThat(result.getRowsRead()).isEqualTo(5);
+    assertThat(result.getRowsImported()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldCountAndSkipInvalidRows() throws IOException {
+    String rows = HEADER
+        + "Good,PARK,52.5,13.4,100\n"
+        + "North of the pole,PARK,91,13.4,100\n"
+        + "Unknown category,SPACEPORT,52.5,13.4,100\n"
+        + ",PARK,52.5,13.4,100\n"
+        + "Zero radius,PARK,52.5,13.4,0\n"
+        + "Also good,park,52.5,13.4,5\n";
+
+    PlaceImportJob result = service.run(UUID.randomUUID(), reader(rows));
+
+    assertThat(result.getStatus()).isEqualTo(PlaceImportStatus.COMPLETED);
+    assertThat(insertedNames).containsExactly("Good", "Also good");
+    assertThat(result.getRowsRead()).isEqualTo(6);
+    assertThat(result.getRowsImported()).isEqualTo(2);
+    assertThat(result.getRowsRejected()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldFailWhenSourceIsShorterThanCommittedOffset() throws IOException {
+    job.setRowsRead(10);
+
+    PlaceImportJob result = service.run(UUID.randomUUID(), csv("A", "B"));
+
+    assertThat(result.getStatus()).isEqualTo(PlaceImportStatus.FAILED);
+    assertThat(result.getError()).contains("already read 10");
+    assertThat(insertedNames).isEmpty();
+  }
+
+  private static PlaceImportReader csv(String... names) throws IOException {
+    StringBuilder rows = new StringBuilder(HEADER);
+    for (String name : names) {
+      rows.append(name).append(",MUSEUM,52.52,13.40,150\n");
+    }
+    return reader(rows.toString());
+  }
+
+  private static PlaceImportReader reader(String csv) throws IOException {
+    return new CsvPlaceImportReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+  }
+}
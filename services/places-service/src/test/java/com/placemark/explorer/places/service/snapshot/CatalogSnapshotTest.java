@@ -0,0 +1,66 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.placemark.explorer.places.domain.PlaceCategory;
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogSnapshotTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldReadBackWrittenPlaces() throws IOException {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID group = UUID.randomUUID();
+    Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+    Path file = directory.resolve("catalog.snapshot");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      CatalogSnapshotWriter writer = new CatalogSnapshotWriter(channel, 2, 1, new ChangeCursor(42, 7), createdAt);
+      writer.append(first, PlaceCategory.MUSEUM, 52.5200066, 13.404954, 150, new UUID[] {group});
+      writer.append(second, PlaceCategory.PARK, -33.8688197, 151.2092955, 20, new UUID[0]);
+      writer.finish();
+    }
+
+    CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+    assertThat(snapshot.size()).isEqualTo(2);
+    assertThat(snapshot.createdAt()).isEqualTo(createdAt);
+    assertThat(snapshot.changeCursor()).isEqualTo(new ChangeCursor(42, 7));
+    assertThat(snapshot.id(0)).isEqualTo(first);
+    assertThat(snapshot.category(0)).isEqualTo(PlaceCategory.MUSEUM);
+    assertThat(snapshot.latitude(0)).isCloseTo(52.5200066, within(1e-9));
+    assertThat(snapshot.longitude(0)).isCloseTo(13.404954, within(1e-9));
+    assertThat(snapshot.visitRadiusMeters(0)).isEqualTo(150);
+    assertThat(snapshot.groupIds(0)).containsExactly(group);
+    assertThat(snapshot.id(1)).isEqualTo(second);
+    assertThat(snapshot.longitude(1)).isCloseTo(151.2092955, within(1e-9));
+    assertThat(snapshot.groupIds(1)).isEmpty();
+  }
+
+  @Test
+  void shouldRejectUnfinishedFile() throws IOException {
+    Path file = directory.resolve("unfinished.snapshot");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      CatalogSnapshotWriter writer = new CatalogSnapshotWriter(
+          channel, 1, 0, new ChangeCursor(1, 0), Instant.now());
+      writer.append(UUID.randomUUID(), PlaceCategory.CITY, 1, 2, 3, new UUID[0]);
+    }
+    Files.write(file, new byte[64], StandardOpenOption.APPEND);
+
+    assertThatThrownBy(() -> CatalogSnapshot.open(file)).isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,30 @@
+package com.placemark.explorer.places.service.snapshot;
+
+import com.placemark.explorer.places.index.IndexedPlace;
+import com.placemark.explorer.places.service.ChangeCursor;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/** Writes snapshot files for tests outside this package. */
+public final class CatalogSnapshots {
+
+  private CatalogSnapshots() {
+  }
+
+  public static void write(Path file, ChangeCursor cursor, Instant createdAt, List<IndexedPlace> places)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      CatalogSnapshotWriter writer = new CatalogSnapshotWriter(channel, places.size(), 0, cursor, createdAt);
+      for (IndexedPlace place : places) {
+        writer.append(place.id(), place.category(), place.latitude(), place.longitude(), place.visitRadiusMeters(),
+            new UUID[0]);
+      }
+      writer.finish();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.placemark.explorer.places.service.track;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.placemark.explorer.places.dto.place.TrackPointRequest;
+import com.placemark.explorer.places.exception.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class TrackPointReadersTest {
+
+  private static final MediaType BINARY = MediaType.APPLICATION_OCTET_STREAM;
+  private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+  private static final MediaType GEO_JSON = MediaType.parseMediaType(TrackPointReaders.GEO_JSON_VALUE);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldReadFixedPointBinaryRecords() throws IOException {
+    byte[] body = ByteBuffer.allocate(16)
+        .putInt(525_200_066).putInt(134_049_540)
+        .putInt(-338_688_197).putInt(-1_799_999_999)
+        .array();
+
+    List<TrackPointRequest> points = readAll(BINARY, body);
+    assertThat(points).hasSize(2);
+    assertThat(points.get(0).latitude()).isCloseTo(52.5200066, within(1e-9));
+    assertThat(points.get(0).longitude()).isCloseTo(13.404954, within(1e-9));
+    assertThat(points.get(1).latitude()).isCloseTo(-33.8688197, within(1e-9));
+    assertThat(points.get(1).longitude()).isCloseTo(-179.9999999, within(1e-9));
+  }
+
+  @Test
+  void shouldReadEmptyBinaryTrack() throws IOException {
+    assertThat(readAll(BINARY, new byte[0])).isEmpty();
+  }
+
+  @Test
+  void shouldRejectTruncatedBinaryRecord() throws IOException {
+    for (int trailing = 1; trailing < 8; trailing++) {
+      byte[] body = new byte[8 + trailing];
+      try (TrackPointReader reader = open(BINARY, body)) {
+        assertThat(reader.next()).isEqualTo(new TrackPointRequest(0.0, 0.0));
+        assertThatThrownBy(reader::next)
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining(trailing + " trailing bytes");
+      }
+    }
+  }
+
+  @Test
+  void shouldConcatenateGeoJsonFeaturesInDocumentOrder() throws IOException {
+    String body = """
+        {"type": "FeatureCollection", "features": [
+          {"type": "Feature", "properties": {"coordinates": "not a geometry", "tags": [1, 2]},
+           "geometry": {"type": "LineString", "coordinates": [[13.40, 52.52, 34.5], [13.41, 52.53]]}},
+          {"type": "Feature", "properties": null,
+           "geometry": {"type": "Point", "coordinates": [2.35, 48.85]}},
+          {"type": "Feature", "properties": {},
+           "geometry": {"type": "MultiLineString", "coordinates": [[[1, 2], [3, 4]], [[5, 6]]]}}
+        ]}
+        """;
+
+    assertThat(readAll(GEO_JSON, body.getBytes(StandardCharsets.UTF_8))).containsExactly(
+        new TrackPointRequest(52.52, 13.40),
+        new TrackPointRequest(52.53, 13.41),
+        new TrackPointRequest(48.85, 2.35),
+        new TrackPointRequest(2.0, 1.0),
+        new TrackPointRequest(4.0, 3.0),
+        new TrackPointRequest(6.0, 5.0));
+  }
+
+  @Test
+  void shouldRejectGeoJsonPositionWithoutLatitude() {
+    byte[] body = "{\"type\": \"LineString\", \"coordinates\": [[13.40]]}".getBytes(StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> readAll(GEO_JSON, body)).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void shouldRejectMalformedGeoJson() {
+    byte[] body = "{\"type\": \"LineString\", \"coordinates\": [[13.40, 52.52],".getBytes(StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> readAll(GEO_JSON, body)).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void shouldReadNdjsonPoints() throws IOException {
+    String body = """
+        {"latitude": 52.52, "longitude": 13.40}
+        {"latitude": -33.87, "longitude": 151.21}
+
+        """;
+
+    assertThat(readAll(NDJSON, body.getBytes(StandardCharsets.UTF_8))).containsExactly(
+        new TrackPointRequest(52.52, 13.40),
+        new TrackPointRequest(-33.87, 151.21));
+  }
+
+  @Test
+  void shouldRejectMalformedNdjsonLine() {
+    byte[] body = "{\"latitude\": 52.52, \"longitude\": 13.40}\n{\"latitude\": \n".getBytes(StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> readAll(NDJSON, body)).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void shouldRejectUnsupportedContentType() {
+    assertThatThrownBy(() -> open(MediaType.TEXT_PLAIN, new byte[0])).isInstanceOf(BadRequestException.class);
+  }
+
+  private List<TrackPointRequest> readAll(MediaType contentType, byte[] body) throws IOException {
+    List<TrackPointRequest> points = new ArrayList<>();
+    try (TrackPointReader reader = open(contentType, body)) {
+      TrackPointRequest point;
+      while ((point = reader.next()) != null) {
+        points.add(point);
+      }
+    }
+    return points;
+  }
+
+  private TrackPointReader open(MediaType contentType, byte[] body) throws IOException {
+    return TrackPointReaders.open(contentType, new ByteArrayInputStream(body), objectMapper);
+  }
+}
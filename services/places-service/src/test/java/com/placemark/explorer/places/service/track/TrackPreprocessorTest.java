@@ -0,0 +1,183 @@
+package com.placemark.explorer.places.service.track;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.placemark.explorer.places.config.TrackProperties;
+import com.placemark.explorer.places.geo.GeoMath;
+import com.placemark.explorer.places.repository.PlaceRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+class TrackPreprocessorTest {
+
+  private static final double METERS_PER_DEGREE_LAT = 111_195;
+
+  private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+  private final PlaceRepository placeRepository = mock(PlaceRepository.class);
+
+  @Test
+  void shouldLeaveTrackUntouchedWhenDisabled() {
+    List<Point> track = List.of(point(0, 0), point(0.00001, 0), point(0.00002, 0));
+
+    assertThat(preprocessor(false, 0).preprocess(track)).isSameAs(track);
+  }
+
+  @Test
+  void shouldDropCollinearPointsAndKeepCorners() {
+    List<Point> track = List.of(point(52.0, 13.0), point(52.001, 13.0), point(52.002, 13.0), point(52.002, 13.002));
+
+    assertThat(TrackPreprocessor.simplify(track, 5))
+        .containsExactly(track.get(0), track.get(2), track.get(3));
+  }
+
+  @Test
+  void shouldKeepPointsFartherThanToleranceFromTheLine() {
+    // 20 m off the line between its neighbours.
+    List<Point> track = List.of(point(52.0, 13.0), point(52.0 + 20 / METERS_PER_DEGREE_LAT, 13.001), point(52.0, 13.002));
+
+    assertThat(TrackPreprocessor.simplify(track, 25)).hasSize(2);
+    assertThat(TrackPreprocessor.simplify(track, 10)).hasSize(3);
+  }
+
+  @Test
+  void shouldCollapseJitterAroundAStop() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(1000);
+    List<Point> track = new ArrayList<>();
+    track.add(point(52.0, 13.0));
+    Random random = new Random(7);
+    for (int i = 0; i < 50; i++) {
+      track.add(point(52.01 + random.nextGaussian() * 2 / METERS_PER_DEGREE_LAT, 13.0));
+    }
+    track.add(point(52.02, 13.0));
+
+    assertThat(preprocessor(true, 0).preprocess(track)).hasSizeLessThan(5);
+  }
+
+  @Test
+  void shouldCapToleranceBySmallestVisitRadius() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(1000);
+    assertThat(preprocessor(true, 0).effectiveToleranceMeters()).isEqualTo(25);
+
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(50);
+    assertThat(preprocessor(true, 0).effectiveToleranceMeters()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldNotSimplifyEmptyCatalog() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(null);
+    List<Point> track = List.of(point(52.0, 13.0), point(52.001, 13.0), point(52.002, 13.0));
+
+    assertThat(preprocessor(true, 0).preprocess(track)).containsExactlyElementsOf(track);
+  }
+
+  @Test
+  void shouldKeepEveryDroppedPointWithinTolerance() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(100);
+    double tolerance = 10;
+    Random random = new Random(42);
+    List<Point> track = new ArrayList<>();
+    double lat = 52.0;
+    double lon = 13.0;
+    for (int i = 0; i < 5000; i++) {
+      lat += random.nextGaussian() * 5 / METERS_PER_DEGREE_LAT;
+      lon += random.nextGaussian() * 8 / METERS_PER_DEGREE_LAT;
+      track.add(point(lat, lon));
+    }
+
+    List<Point> result = preprocessor(true, 0).preprocess(track);
+
+    assertThat(result.size()).isLessThan(track.size());
+    assertThat(result.get(0)).isSameAs(track.get(0));
+    assertThat(result.get(result.size() - 1)).isSameAs(track.get(track.size() - 1));
+    for (Point original : track) {
+      assertThat(distanceToTrack(original, result)).isLessThanOrEqualTo(tolerance + 1e-6);
+    }
+  }
+
+  @Test
+  void shouldOnlyReclassifyPlacesWithinToleranceOfTheirRadius() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(100);
+    double tolerance = 10;
+    Random random = new Random(11);
+    for (int run = 0; run < 20; run++) {
+      List<Point> track = new ArrayList<>();
+      double lat = 52.0;
+      double lon = 13.0;
+      for (int i = 0; i < 300; i++) {
+        lat += random.nextGaussian() * 6 / METERS_PER_DEGREE_LAT;
+        lon += random.nextGaussian() * 10 / METERS_PER_DEGREE_LAT;
+        track.add(point(lat, lon));
+      }
+      List<Point> result = preprocessor(true, 0).preprocess(track);
+
+      for (int i = 0; i < 500; i++) {
+        Point anchor = track.get(random.nextInt(track.size()));
+        Point place = point(anchor.getY() + random.nextGaussian() * 40 / METERS_PER_DEGREE_LAT,
+            anchor.getX() + random.nextGaussian() * 60 / METERS_PER_DEGREE_LAT);
+        double radius = 5 + 60 * random.nextDouble();
+        double raw = distanceToTrack(place, track);
+        if (raw <= radius != distanceToTrack(place, result) <= radius) {
+          assertThat(Math.abs(raw - radius)).isLessThanOrEqualTo(tolerance + 1e-6);
+        }
+      }
+    }
+  }
+
+  @Test
+  void shouldDropIsolatedOutliers() {
+    when(placeRepository.findMinVisitRadiusMeters()).thenReturn(null);
+    List<Point> track = List.of(point(52.0, 13.0), point(52.05, 13.0), point(52.0001, 13.0), point(52.0002, 13.0));
+
+    assertThat(preprocessor(true, 500).preprocess(track))
+        .containsExactly(track.get(0), track.get(2), track.get(3));
+  }
+
+  @Test
+  void shouldSplitLongTracksIntoOverlappingSegments() {
+    List<Point> track = new ArrayList<>();
+    for (int i = 0; i < 1200; i++) {
+      track.add(point(52.0 + i * 1e-4, 13.0));
+    }
+
+    List<List<Point>> segments = preprocessor(true, 0).segment(track);
+
+    assertThat(segments).hasSize(3);
+    assertThat(segments).allSatisfy(segment -> assertThat(segment).hasSizeLessThanOrEqualTo(500));
+    for (int i = 1; i < segments.size(); i++) {
+      List<Point> previous = segments.get(i - 1);
+      assertThat(segments.get(i).get(0)).isSameAs(previous.get(previous.size() - 1));
+    }
+    assertThat(segments.get(2).get(segments.get(2).size() - 1)).isSameAs(track.get(track.size() - 1));
+  }
+
+  // 25 m tolerance, capped at 10% of the smallest visit radius.
+  private TrackPreprocessor preprocessor(boolean enabled, double outlierJumpMeters) {
+    TrackProperties.Preprocessing preprocessing =
+        new TrackProperties.Preprocessing(enabled, 25, 0.1, outlierJumpMeters, 500, Duration.ofMinutes(1));
+    return new TrackPreprocessor(placeRepository, new TrackProperties(1000, 200, preprocessing));
+  }
+
+  private static double distanceToTrack(Point point, List<Point> track) {
+    double min = Double.MAX_VALUE;
+    for (int i = 1; i < track.size(); i++) {
+      Point a = track.get(i - 1);
+      Point b = track.get(i);
+      min = Math.min(min, GeoMath.distanceToSegmentMeters(
+          point.getY(), point.getX(), a.getY(), a.getX(), b.getY(), b.getX()));
+    }
+    return min;
+  }
+
+  private Point point(double lat, double lon) {
+    return geometryFactory.createPoint(new Coordinate(lon, lat));
+  }
+}
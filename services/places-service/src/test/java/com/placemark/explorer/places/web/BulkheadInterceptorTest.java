@@ -0,0 +1,101 @@
+package com.placemark.explorer.places.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.placemark.explorer.places.config.BulkheadProperties;
+import com.placemark.explorer.places.exception.GlobalExceptionHandler;
+import com.placemark.explorer.places.exception.ServiceUnavailableException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+class BulkheadInterceptorTest {
+
+  private final BulkheadInterceptor interceptor = new BulkheadInterceptor(1, Duration.ofMillis(20));
+  private final TestController controller = new TestController();
+  private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+      .setControllerAdvice(new GlobalExceptionHandler())
+      .addInterceptors(interceptor)
+      .build();
+
+  @Test
+  void shouldRejectAfterMaxWait() {
+    interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null))
+        .isInstanceOf(ServiceUnavailableException.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+  }
+
+  @Test
+  void shouldRespond503WithRetryAfterWhenFull() throws Exception {
+    interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+    mockMvc.perform(get("/sync"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  void shouldReleasePermitAfterSyncRequest() throws Exception {
+    mockMvc.perform(get("/sync")).andExpect(status().isOk());
+    mockMvc.perform(get("/sync")).andExpect(status().isOk());
+
+    assertThat(interceptor.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldHoldPermitUntilAsyncDispatchCompletes() throws Exception {
+    MvcResult started = mockMvc.perform(get("/async")).andExpect(request().asyncStarted()).andReturn();
+    assertThat(interceptor.availablePermits()).isZero();
+
+    controller.pending.setResult("done");
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().string("done"));
+
+    assertThat(interceptor.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDefaultBelowPoolSize() {
+    BulkheadProperties unset = new BulkheadProperties(true, null, Duration.ofSeconds(2), List.of());
+
+    assertThat(unset.maxConcurrentCalls(10)).isEqualTo(8);
+    assertThat(unset.maxConcurrentCalls(20)).isEqualTo(16);
+    assertThat(unset.maxConcurrentCalls(1)).isEqualTo(1);
+  }
+
+  @RestController
+  static class TestController {
+
+    private DeferredResult<String> pending;
+
+    @GetMapping("/sync")
+    String sync() {
+      return "ok";
+    }
+
+    @GetMapping("/async")
+    DeferredResult<String> async() {
+      pending = new DeferredResult<>();
+      return pending;
+    }
+  }
+}